@@ -21,6 +21,8 @@ package org.neo4j.jdbc.bolt;
 
 import org.neo4j.driver.v1.*;
 import org.neo4j.jdbc.Neo4jDriver;
+import org.neo4j.jdbc.bolt.cache.BoltDriverCache;
+import org.neo4j.jdbc.bolt.cache.BoltDriverCacheKey;
 import org.neo4j.jdbc.bolt.impl.BoltNeo4jConnectionImpl;
 
 import java.io.File;
@@ -41,6 +43,13 @@ public class BoltDriver extends Neo4jDriver {
 	public static final String JDBC_BOLT_ROUTING_PREFIX = "bolt+routing";
 	public static final String TRUST_STRATEGY_KEY       = "trust.strategy";
 	public static final String TRUSTED_CERTIFICATE_KEY  = "trusted.certificate.file";
+	public static final String NOSSL_KEY                = "nossl";
+	public static final String DRIVER_IDLE_TIMEOUT_KEY  = "driver.idle.timeout";
+
+	/**
+	 * Properties that end up in the driver <code>Config</code>, thus part of the shared driver identity.
+	 */
+	private static final String[] DRIVER_CONFIG_KEYS = { NOSSL_KEY, TRUST_STRATEGY_KEY, TRUSTED_CERTIFICATE_KEY };
 
 	static {
 		try {
@@ -71,15 +80,20 @@ public class BoltDriver extends Neo4jDriver {
 				Properties info = parseUrlProperties(boltUrl, props);
 				boltUrl = removeUrlProperties(boltUrl, info);
 				Config.ConfigBuilder builder = build();
-				if (info.containsKey("nossl")) {
+				if (info.containsKey(NOSSL_KEY)) {
 					builder = builder.withoutEncryption();
 				}
 				builder = setTrustStrategy(info, builder);
 				Config config = builder.toConfig();
 				AuthToken authToken = getAuthToken(info);
-				Driver driver = GraphDatabase.driver(boltUrl, authToken, config);
-				Session session = driver.session();
-				connection = BoltNeo4jConnectionImpl.newInstance(session, info, url);
+				BoltDriverCacheKey key = new BoltDriverCacheKey(boltUrl, info, DRIVER_CONFIG_KEYS);
+				Driver driver = BoltDriverCache.getInstance().acquire(key, boltUrl, authToken, config, getDriverIdleTimeout(info));
+				try {
+					connection = BoltNeo4jConnectionImpl.newInstance(driver, key, info, url);
+				} catch (Exception e) {
+					BoltDriverCache.getInstance().release(driver);
+					throw e;
+				}
 			} catch (Exception e) {
 				throw new SQLException(e);
 			}
@@ -87,6 +101,14 @@ public class BoltDriver extends Neo4jDriver {
 		return connection;
 	}
 
+	private long getDriverIdleTimeout(Properties properties) throws SQLException {
+		try {
+			return Long.parseLong(properties.getProperty(DRIVER_IDLE_TIMEOUT_KEY, "0"));
+		} catch (NumberFormatException e) {
+			throw new SQLException("Invalid value for " + DRIVER_IDLE_TIMEOUT_KEY + " param.", e);
+		}
+	}
+
 	private AuthToken getAuthToken(Properties properties) {
 		if (properties.isEmpty() || (!properties.containsKey("user") && !properties.containsKey("password"))) {
 			return AuthTokens.none();
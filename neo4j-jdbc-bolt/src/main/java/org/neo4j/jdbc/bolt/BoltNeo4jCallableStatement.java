@@ -21,10 +21,13 @@ package org.neo4j.jdbc.bolt;
 
 import org.neo4j.jdbc.Neo4jCallableStatement;
 import org.neo4j.jdbc.Neo4jConnection;
+import org.neo4j.jdbc.utils.ExceptionBuilder;
 
 import java.sql.ParameterMetaData;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
 
 /**
  * @author AgileLARUS
@@ -48,4 +51,12 @@ class BoltNeo4jCallableStatement extends Neo4jCallableStatement {
 	@Override public ParameterMetaData getParameterMetaData() throws SQLException {
 		return null;
 	}
+
+	@Override protected int[] executeBatchChunk(List<Map<String, Object>> rows) throws SQLException {
+		throw ExceptionBuilder.buildUnsupportedOperationException();
+	}
+
+	@Override protected void cancelExecution() throws SQLException {
+		throw ExceptionBuilder.buildUnsupportedOperationException();
+	}
 }
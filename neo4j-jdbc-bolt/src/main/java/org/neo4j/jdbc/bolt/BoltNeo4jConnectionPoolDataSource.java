@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 18/10/26
+ */
+package org.neo4j.jdbc.bolt;
+
+import org.neo4j.jdbc.bolt.pool.BoltNeo4jPooledConnection;
+
+import javax.sql.ConnectionPoolDataSource;
+import javax.sql.PooledConnection;
+import java.sql.SQLException;
+
+/**
+ * Factory of pooled Bolt connections, to be used by connection pools (either {@link BoltNeo4jPoolingDataSource} or an application server one).
+ *
+ * @author AgileLARUS
+ * @since 3.2.0
+ */
+public class BoltNeo4jConnectionPoolDataSource extends BoltNeo4jDataSource implements ConnectionPoolDataSource {
+
+	@Override public PooledConnection getPooledConnection() throws SQLException {
+		return new BoltNeo4jPooledConnection(super.getConnection(user, password));
+	}
+
+	@Override public PooledConnection getPooledConnection(String username, String pass) throws SQLException {
+		return new BoltNeo4jPooledConnection(super.getConnection(username, pass));
+	}
+}
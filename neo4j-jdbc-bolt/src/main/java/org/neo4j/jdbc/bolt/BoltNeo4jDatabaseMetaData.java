@@ -69,6 +69,9 @@ public class BoltNeo4jDatabaseMetaData extends Neo4jDatabaseMetaData {
 
 	public static DatabaseMetaData newInstance(boolean debug, BoltNeo4jConnectionImpl connection) {
 		DatabaseMetaData dbmd = new BoltNeo4jDatabaseMetaData(connection);
+		if (!debug) {
+			return dbmd;
+		}
 		return (DatabaseMetaData) Proxy.newProxyInstance(BoltNeo4jDatabaseMetaData.class.getClassLoader(), new Class[] { DatabaseMetaData.class },
 				new Neo4jInvocationHandler(dbmd, debug));
 	}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 18/10/26
+ */
+package org.neo4j.jdbc.bolt;
+
+import org.neo4j.jdbc.bolt.pool.BoltNeo4jConnectionPool;
+import org.neo4j.jdbc.bolt.pool.PoolStatistics;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * A DataSource that keeps a pool of warm Bolt connections.
+ * The pool is created on the first <code>getConnection</code>, with the settings and credentials set at that moment.
+ *
+ * @author AgileLARUS
+ * @since 3.2.0
+ */
+public class BoltNeo4jPoolingDataSource extends BoltNeo4jDataSource {
+
+	private int  minPoolSize        = 0;
+	private int  maxPoolSize        = 10;
+	private long maxIdleTime        = 600000;
+	private long maxLifetime        = 1800000;
+	private long acquisitionTimeout = 30000;
+	private int  validationTimeout  = 1;
+
+	private BoltNeo4jConnectionPool pool;
+	private boolean                 closed = false;
+
+	@Override public Connection getConnection() throws SQLException {
+		return this.getPool().borrow();
+	}
+
+	@Override public Connection getConnection(String username, String pass) throws SQLException {
+		synchronized (this) {
+			if (this.pool == null) {
+				setUser(username);
+				setPassword(pass);
+			} else if (!equalsNullable(username, getUser()) || !equalsNullable(pass, getPassword())) {
+				throw new SQLException("This DataSource pools connections of user " + getUser() + " only");
+			}
+		}
+		return this.getConnection();
+	}
+
+	private static boolean equalsNullable(String a, String b) {
+		return a == null ? b == null : a.equals(b);
+	}
+
+	private synchronized BoltNeo4jConnectionPool getPool() throws SQLException {
+		if (this.closed) {
+			throw new SQLException("DataSource closed");
+		}
+		if (this.pool == null || this.pool.isClosed()) {
+			BoltNeo4jConnectionPoolDataSource source = new BoltNeo4jConnectionPoolDataSource();
+			source.setServerName(getServerName());
+			source.setPortNumber(getPortNumber());
+			source.setIsSsl(getIsSsl());
+			source.setUser(getUser());
+			source.setPassword(getPassword());
+			try {
+				this.pool = new BoltNeo4jConnectionPool(source, minPoolSize, maxPoolSize, maxIdleTime, maxLifetime, acquisitionTimeout, validationTimeout);
+			} catch (IllegalArgumentException e) {
+				throw new SQLException(e.getMessage(), e);
+			}
+		}
+		return this.pool;
+	}
+
+	/**
+	 * @return a snapshot of the pool state, <code>null</code> if no connection has been requested yet
+	 */
+	public synchronized PoolStatistics getStatistics() {
+		return this.pool == null ? null : this.pool.getStatistics();
+	}
+
+	/**
+	 * Close the pool and its idle connections.
+	 * The DataSource can't give connections anymore.
+	 */
+	public synchronized void close() {
+		this.closed = true;
+		if (this.pool != null) {
+			this.pool.close();
+			this.pool = null;
+		}
+	}
+
+	public int getMinPoolSize() {
+		return minPoolSize;
+	}
+
+	public void setMinPoolSize(int minPoolSize) {
+		this.minPoolSize = minPoolSize;
+	}
+
+	public int getMaxPoolSize() {
+		return maxPoolSize;
+	}
+
+	public void setMaxPoolSize(int maxPoolSize) {
+		this.maxPoolSize = maxPoolSize;
+	}
+
+	/**
+	 * @return milliseconds after which an idle connection is closed, 0 means never
+	 */
+	public long getMaxIdleTime() {
+		return maxIdleTime;
+	}
+
+	public void setMaxIdleTime(long maxIdleTime) {
+		this.maxIdleTime = maxIdleTime;
+	}
+
+	/**
+	 * @return milliseconds after which a connection is retired, 0 means never
+	 */
+	public long getMaxLifetime() {
+		return maxLifetime;
+	}
+
+	public void setMaxLifetime(long maxLifetime) {
+		this.maxLifetime = maxLifetime;
+	}
+
+	/**
+	 * @return milliseconds to wait for a free connection, 0 means forever
+	 */
+	public long getAcquisitionTimeout() {
+		return acquisitionTimeout;
+	}
+
+	public void setAcquisitionTimeout(long acquisitionTimeout) {
+		this.acquisitionTimeout = acquisitionTimeout;
+	}
+
+	/**
+	 * @return seconds given to the liveness check on borrow, a negative value disables the check
+	 */
+	public int getValidationTimeout() {
+		return validationTimeout;
+	}
+
+	public void setValidationTimeout(int validationTimeout) {
+		this.validationTimeout = validationTimeout;
+	}
+}
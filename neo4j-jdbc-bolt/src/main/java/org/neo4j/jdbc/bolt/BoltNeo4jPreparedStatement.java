@@ -19,6 +19,7 @@
  */
 package org.neo4j.jdbc.bolt;
 
+import org.neo4j.driver.v1.Session;
 import org.neo4j.driver.v1.StatementResult;
 import org.neo4j.driver.v1.Transaction;
 import org.neo4j.driver.v1.summary.SummaryCounters;
@@ -26,15 +27,25 @@ import org.neo4j.jdbc.Loggable;
 import org.neo4j.jdbc.Neo4jParameterMetaData;
 import org.neo4j.jdbc.Neo4jPreparedStatement;
 import org.neo4j.jdbc.Neo4jResultSetMetaData;
+import org.neo4j.jdbc.bolt.cache.BoltDriverCacheKey;
 import org.neo4j.jdbc.bolt.impl.BoltNeo4jConnectionImpl;
+import org.neo4j.jdbc.utils.AsyncExecutor;
 import org.neo4j.jdbc.utils.Neo4jInvocationHandler;
+import org.neo4j.jdbc.utils.PreparedStatementBuilder;
 
 import java.lang.reflect.Proxy;
 import java.sql.BatchUpdateException;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledFuture;
 
 import static java.util.Arrays.copyOf;
 
@@ -44,6 +55,11 @@ import static java.util.Arrays.copyOf;
  */
 public class BoltNeo4jPreparedStatement extends Neo4jPreparedStatement implements Loggable {
 
+	private static final String BATCH_ROWS = "__jdbc_batch_rows";
+	private static final String BATCH_ROW  = "__jdbc_batch_row";
+
+	private Transaction streamingTransaction;
+
 	private BoltNeo4jPreparedStatement(BoltNeo4jConnectionImpl connection, String rawStatement, int... rsParams) {
 		super(connection, rawStatement);
 		this.resultSetParams = rsParams;
@@ -52,69 +68,199 @@ public class BoltNeo4jPreparedStatement extends Neo4jPreparedStatement implement
 	public static PreparedStatement newInstance(boolean debug, BoltNeo4jConnectionImpl connection, String rawStatement, int... rsParams) {
 		PreparedStatement ps = new BoltNeo4jPreparedStatement(connection, rawStatement, rsParams);
 		((Neo4jPreparedStatement) ps).setDebug(debug);
+		if (!debug) {
+			return ps;
+		}
 		return (PreparedStatement) Proxy.newProxyInstance(BoltNeo4jPreparedStatement.class.getClassLoader(), new Class[] { PreparedStatement.class },
 				new Neo4jInvocationHandler(ps, debug));
 	}
 
 	@Override public ResultSet executeQuery() throws SQLException {
-		StatementResult result = executeInternal();
+		ScheduledFuture<?> timeout = this.beginExecution();
+		try {
+			StatementResult result = executeInternal(true);
 
-		this.currentResultSet = BoltNeo4jResultSet.newInstance(this.hasDebug(), this, result, this.resultSetParams);
-		this.currentUpdateCount = -1;
+			this.currentResultSet = newResultSet(result);
+			this.currentUpdateCount = -1;
+		} catch (Exception e) {
+			throw this.executionFailure(timeout, e);
+		}
+		this.endExecution(timeout);
 		return currentResultSet;
 	}
 
 	@Override public int executeUpdate() throws SQLException {
-		StatementResult result = executeInternal();
+		ScheduledFuture<?> timeout = this.beginExecution();
+		try {
+			StatementResult result = executeInternal(false);
 
-		SummaryCounters stats = result.consume().counters();
-		this.currentUpdateCount = stats.nodesCreated() + stats.nodesDeleted() + stats.relationshipsCreated() + stats.relationshipsDeleted();
-		this.currentResultSet = null;
+			SummaryCounters stats = result.consume().counters();
+			this.currentUpdateCount = stats.nodesCreated() + stats.nodesDeleted() + stats.relationshipsCreated() + stats.relationshipsDeleted();
+			this.currentResultSet = null;
+		} catch (Exception e) {
+			throw this.executionFailure(timeout, e);
+		}
+		this.endExecution(timeout);
 		return this.currentUpdateCount;
 	}
 
 	@Override public boolean execute() throws SQLException {
-		StatementResult result = executeInternal();
+		ScheduledFuture<?> timeout = this.beginExecution();
+		boolean hasResultSet;
+		try {
+			StatementResult result = executeInternal(this.classification.isReturningRows());
 
-		boolean hasResultSet = hasResultSet(result);
-		if (hasResultSet) {
-			this.currentResultSet = BoltNeo4jResultSet.newInstance(this.hasDebug(), this, result, this.resultSetParams);
-			this.currentUpdateCount = -1;
-		} else {
-			this.currentResultSet = null;
-			try {
-				SummaryCounters stats = result.consume().counters();
-				this.currentUpdateCount = stats.nodesCreated() + stats.nodesDeleted() + stats.relationshipsCreated() + stats.relationshipsDeleted();
-			} catch (Exception e) {
-				throw new SQLException(e);
+			hasResultSet = hasResultSet(result);
+			if (hasResultSet) {
+				this.currentResultSet = newResultSet(result);
+				this.currentUpdateCount = -1;
+			} else {
+				this.currentResultSet = null;
+				try {
+					SummaryCounters stats = result.consume().counters();
+					this.currentUpdateCount = stats.nodesCreated() + stats.nodesDeleted() + stats.relationshipsCreated() + stats.relationshipsDeleted();
+				} catch (Exception e) {
+					throw new SQLException(e);
+				} finally {
+					if (this.streamingTransaction != null) {
+						this.streamingTransaction = null;
+						((BoltNeo4jConnectionImpl) this.connection).closeStreamingTransaction();
+					}
+				}
 			}
+		} catch (Exception e) {
+			throw this.executionFailure(timeout, e);
 		}
+		this.endExecution(timeout);
 		return hasResultSet;
 	}
 
-	private StatementResult executeInternal() throws SQLException {
+	/**
+	 * Reset the session of the connection, interrupting the running query and terminating its transaction.
+	 */
+	@Override protected void cancelExecution() {
+		((BoltNeo4jConnectionImpl) this.connection).reset();
+	}
+
+	/**
+	 * In auto-commit the query runs on its own session, concurrently with the other queries of the connection,
+	 * chaining the bookmarks of the calling thread.
+	 * The parameters are copied when called.
+	 */
+	@Override public CompletionStage<ResultSet> executeQueryAsync() {
+		final BoltNeo4jConnectionImpl boltConnection = (BoltNeo4jConnectionImpl) this.connection;
+		try {
+			this.checkClosed();
+			if (!boltConnection.canRunInNewSession()) {
+				return super.executeQueryAsync();
+			}
+		} catch (SQLException e) {
+			return AsyncExecutor.failed(e);
+		}
+		final Map<String, Object> params = new HashMap<>(this.parameters);
+		final Map<BoltDriverCacheKey, String> bookmarks = boltConnection.getThreadBookmarks();
+		return AsyncExecutor.supply(new Callable<ResultSet>() {
+			@Override public ResultSet call() throws SQLException {
+				return BoltNeo4jResultSet.newInstance(hasDebug(), BoltNeo4jPreparedStatement.this, boltConnection.runInNewSession(statement, params, classification, bookmarks), resultSetParams);
+			}
+		});
+	}
+
+	/**
+	 * In auto-commit the query runs on its own session, concurrently with the other queries of the connection,
+	 * chaining the bookmarks of the calling thread.
+	 * The parameters are copied when called.
+	 */
+	@Override public CompletionStage<Integer> executeUpdateAsync() {
+		final BoltNeo4jConnectionImpl boltConnection = (BoltNeo4jConnectionImpl) this.connection;
+		try {
+			this.checkClosed();
+			if (!boltConnection.canRunInNewSession()) {
+				return super.executeUpdateAsync();
+			}
+		} catch (SQLException e) {
+			return AsyncExecutor.failed(e);
+		}
+		final Map<String, Object> params = new HashMap<>(this.parameters);
+		final Map<BoltDriverCacheKey, String> bookmarks = boltConnection.getThreadBookmarks();
+		return AsyncExecutor.supply(new Callable<Integer>() {
+			@Override public Integer call() throws SQLException {
+				SummaryCounters stats = boltConnection.runInNewSession(statement, params, classification, bookmarks).consume().counters();
+				return stats.nodesCreated() + stats.nodesDeleted() + stats.relationshipsCreated() + stats.relationshipsDeleted();
+			}
+		});
+	}
+
+	private StatementResult executeInternal(boolean stream) throws SQLException {
 		this.checkClosed();
 
 		StatementResult result;
-		if (this.getConnection().getAutoCommit()) {
-			try (Transaction t = ((BoltNeo4jConnection) this.getConnection()).getSession().beginTransaction()) {
+		BoltNeo4jConnectionImpl boltConnection = (BoltNeo4jConnectionImpl) this.connection;
+		Session session = boltConnection.isReadRouted(this.classification) ? boltConnection.getReadSession() : boltConnection.getSession();
+		if (this.getConnection().getAutoCommit() && stream && boltConnection.isStreaming()) {
+			try {
+				this.streamingTransaction = boltConnection.beginStreamingTransaction(session, this.classification.isReadOnly());
+				result = this.streamingTransaction.run(this.statement, this.parameters);
+				this.streamingTransaction.success();
+				boltConnection.countRoundTrips(1);
+			} catch (Exception e) {
+				this.streamingTransaction = null;
+				boltConnection.closeStreamingTransaction();
+				throw new SQLException(e.getMessage(), e);
+			}
+		} else if (this.getConnection().getAutoCommit() && boltConnection.canRunImplicitly(session, this.classification)) {
+			boltConnection.closeStreamingTransaction();
+			try {
+				result = session.run(this.statement, this.parameters);
+				result.keys();
+			} catch (Exception e) {
+				throw new SQLException(e.getMessage(), e);
+			}
+			boltConnection.countRoundTrips(1);
+		} else if (this.getConnection().getAutoCommit()) {
+			boltConnection.closeStreamingTransaction();
+			session = boltConnection.awaitBookmark(session);
+			try (Transaction t = session.beginTransaction()) {
 				result = t.run(this.statement, this.parameters);
 				t.success();
 			} catch (Exception e) {
 				throw new SQLException(e.getMessage(), e);
 			}
+			boltConnection.countRoundTrips(2);
+			boltConnection.captureBookmark(session);
 		} else {
 			try {
 				result = ((BoltNeo4jConnection) this.getConnection()).getTransaction().run(this.statement, this.parameters);
 			} catch (Exception e) {
 				throw new SQLException(e.getMessage(), e);
 			}
+			boltConnection.countRoundTrips(1);
 		}
 
 		return result;
 	}
 
+	/**
+	 * Build the ResultSet of the last execution, handing it the streaming transaction if any,
+	 * so that the transaction is committed once the ResultSet is exhausted or closed.
+	 *
+	 * @param result The result of the execution
+	 * @return the new ResultSet
+	 */
+	private ResultSet newResultSet(StatementResult result) {
+		Transaction transaction = this.streamingTransaction;
+		this.streamingTransaction = null;
+		if (transaction != null) {
+			return BoltNeo4jResultSet.newInstance(this.hasDebug(), this, result, transaction, this.resultSetParams);
+		}
+		return BoltNeo4jResultSet.newInstance(this.hasDebug(), this, result, this.resultSetParams);
+	}
+
 	private boolean hasResultSet(StatementResult result) {
+		if (!this.classification.isReturningRows()) {
+			// a pure write, no need to wait for its first record
+			return false;
+		}
 		try {
 			return result != null && result.hasNext();
 		} catch (Exception e) {
@@ -137,22 +283,99 @@ public class BoltNeo4jPreparedStatement extends Neo4jPreparedStatement implement
 
 	@Override public int[] executeBatch() throws SQLException {
 		this.checkClosed();
-		int[] result = new int[0];
+		ScheduledFuture<?> timeout = this.beginExecution();
+		int[] result;
+		try {
+			((BoltNeo4jConnectionImpl) this.connection).closeStreamingTransaction();
+			result = this.executeBatchInChunks();
+		} catch (Exception e) {
+			throw this.executionFailure(timeout, e);
+		}
+		this.endExecution(timeout);
+		return result;
+	}
+
+	@Override protected int[] executeBatchChunk(List<Map<String, Object>> rows) throws SQLException {
+		if (((BoltNeo4jConnectionImpl) this.connection).isBatchUnwind() && PreparedStatementBuilder.isUnwindable(this.statement)) {
+			return executeBatchUnwind(rows);
+		}
+
+		int[] result = new int[rows.size()];
+		int executed = 0;
 
 		try {
-			for (Map<String, Object> parameter : this.batchParameters) {
+			for (Map<String, Object> parameter : rows) {
 				StatementResult res;
 				if (this.connection.getAutoCommit()) {
-					res = ((BoltNeo4jConnection) this.connection).getSession().run(this.statement, parameter);
+					res = runAutoCommit(this.statement, parameter);
 				} else {
 					res = ((BoltNeo4jConnection) this.connection).getTransaction().run(this.statement, parameter);
+					((BoltNeo4jConnectionImpl) this.connection).countRoundTrips(1);
 				}
 				SummaryCounters count = res.consume().counters();
-				result = copyOf(result, result.length + 1);
-				result[result.length - 1] = count.nodesCreated() + count.nodesDeleted();
+				result[executed++] = count.nodesCreated() + count.nodesDeleted();
+			}
+		} catch (Exception e) {
+			throw new BatchUpdateException(copyOf(result, executed), e);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Run a batch execution in auto-commit on the session of the connection, as an implicit transaction
+	 * unless its bookmark matters: then it waits for the bookmark of the connection and keeps the new one.
+	 *
+	 * @param cypher     The statement
+	 * @param parameters Its parameters
+	 * @return the result of the execution
+	 */
+	private StatementResult runAutoCommit(String cypher, Map<String, Object> parameters) {
+		BoltNeo4jConnectionImpl boltConnection = (BoltNeo4jConnectionImpl) this.connection;
+		Session session = boltConnection.getSession();
+		if (boltConnection.canRunImplicitly(session, this.classification)) {
+			StatementResult result = session.run(cypher, parameters);
+			boltConnection.countRoundTrips(1);
+			return result;
+		}
+		StatementResult result;
+		session = boltConnection.awaitBookmark(session);
+		try (Transaction transaction = session.beginTransaction()) {
+			result = transaction.run(cypher, parameters);
+			transaction.success();
+		}
+		boltConnection.countRoundTrips(2);
+		boltConnection.captureBookmark(session);
+		return result;
+	}
+
+	/**
+	 * Send the rows as a single <code>UNWIND</code> execution, one round trip instead of one per row.
+	 * The update count of every row is the count of the execution divided by the rows,
+	 * <code>SUCCESS_NO_INFO</code> when it can't be split evenly.
+	 *
+	 * @param rows The parameters of the rows
+	 * @return The update counts
+	 * @throws SQLException if the execution fails
+	 */
+	private int[] executeBatchUnwind(List<Map<String, Object>> rows) throws SQLException {
+		String unwindStatement = PreparedStatementBuilder.unwindStatement(this.statement, BATCH_ROWS, BATCH_ROW);
+		int[] result = new int[rows.size()];
+
+		try {
+			Map<String, Object> parameters = Collections.<String, Object>singletonMap(BATCH_ROWS, rows);
+			StatementResult res;
+			if (this.connection.getAutoCommit()) {
+				res = runAutoCommit(unwindStatement, parameters);
+			} else {
+				res = ((BoltNeo4jConnection) this.connection).getTransaction().run(unwindStatement, parameters);
+				((BoltNeo4jConnectionImpl) this.connection).countRoundTrips(1);
 			}
+			SummaryCounters count = res.consume().counters();
+			int updates = count.nodesCreated() + count.nodesDeleted();
+			Arrays.fill(result, rows.isEmpty() || updates % rows.size() != 0 ? SUCCESS_NO_INFO : updates / rows.size());
 		} catch (Exception e) {
-			throw new BatchUpdateException(result, e);
+			throw new BatchUpdateException(new int[0], e);
 		}
 
 		return result;
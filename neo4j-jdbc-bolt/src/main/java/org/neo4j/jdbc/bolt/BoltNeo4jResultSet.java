@@ -23,6 +23,7 @@ import org.neo4j.driver.internal.types.InternalTypeSystem;
 import org.neo4j.driver.internal.value.*;
 import org.neo4j.driver.v1.Record;
 import org.neo4j.driver.v1.StatementResult;
+import org.neo4j.driver.v1.Transaction;
 import org.neo4j.driver.v1.Value;
 import org.neo4j.driver.v1.exceptions.value.Uncoercible;
 import org.neo4j.driver.v1.types.Node;
@@ -31,6 +32,7 @@ import org.neo4j.driver.v1.types.Relationship;
 import org.neo4j.driver.v1.types.Type;
 import org.neo4j.driver.v1.util.Pair;
 import org.neo4j.jdbc.*;
+import org.neo4j.jdbc.bolt.impl.BoltNeo4jConnectionImpl;
 import org.neo4j.jdbc.impl.ListArray;
 import org.neo4j.jdbc.utils.Neo4jInvocationHandler;
 
@@ -53,6 +55,23 @@ public class BoltNeo4jResultSet extends Neo4jResultSet {
 	private List<String>      keys;
 	private List<Type>        classes;
 
+	/*
+	 * Column access plan, built once the columns are known: for every column, the field of the record it reads,
+	 * what it reads from it, and the value read for the current row when it has to be built.
+	 */
+	private static final int COLUMN_VALUE    = 0;
+	private static final int COLUMN_ID       = 1;
+	private static final int COLUMN_LABELS   = 2;
+	private static final int COLUMN_TYPE     = 3;
+	private static final int COLUMN_PROPERTY = 4;
+
+	private Map<String, Integer> columnIndexes;
+	private int[]                columnFields;
+	private int[]                columnKinds;
+	private String[]             columnProperties;
+	private Value[]              columnValues;
+	private int[]                columnValueRows;
+
 	private boolean flattened = false;
 
 	private static final List<String> ACCEPTED_TYPES_FOR_FLATTENING = Arrays.asList("NODE", "RELATIONSHIP");
@@ -61,6 +80,10 @@ public class BoltNeo4jResultSet extends Neo4jResultSet {
 
 	private LinkedList<Record> prefetchedRecords = null;
 
+	private Transaction transaction;
+
+	private BoltRecordPrefetcher prefetcher;
+
 	/**
 	 * Default constructor for this class, if no params are given or if some params are missing it uses the defaults.
 	 *
@@ -76,6 +99,7 @@ public class BoltNeo4jResultSet extends Neo4jResultSet {
 
 		this.keys = new ArrayList<>();
 		this.classes = new ArrayList<>();
+		this.columnIndexes = new HashMap<>();
 		this.prefetchedRecords = new LinkedList<>();
 
 		try {
@@ -85,8 +109,10 @@ public class BoltNeo4jResultSet extends Neo4jResultSet {
 		}
 
 		if (this.flatten != 0 && this.iterator != null && this.iterator.hasNext() && this.iterator.peek() != null && this.flatteningTypes(this.iterator)) {
-			//Flatten the result
-			this.flattenResultSet();
+			//Flatten the result, from the schema if possible, else from a sample of the records
+			if (!this.flattenFromSchema(this.iterator.peek())) {
+				this.flattenResultSet();
+			}
 			this.flattened = true;
 		} else if (this.iterator != null) {
 			//Keys are exactly the ones returned from the iterator
@@ -99,13 +125,46 @@ public class BoltNeo4jResultSet extends Neo4jResultSet {
 		}
 
 
+		this.buildColumnPlan();
 		this.metaData = BoltNeo4jResultSetMetaData.newInstance(false, this.classes, this.keys);
+
+		try {
+			this.fetchSize = Math.max(DEFAULT_FETCH_SIZE, this.statement.getFetchSize());
+		} catch (Exception e) {
+			this.fetchSize = DEFAULT_FETCH_SIZE;
+		}
+		this.startPrefetching();
 	}
 
 	public static ResultSet newInstance(boolean debug, Statement statement, StatementResult iterator, int... params) {
 		ResultSet rs = new BoltNeo4jResultSet(statement, iterator, params);
+		if (!debug) {
+			return rs;
+		}
 		return (ResultSet) Proxy
-				.newProxyInstance(BoltNeo4jResultSet.class.getClassLoader(), new Class[] { ResultSet.class }, new Neo4jInvocationHandler(rs, debug));
+				.newProxyInstance(BoltNeo4jResultSet.class.getClassLoader(), new Class<?>[] { ResultSet.class }, new Neo4jInvocationHandler(rs, debug));
+	}
+
+	/**
+	 * Build a ResultSet streaming its records from an open auto-commit transaction.
+	 * The transaction is committed when the last record has been read or when the ResultSet is closed,
+	 * unless the query only reads the graph: closed early, its transaction is then terminated without reading the records left.
+	 *
+	 * @param debug       Enable the debug logging
+	 * @param statement   The <code>Statement</code> this ResultSet comes from
+	 * @param iterator    The <code>StatementResult</code> of this set
+	 * @param transaction The transaction the statement has been run in
+	 * @param params      At most three, type, concurrency and holdability
+	 * @return the new ResultSet
+	 */
+	public static ResultSet newInstance(boolean debug, Statement statement, StatementResult iterator, Transaction transaction, int... params) {
+		BoltNeo4jResultSet rs = new BoltNeo4jResultSet(statement, iterator, params);
+		rs.transaction = transaction;
+		if (!debug) {
+			return rs;
+		}
+		return (ResultSet) Proxy
+				.newProxyInstance(BoltNeo4jResultSet.class.getClassLoader(), new Class<?>[] { ResultSet.class }, new Neo4jInvocationHandler(rs, debug));
 	}
 
 	private void flattenResultSet() {
@@ -115,12 +174,82 @@ public class BoltNeo4jResultSet extends Neo4jResultSet {
 		}
 	}
 
-	private void flattenRecord(Record r) {
+	private void addColumn(String key, Type type) {
+		if (!this.columnIndexes.containsKey(key)) {
+			this.columnIndexes.put(key, this.keys.size());
+			this.keys.add(key);
+			this.classes.add(type);
+		}
+	}
+
+	/**
+	 * Discover the flattened columns from the property keys of the labels and types of the entities of the first record,
+	 * so that no record has to be read ahead. The property keys of the first record are added too.
+	 *
+	 * @param r The first record
+	 * @return false if the connection doesn't discover columns from the schema, or if the schema couldn't be read
+	 */
+	private boolean flattenFromSchema(Record r) {
+		BoltNeo4jConnectionImpl connection;
+		try {
+			if (!(this.statement.getConnection() instanceof BoltNeo4jConnectionImpl) || !((BoltNeo4jConnectionImpl) this.statement.getConnection())
+					.isFlattenSchema()) {
+				return false;
+			}
+			connection = (BoltNeo4jConnectionImpl) this.statement.getConnection();
+		} catch (SQLException e) {
+			return false;
+		}
+
+		Map<String, Set<String>> properties = new HashMap<>();
+		try {
+			for (Pair<String, Value> pair : r.fields()) {
+				Set<String> entityProperties = new LinkedHashSet<>();
+				if (ACCEPTED_TYPES_FOR_FLATTENING.get(0).equals(pair.value().type().name())) {
+					Node node = pair.value().asNode();
+					for (String label : node.labels()) {
+						entityProperties.addAll(connection.getSchemaPropertyKeys(true, label));
+					}
+					for (String key : node.keys()) {
+						entityProperties.add(key);
+					}
+				} else {
+					Relationship rel = pair.value().asRelationship();
+					entityProperties.addAll(connection.getSchemaPropertyKeys(false, rel.type()));
+					for (String key : rel.keys()) {
+						entityProperties.add(key);
+					}
+				}
+				properties.put(pair.key(), entityProperties);
+			}
+		} catch (SQLException e) {
+			return false;
+		}
+
 		for (Pair<String, Value> pair : r.fields()) {
-			if (keys.indexOf(pair.key()) == -1) {
-				keys.add(pair.key());
-				classes.add(r.get(pair.key()).type());
+			this.addColumn(pair.key(), pair.value().type());
+			if (ACCEPTED_TYPES_FOR_FLATTENING.get(0).equals(pair.value().type().name())) {
+				Node node = pair.value().asNode();
+				this.addColumn(pair.key() + ".id", InternalTypeSystem.TYPE_SYSTEM.INTEGER());
+				this.addColumn(pair.key() + ".labels", InternalTypeSystem.TYPE_SYSTEM.LIST());
+				for (String key : properties.get(pair.key())) {
+					this.addColumn(pair.key() + "." + key, node.get(key).type());
+				}
+			} else {
+				Relationship rel = pair.value().asRelationship();
+				this.addColumn(pair.key() + ".id", InternalTypeSystem.TYPE_SYSTEM.INTEGER());
+				this.addColumn(pair.key() + ".type", InternalTypeSystem.TYPE_SYSTEM.STRING());
+				for (String key : properties.get(pair.key())) {
+					this.addColumn(pair.key() + "." + key, rel.get(key).type());
+				}
 			}
+		}
+		return true;
+	}
+
+	private void flattenRecord(Record r) {
+		for (Pair<String, Value> pair : r.fields()) {
+			this.addColumn(pair.key(), pair.value().type());
 			Value val = r.get(pair.key());
 			if (ACCEPTED_TYPES_FOR_FLATTENING.get(0).equals(pair.value().type().name())) {
 				//Flatten node
@@ -133,34 +262,71 @@ public class BoltNeo4jResultSet extends Neo4jResultSet {
 	}
 
 	private void flattenNode(Node node, String nodeKey) {
-		if (keys.indexOf(nodeKey + ".id") == -1) {
-			keys.add(nodeKey + ".id");
-			classes.add(InternalTypeSystem.TYPE_SYSTEM.INTEGER());
-			keys.add(nodeKey + ".labels");
-			classes.add(InternalTypeSystem.TYPE_SYSTEM.LIST());
+		if (!this.columnIndexes.containsKey(nodeKey + ".id")) {
+			this.addColumn(nodeKey + ".id", InternalTypeSystem.TYPE_SYSTEM.INTEGER());
+			this.addColumn(nodeKey + ".labels", InternalTypeSystem.TYPE_SYSTEM.LIST());
 		}
 		for (String key : node.keys()) {
-			if (keys.indexOf(nodeKey + "." + key) == -1) {
-				keys.add(nodeKey + "." + key);
-				classes.add(node.get(key).type());
-			}
+			this.addColumn(nodeKey + "." + key, node.get(key).type());
 		}
 	}
 
 	private void flattenRelationship(Relationship rel, String relationshipKey) {
-		if (keys.indexOf(relationshipKey + ".id") == -1) {
-			keys.add(relationshipKey + ".id");
-			classes.add(InternalTypeSystem.TYPE_SYSTEM.INTEGER());
-			keys.add(relationshipKey + ".type");
-			classes.add(InternalTypeSystem.TYPE_SYSTEM.STRING());
+		if (!this.columnIndexes.containsKey(relationshipKey + ".id")) {
+			this.addColumn(relationshipKey + ".id", InternalTypeSystem.TYPE_SYSTEM.INTEGER());
+			this.addColumn(relationshipKey + ".type", InternalTypeSystem.TYPE_SYSTEM.STRING());
 		}
 		for (String key : rel.keys()) {
-			if (keys.indexOf(relationshipKey + "." + key) == -1) {
-				keys.add(relationshipKey + "." + key);
-				classes.add(rel.get(key).type());
-			}
+			this.addColumn(relationshipKey + "." + key, rel.get(key).type());
+		}
+	}
+
+	/**
+	 * Resolve once for every column the record field it reads and, for the virtual columns of a flattened result, the property it reads.
+	 */
+	private void buildColumnPlan() {
+		int size = this.keys.size();
+		this.columnFields = new int[size];
+		this.columnKinds = new int[size];
+		this.columnProperties = new String[size];
+		this.columnValues = new Value[size];
+		this.columnValueRows = new int[size];
+
+		Map<String, Integer> fields = new HashMap<>();
+		List<String> recordKeys = this.flattened ? this.iterator.keys() : this.keys;
+		for (int i = 0; i < recordKeys.size(); i++) {
+			fields.put(recordKeys.get(i), i);
 		}
 
+		for (int i = 0; i < size; i++) {
+			String key = this.keys.get(i);
+			if (!this.columnIndexes.containsKey(key)) {
+				this.columnIndexes.put(key, i);
+			}
+			Integer field = fields.get(key);
+			int dot = key.indexOf('.');
+			if (field != null || dot < 0) {
+				this.columnFields[i] = field != null ? field : i;
+				this.columnKinds[i] = COLUMN_VALUE;
+			} else {
+				String entity = key.substring(0, dot);
+				String property = key.substring(dot + 1);
+				Integer entityField = fields.get(entity);
+				Integer entityColumn = this.columnIndexes.get(entity);
+				String entityType = entityColumn != null ? this.classes.get(entityColumn).name() : null;
+				this.columnFields[i] = entityField != null ? entityField : -1;
+				this.columnProperties[i] = property;
+				if ("id".equals(property)) {
+					this.columnKinds[i] = COLUMN_ID;
+				} else if ("labels".equals(property) && ACCEPTED_TYPES_FOR_FLATTENING.get(0).equals(entityType)) {
+					this.columnKinds[i] = COLUMN_LABELS;
+				} else if ("type".equals(property) && ACCEPTED_TYPES_FOR_FLATTENING.get(1).equals(entityType)) {
+					this.columnKinds[i] = COLUMN_TYPE;
+				} else {
+					this.columnKinds[i] = COLUMN_PROPERTY;
+				}
+			}
+		}
 	}
 
 	private boolean flatteningTypes(StatementResult statementResult) {
@@ -176,17 +342,49 @@ public class BoltNeo4jResultSet extends Neo4jResultSet {
 		return result;
 	}
 
+	/**
+	 * With a fetch size greater than 1, the records are read ahead of the cursor on a background thread, at most fetch size records at a time.
+	 * Any other use of the connection, closing the result set or leaving it unread for 30 seconds stops reading ahead, the remaining records are then read as usual.
+	 */
+	@Override public void setFetchSize(int rows) throws SQLException {
+		super.setFetchSize(rows);
+		if (this.fetchSize > DEFAULT_FETCH_SIZE) {
+			this.startPrefetching();
+		} else if (this.prefetcher != null) {
+			this.prefetcher.stop();
+		}
+	}
+
+	private void startPrefetching() {
+		if (this.fetchSize <= DEFAULT_FETCH_SIZE || this.prefetcher != null || this.iterator == null) {
+			return;
+		}
+		this.prefetcher = BoltRecordPrefetcher.start(this.iterator, this.fetchSize);
+		try {
+			if (this.statement.getConnection() instanceof BoltNeo4jConnectionImpl) {
+				((BoltNeo4jConnectionImpl) this.statement.getConnection()).setPrefetcher(this.prefetcher);
+			}
+		} catch (SQLException e) {
+			this.prefetcher.stop();
+		}
+	}
+
 	@Override protected boolean innerNext() throws SQLException {
 		if (this.iterator == null) {
 			throw new SQLException("ResultCursor not initialized");
 		}
 		if (!this.prefetchedRecords.isEmpty()) {
 			this.current = this.prefetchedRecords.pop();
+		} else if (this.prefetcher != null) {
+			this.current = this.prefetcher.next();
 		} else if (this.iterator.hasNext()) {
 			this.current = this.iterator.next();
 		} else {
 			this.current = null;
 		}
+		if (this.current == null) {
+			this.closeTransaction();
+		}
 		return this.current != null;
 	}
 
@@ -194,9 +392,45 @@ public class BoltNeo4jResultSet extends Neo4jResultSet {
 		if (this.iterator == null) {
 			throw new SQLException("ResultCursor not initialized");
 		}
+		if (this.prefetcher != null) {
+			this.prefetcher.stop();
+		}
+		if (this.transaction != null && this.transaction.isOpen()) {
+			try {
+				// A read-only transaction closed early is terminated, a transaction that may write reads its records before its commit
+				if (!this.terminateTransaction()) {
+					this.iterator.consume();
+				}
+			} catch (Exception e) {
+				throw new SQLException(e);
+			} finally {
+				this.closeTransaction();
+			}
+		}
 		this.isClosed = true;
 	}
 
+	private boolean terminateTransaction() throws SQLException {
+		if (this.statement == null || !(this.statement.getConnection() instanceof BoltNeo4jConnectionImpl)) {
+			return false;
+		}
+		return ((BoltNeo4jConnectionImpl) this.statement.getConnection()).terminateStreamingTransaction(this.transaction);
+	}
+
+	private void closeTransaction() throws SQLException {
+		if (this.transaction != null) {
+			try {
+				if (this.transaction.isOpen()) {
+					this.transaction.close();
+				}
+			} catch (Exception e) {
+				throw new SQLException(e);
+			} finally {
+				this.transaction = null;
+			}
+		}
+	}
+
 	@Override public boolean wasNull() throws SQLException {
 		checkClosed();
 		return this.wasNull;
@@ -332,70 +566,68 @@ public class BoltNeo4jResultSet extends Neo4jResultSet {
 		return value.isNull() ? false : value.asBoolean();
 	}
 
-	private Value fetchPropertyValue(String key, String property) throws SQLException {
+	/**
+	 * Read the value of a column of the current row following the column access plan.
+	 * The values built from an entity, its id, labels or type, are built once per row.
+	 *
+	 * @param column The index of the column, from 0
+	 * @return the value
+	 * @throws SQLException if the column can't be read from the current row
+	 */
+	private Value fetchColumnValue(int column) throws SQLException {
 		Value value;
-		try {
-			if ("id".equals(property)) {
-				//id requested
-				value = new IntegerValue(this.current.get(key).asEntity().id());
-			} else if ("labels".equals(property)) {
-				//node's labels requested
-				Node node = this.current.get(key).asNode();
-				List<Value> values = new ArrayList<>();
-				for (String label : node.labels()) {
-					values.add(new StringValue(label));
+		int kind = this.columnKinds[column];
+		if (kind == COLUMN_VALUE) {
+			value = this.current.get(this.columnFields[column]);
+		} else if (kind != COLUMN_PROPERTY && this.columnValueRows[column] == this.currentRowNumber && this.columnValues[column] != null) {
+			value = this.columnValues[column];
+		} else {
+			try {
+				Value entity = this.current.get(this.columnFields[column]);
+				if (kind == COLUMN_ID) {
+					//id requested
+					value = new IntegerValue(entity.asEntity().id());
+				} else if (kind == COLUMN_LABELS) {
+					//node's labels requested
+					List<Value> values = new ArrayList<>();
+					for (String label : entity.asNode().labels()) {
+						values.add(new StringValue(label));
+					}
+					value = new ListValue(values.toArray(new Value[values.size()]));
+				} else if (kind == COLUMN_TYPE) {
+					//Relationship's type requested
+					value = new StringValue(entity.asRelationship().type());
+				} else {
+					//Property requested
+					value = entity.get(this.columnProperties[column]);
 				}
-				value = new ListValue(values.toArray(new Value[values.size()]));
-			} else if ("type".equals(property)) {
-				//Relationship's type requested
-				value = new StringValue(this.current.get(key).asRelationship().type());
-			} else {
-				//Property requested
-				value = this.current.get(key).get(property);
+			} catch (Exception e) {
+				throw new SQLException(COLUMN_NOT_PRESENT, e);
+			}
+			if (kind != COLUMN_PROPERTY) {
+				this.columnValues[column] = value;
+				this.columnValueRows[column] = this.currentRowNumber;
 			}
-		} catch (Exception e) {
-			throw new SQLException(COLUMN_NOT_PRESENT, e);
 		}
+		this.wasNull = value.isNull();
 		return value;
 	}
 
 	private Value fetchValueFromLabel(String label) throws SQLException {
-		Value value;
-		if (this.current.containsKey(label)) {
-			//Requested value is not flattened
-			value = this.current.get(label);
-		} else if (this.flattened && this.keys.contains(label)) {
-			//Requested value is flattened
-			String[] labelKeys = label.split("\\.");
-			value = this.fetchPropertyValue(labelKeys[0], labelKeys[1]);
-		} else {
+		Integer column = this.columnIndexes.get(label);
+		if (column == null) {
 			//No value found
 			throw new SQLException(COLUMN_NOT_PRESENT);
 		}
-		this.wasNull = value.isNull();
-		return value;
+		return this.fetchColumnValue(column);
 	}
 
 	private Value fetchValueFromIndex(int index) throws SQLException {
-		Value value;
-		if (this.flattened && index > 0 && index - 1 <= this.keys.size()) {
-			//Requested value is to be considered from flattened results
-			String[] indexKeys = this.keys.get(index - 1).split("\\.");
-			if (indexKeys.length > 1) { //Requested value is a virtual column
-				value = this.fetchPropertyValue(indexKeys[0], indexKeys[1]);
-			} else {
-				//Requested value is the node/relationship itself
-				value = this.current.get(this.keys.get(index - 1));
-			}
-		} else if (index > 0 && index - 1 <= this.current.size()) {
-			//Requested value is not flattened
-			value = this.current.get(index - 1);
-		} else {
+		if (index < 1 || index > this.columnKinds.length) {
 			//No value found
 			throw new SQLException(COLUMN_NOT_PRESENT);
 		}
-		this.wasNull = value.isNull();
-		return value;
+		return this.fetchColumnValue(index - 1);
 	}
 
 	@Override public int getInt(String columnLabel) throws SQLException {
@@ -412,10 +644,11 @@ public class BoltNeo4jResultSet extends Neo4jResultSet {
 
 	@Override public int findColumn(String columnLabel) throws SQLException {
 		checkClosed();
-		if (!this.keys.contains(columnLabel)) {
+		Integer column = this.columnIndexes.get(columnLabel);
+		if (column == null) {
 			throw new SQLException(COLUMN_NOT_PRESENT);
 		}
-		return this.keys.indexOf(columnLabel) + 1;
+		return column + 1;
 	}
 
 	@Override public int getType() throws SQLException {
@@ -80,6 +80,9 @@ public class BoltNeo4jResultSetMetaData extends Neo4jResultSetMetaData {
 
 	public static ResultSetMetaData newInstance(boolean debug, List<Type> types, List<String> keys) {
 		ResultSetMetaData rsmd = new BoltNeo4jResultSetMetaData(types, keys);
+		if (!debug) {
+			return rsmd;
+		}
 		return (ResultSetMetaData) Proxy
 				.newProxyInstance(BoltNeo4jResultSetMetaData.class.getClassLoader(), new Class[] { ResultSetMetaData.class }, new Neo4jInvocationHandler(rsmd, debug));
 	}
@@ -19,11 +19,15 @@
  */
 package org.neo4j.jdbc.bolt;
 
+import org.neo4j.driver.v1.Session;
 import org.neo4j.driver.v1.StatementResult;
 import org.neo4j.driver.v1.Transaction;
 import org.neo4j.driver.v1.summary.SummaryCounters;
 import org.neo4j.jdbc.Neo4jStatement;
+import org.neo4j.jdbc.bolt.cache.BoltDriverCacheKey;
 import org.neo4j.jdbc.bolt.impl.BoltNeo4jConnectionImpl;
+import org.neo4j.jdbc.utils.AsyncExecutor;
+import org.neo4j.jdbc.utils.CypherClassification;
 import org.neo4j.jdbc.utils.Neo4jInvocationHandler;
 
 import java.lang.reflect.Proxy;
@@ -31,8 +35,14 @@ import java.sql.BatchUpdateException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledFuture;
 
 /**
  * @author AgileLARUS
@@ -40,6 +50,8 @@ import java.util.Arrays;
  */
 public class BoltNeo4jStatement extends Neo4jStatement {
 
+	private Transaction streamingTransaction;
+
 	/**
 	 * Default Constructor
 	 *
@@ -55,100 +67,336 @@ public class BoltNeo4jStatement extends Neo4jStatement {
 	public static Statement newInstance(boolean debug, BoltNeo4jConnectionImpl connection, int... rsParams) {
 		Statement statement = new BoltNeo4jStatement(connection, rsParams);
 		((Neo4jStatement) statement).setDebug(debug);
+		if (!debug) {
+			return statement;
+		}
 		return (Statement) Proxy.newProxyInstance(BoltNeo4jStatement.class.getClassLoader(), new Class[] { Statement.class },
 				new Neo4jInvocationHandler(statement, debug));
 	}
 
 	@Override public ResultSet executeQuery(String sql) throws SQLException {
-		StatementResult result = executeInternal(sql);
+		ScheduledFuture<?> timeout = this.beginExecution();
+		try {
+			StatementResult result = executeInternal(sql, true);
 
-		this.currentResultSet = BoltNeo4jResultSet.newInstance(this.hasDebug(), this, result, this.resultSetParams);
-		this.currentUpdateCount = -1;
+			this.currentResultSet = newResultSet(result);
+			this.currentUpdateCount = -1;
+		} catch (Exception e) {
+			throw this.executionFailure(timeout, e);
+		}
+		this.endExecution(timeout);
 		return this.currentResultSet;
 	}
 
 	@Override public int executeUpdate(String sql) throws SQLException {
-		StatementResult result = executeInternal(sql);
+		ScheduledFuture<?> timeout = this.beginExecution();
+		try {
+			StatementResult result = executeInternal(sql, false);
 
-		SummaryCounters stats = result.consume().counters();
-		this.currentUpdateCount = stats.nodesCreated() + stats.nodesDeleted() + stats.relationshipsCreated() + stats.relationshipsDeleted();
-		this.currentResultSet = null;
+			SummaryCounters stats = result.consume().counters();
+			this.currentUpdateCount = stats.nodesCreated() + stats.nodesDeleted() + stats.relationshipsCreated() + stats.relationshipsDeleted();
+			this.currentResultSet = null;
+		} catch (Exception e) {
+			throw this.executionFailure(timeout, e);
+		}
+		this.endExecution(timeout);
 		return this.currentUpdateCount;
 	}
 
 	@Override public boolean execute(String sql) throws SQLException {
-		StatementResult result = executeInternal(sql);
-
+		ScheduledFuture<?> timeout = this.beginExecution();
 		boolean hasResultSet = false;
-		if (result != null) {
-			hasResultSet = hasResultSet(sql);
-			if (hasResultSet) {
-				this.currentResultSet = BoltNeo4jResultSet.newInstance(this.hasDebug(), this, result, this.resultSetParams);
-				this.currentUpdateCount = -1;
-			} else {
-				this.currentResultSet = null;
-				try {
+		try {
+			StatementResult result = executeInternal(sql, hasResultSet(sql));
+
+			if (result != null) {
+				hasResultSet = hasResultSet(sql);
+				if (hasResultSet) {
+					this.currentResultSet = newResultSet(result);
+					this.currentUpdateCount = -1;
+				} else {
+					this.currentResultSet = null;
 					SummaryCounters stats = result.consume().counters();
 					this.currentUpdateCount = stats.nodesCreated() + stats.nodesDeleted() + stats.relationshipsCreated() + stats.relationshipsDeleted();
-				} catch (Exception e) {
-					throw new SQLException(e);
 				}
 			}
+		} catch (SQLException e) {
+			throw this.executionFailure(timeout, e);
+		} catch (Exception e) {
+			throw this.executionFailure(timeout, new SQLException(e));
 		}
+		this.endExecution(timeout);
 		return hasResultSet;
 	}
 
-	private StatementResult executeInternal(String sql) throws SQLException {
+	/**
+	 * Reset the session of the connection, interrupting the running query and terminating its transaction.
+	 */
+	@Override protected void cancelExecution() {
+		((BoltNeo4jConnectionImpl) this.connection).reset();
+	}
+
+	/**
+	 * In auto-commit the query runs on its own session, concurrently with the other queries of the connection,
+	 * chaining the bookmarks of the calling thread.
+	 */
+	@Override public CompletionStage<ResultSet> executeQueryAsync(final String sql) {
+		final BoltNeo4jConnectionImpl boltConnection = (BoltNeo4jConnectionImpl) this.connection;
+		try {
+			this.checkClosed();
+			if (!boltConnection.canRunInNewSession()) {
+				return super.executeQueryAsync(sql);
+			}
+		} catch (SQLException e) {
+			return AsyncExecutor.failed(e);
+		}
+		final Map<BoltDriverCacheKey, String> bookmarks = boltConnection.getThreadBookmarks();
+		return AsyncExecutor.supply(new Callable<ResultSet>() {
+			@Override public ResultSet call() throws SQLException {
+				return BoltNeo4jResultSet.newInstance(hasDebug(), BoltNeo4jStatement.this, boltConnection.runInNewSession(sql, null, classify(sql), bookmarks), resultSetParams);
+			}
+		});
+	}
+
+	/**
+	 * In auto-commit the query runs on its own session, concurrently with the other queries of the connection,
+	 * chaining the bookmarks of the calling thread.
+	 */
+	@Override public CompletionStage<Integer> executeUpdateAsync(final String sql) {
+		final BoltNeo4jConnectionImpl boltConnection = (BoltNeo4jConnectionImpl) this.connection;
+		try {
+			this.checkClosed();
+			if (!boltConnection.canRunInNewSession()) {
+				return super.executeUpdateAsync(sql);
+			}
+		} catch (SQLException e) {
+			return AsyncExecutor.failed(e);
+		}
+		final Map<BoltDriverCacheKey, String> bookmarks = boltConnection.getThreadBookmarks();
+		return AsyncExecutor.supply(new Callable<Integer>() {
+			@Override public Integer call() throws SQLException {
+				SummaryCounters stats = boltConnection.runInNewSession(sql, null, classify(sql), bookmarks).consume().counters();
+				return stats.nodesCreated() + stats.nodesDeleted() + stats.relationshipsCreated() + stats.relationshipsDeleted();
+			}
+		});
+	}
+
+	private StatementResult executeInternal(String sql, boolean stream) throws SQLException {
 		this.checkClosed();
 
 		StatementResult result;
-		if (this.getConnection().getAutoCommit()) {
-			try (Transaction t = ((BoltNeo4jConnection) this.getConnection()).getSession().beginTransaction()) {
+		BoltNeo4jConnectionImpl boltConnection = (BoltNeo4jConnectionImpl) this.connection;
+		CypherClassification classification = this.classify(sql);
+		Session session = boltConnection.isReadRouted(classification) ? boltConnection.getReadSession() : boltConnection.getSession();
+		if (this.getConnection().getAutoCommit() && stream && boltConnection.isStreaming()) {
+			try {
+				this.streamingTransaction = boltConnection.beginStreamingTransaction(session, classification.isReadOnly());
+				result = this.streamingTransaction.run(sql);
+				this.streamingTransaction.success();
+				boltConnection.countRoundTrips(1);
+			} catch (Exception e) {
+				this.streamingTransaction = null;
+				boltConnection.closeStreamingTransaction();
+				throw new SQLException(e);
+			}
+		} else if (this.getConnection().getAutoCommit() && boltConnection.canRunImplicitly(session, classification)) {
+			boltConnection.closeStreamingTransaction();
+			try {
+				result = session.run(sql);
+				result.keys();
+			} catch (Exception e) {
+				throw new SQLException(e);
+			}
+			boltConnection.countRoundTrips(1);
+		} else if (this.getConnection().getAutoCommit()) {
+			boltConnection.closeStreamingTransaction();
+			session = boltConnection.awaitBookmark(session);
+			try (Transaction t = session.beginTransaction()) {
 				result = t.run(sql);
 				t.success();
 			} catch (Exception e) {
 				throw new SQLException(e);
 			}
+			boltConnection.countRoundTrips(2);
+			boltConnection.captureBookmark(session);
 		} else {
 			try {
 				result = ((BoltNeo4jConnection) this.getConnection()).getTransaction().run(sql);
 			} catch (Exception e) {
 				throw new SQLException(e);
 			}
+			boltConnection.countRoundTrips(1);
 		}
 		return result;
 	}
 
+	/**
+	 * Build the ResultSet of the last execution, handing it the streaming transaction if any,
+	 * so that the transaction is committed once the ResultSet is exhausted or closed.
+	 *
+	 * @param result The result of the execution
+	 * @return the new ResultSet
+	 */
+	private ResultSet newResultSet(StatementResult result) {
+		Transaction transaction = this.streamingTransaction;
+		this.streamingTransaction = null;
+		if (transaction != null) {
+			return BoltNeo4jResultSet.newInstance(this.hasDebug(), this, result, transaction, this.resultSetParams);
+		}
+		return BoltNeo4jResultSet.newInstance(this.hasDebug(), this, result, this.resultSetParams);
+	}
+
 	private boolean hasResultSet(String sql) {
-		return sql != null && sql.toLowerCase().contains("return");
+		return sql != null && this.classify(sql).isReturningRows();
 	}
 
 	/*-------------------*/
 	/*       Batch       */
 	/*-------------------*/
 
+	/**
+	 * With <code>batch.pipeline</code> in auto-commit, the batch is all or nothing: it runs in a single transaction,
+	 * rolled back if a query fails, and the <code>BatchUpdateException</code> then reports every query as
+	 * <code>EXECUTE_FAILED</code>. Otherwise, it carries the update counts of the queries executed before the failure.
+	 *
+	 * @return The update counts of the queries of the batch
+	 * @throws SQLException if the statement is closed or a query fails
+	 */
 	@Override public int[] executeBatch() throws SQLException {
 		this.checkClosed();
+		ScheduledFuture<?> timeout = this.beginExecution();
+		int[] result;
+		try {
+			BoltNeo4jConnectionImpl boltConnection = (BoltNeo4jConnectionImpl) this.connection;
+			if (boltConnection.isBatchPipeline()) {
+				result = executeBatchPipelined(boltConnection.getBatchPipelineInFlight());
+			} else {
+				result = executeBatchInSequence(boltConnection);
+			}
+		} catch (Exception e) {
+			throw this.executionFailure(timeout, e);
+		}
+		this.endExecution(timeout);
+		return result;
+	}
 
-		int[] result = new int[0];
+	private int[] executeBatchInSequence(BoltNeo4jConnectionImpl boltConnection) throws SQLException {
+		int[] result = new int[this.batchStatements.size()];
+		int executed = 0;
 
 		try {
+			boltConnection.closeStreamingTransaction();
 			for (String query : this.batchStatements) {
 				StatementResult res;
 				if (this.connection.getAutoCommit()) {
-					res = ((BoltNeo4jConnection) connection).getSession().run(query);
+					res = runAutoCommit(boltConnection, query);
 				} else {
 					res = ((BoltNeo4jConnection) connection).getTransaction().run(query);
+					boltConnection.countRoundTrips(1);
 				}
-				SummaryCounters count = res.consume().counters();
-				result = Arrays.copyOf(result, result.length + 1);
-				result[result.length - 1] = count.nodesCreated() + count.nodesDeleted();
+				result[executed] = updateCount(res);
+				executed++;
 			}
 		} catch (Exception e) {
-			throw new BatchUpdateException(result, e);
+			throw new BatchUpdateException(Arrays.copyOf(result, executed), e);
 		}
 
 		return result;
 	}
 
+	/**
+	 * Run a query of the batch in auto-commit on the session of the connection, as an implicit transaction
+	 * unless its bookmark matters: then it waits for the bookmark of the connection and keeps the new one.
+	 *
+	 * @param boltConnection The connection
+	 * @param query          The query
+	 * @return the result of the query
+	 */
+	private StatementResult runAutoCommit(BoltNeo4jConnectionImpl boltConnection, String query) {
+		Session session = boltConnection.getSession();
+		if (boltConnection.canRunImplicitly(session, this.classify(query))) {
+			StatementResult result = session.run(query);
+			boltConnection.countRoundTrips(1);
+			return result;
+		}
+		StatementResult result;
+		session = boltConnection.awaitBookmark(session);
+		try (Transaction transaction = session.beginTransaction()) {
+			result = transaction.run(query);
+			transaction.success();
+		}
+		boltConnection.countRoundTrips(2);
+		boltConnection.captureBookmark(session);
+		return result;
+	}
+
+	/**
+	 * Send the queries of the batch back to back in one transaction (the connection one if not in auto-commit),
+	 * reading their results only when <code>maxInFlight</code> queries are waiting and at the end,
+	 * so that the whole batch costs about one round trip.
+	 *
+	 * @param maxInFlight The maximum number of queries sent and not yet read
+	 * @return The update counts
+	 * @throws SQLException if a query fails, with the update counts of the queries before it,
+	 *                      or with every query failed in auto-commit as the transaction is rolled back
+	 */
+	private int[] executeBatchPipelined(int maxInFlight) throws SQLException {
+		int[] result = new int[this.batchStatements.size()];
+		int executed = 0;
+		Deque<StatementResult> inFlight = new ArrayDeque<>(Math.min(maxInFlight, Math.max(result.length, 1)));
+
+		boolean autoCommit = this.connection.getAutoCommit();
+		BoltNeo4jConnectionImpl boltConnection = (BoltNeo4jConnectionImpl) this.connection;
+		Transaction transaction = null;
+		try {
+			boltConnection.closeStreamingTransaction();
+			if (autoCommit) {
+				transaction = boltConnection.awaitBookmark(boltConnection.getSession()).beginTransaction();
+			} else {
+				transaction = boltConnection.getTransaction();
+			}
+			for (String query : this.batchStatements) {
+				if (inFlight.size() >= maxInFlight) {
+					result[executed] = updateCount(inFlight.poll());
+					executed++;
+				}
+				inFlight.add(transaction.run(query));
+			}
+			while (!inFlight.isEmpty()) {
+				result[executed] = updateCount(inFlight.poll());
+				executed++;
+			}
+			if (autoCommit) {
+				transaction.success();
+				transaction.close();
+				boltConnection.captureBookmark(boltConnection.getSession());
+			}
+		} catch (Exception e) {
+			if (autoCommit) {
+				if (transaction != null) {
+					closeQuietly(transaction);
+				}
+				Arrays.fill(result, Statement.EXECUTE_FAILED);
+				throw new BatchUpdateException(result, e);
+			}
+			throw new BatchUpdateException(Arrays.copyOf(result, executed), e);
+		}
+
+		return result;
+	}
+
+	private static int updateCount(StatementResult result) {
+		SummaryCounters count = result.consume().counters();
+		return count.nodesCreated() + count.nodesDeleted();
+	}
+
+	private static void closeQuietly(Transaction transaction) {
+		try {
+			transaction.failure();
+			transaction.close();
+		} catch (Exception e) {
+			// the batch exception is the one to report
+		}
+	}
+
 }
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 18/10/26
+ */
+package org.neo4j.jdbc.bolt;
+
+import org.neo4j.driver.v1.Record;
+import org.neo4j.driver.v1.StatementResult;
+
+import java.sql.SQLException;
+import java.util.LinkedList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read the records of a result ahead of the cursor, on a background thread, into a bounded buffer.
+ * The reader waits while the buffer is full, so that at most <code>capacity</code> records are held in memory.
+ * The reader gives up once its consumer has not taken a record for a while, so that an abandoned result doesn't keep a thread busy.
+ * Once stopped, the remaining records are read synchronously, in the same order.
+ *
+ * @author AgileLARUS
+ * @since 3.2.0
+ */
+public class BoltRecordPrefetcher implements Runnable {
+
+	private static final Object END = new Object();
+
+	private static final long WAIT_MILLIS = 10;
+
+	private static final long IDLE_MILLIS = 30000;
+
+	private static final ExecutorService READERS = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(),
+			new ThreadFactory() {
+				private final AtomicInteger count = new AtomicInteger();
+
+				@Override public Thread newThread(Runnable r) {
+					Thread thread = new Thread(r, "neo4j-jdbc-prefetch-" + count.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+
+	private final StatementResult       result;
+	private final BlockingQueue<Object> buffer;
+	private final CountDownLatch        done    = new CountDownLatch(1);
+	private final LinkedList<Record>    drained = new LinkedList<>();
+	private final long                  idleMillis;
+
+	private volatile boolean   stopped;
+	private volatile Record    pending;
+	private volatile Exception failure;
+
+	/**
+	 * @param result   The result to read
+	 * @param capacity   The maximum number of records read ahead
+	 * @param idleMillis The time the reader waits for the consumer to take a record before giving up
+	 */
+	private BoltRecordPrefetcher(StatementResult result, int capacity, long idleMillis) {
+		this.result = result;
+		this.buffer = new ArrayBlockingQueue<>(capacity);
+		this.idleMillis = idleMillis;
+	}
+
+	/**
+	 * Start reading the records of a result ahead of the cursor.
+	 *
+	 * @param result   The result to read
+	 * @param capacity The maximum number of records read ahead
+	 * @return the running prefetcher
+	 */
+	public static BoltRecordPrefetcher start(StatementResult result, int capacity) {
+		return start(result, capacity, IDLE_MILLIS);
+	}
+
+	static BoltRecordPrefetcher start(StatementResult result, int capacity, long idleMillis) {
+		BoltRecordPrefetcher prefetcher = new BoltRecordPrefetcher(result, capacity, idleMillis);
+		READERS.execute(prefetcher);
+		return prefetcher;
+	}
+
+	@Override public void run() {
+		try {
+			while (!this.stopped && this.result.hasNext()) {
+				Record record = this.result.next();
+				long waitingSince = System.nanoTime();
+				while (!this.buffer.offer(record, WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+					// A consumer that stopped taking records, like a result set never closed, leaves the rest of the records to be read synchronously
+					if (this.stopped || TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - waitingSince) >= this.idleMillis) {
+						this.pending = record;
+						return;
+					}
+				}
+			}
+		} catch (Exception e) {
+			this.failure = e;
+		} finally {
+			this.buffer.offer(END);
+			this.done.countDown();
+		}
+	}
+
+	/**
+	 * @return <code>true</code> while the records are read ahead on the background thread
+	 */
+	boolean isReading() {
+		return this.done.getCount() > 0;
+	}
+
+	/**
+	 * Get the next record, waiting for the reader if the buffer is empty.
+	 *
+	 * @return the next record, <code>null</code> after the last one
+	 * @throws SQLException if reading the result failed
+	 */
+	public Record next() throws SQLException {
+		try {
+			while (!this.stopped) {
+				Object next = this.buffer.poll(WAIT_MILLIS, TimeUnit.MILLISECONDS);
+				if (next == null && this.done.getCount() == 0) {
+					next = this.buffer.poll();
+				}
+				if (next == END || (next == null && this.done.getCount() == 0)) {
+					break;
+				}
+				if (next != null) {
+					return (Record) next;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLException(e);
+		}
+		return this.nextSynchronously();
+	}
+
+	private synchronized Record nextSynchronously() throws SQLException {
+		this.stop();
+		if (!this.drained.isEmpty()) {
+			return this.drained.poll();
+		}
+		if (this.failure != null) {
+			throw new SQLException(this.failure);
+		}
+		try {
+			return this.result.hasNext() ? this.result.next() : null;
+		} catch (Exception e) {
+			throw new SQLException(e);
+		}
+	}
+
+	/**
+	 * Stop reading ahead and wait for the reader to finish, so that the result, and its session, can be used by the calling thread.
+	 * The records already read are kept for {@link #next()}.
+	 */
+	public synchronized void stop() {
+		if (this.done.getCount() == 0 && this.stopped) {
+			return;
+		}
+		this.stopped = true;
+		boolean interrupted = false;
+		while (true) {
+			try {
+				this.done.await();
+				break;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		for (Object next = this.buffer.poll(); next != null; next = this.buffer.poll()) {
+			if (next != END) {
+				this.drained.add((Record) next);
+			}
+		}
+		if (this.pending != null) {
+			this.drained.add(this.pending);
+			this.pending = null;
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
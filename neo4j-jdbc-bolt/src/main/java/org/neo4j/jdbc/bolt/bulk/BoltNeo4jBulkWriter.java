@@ -0,0 +1,385 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 18/10/26
+ */
+package org.neo4j.jdbc.bolt.bulk;
+
+import org.neo4j.driver.v1.AccessMode;
+import org.neo4j.driver.v1.Driver;
+import org.neo4j.driver.v1.Session;
+import org.neo4j.driver.v1.StatementResult;
+import org.neo4j.driver.v1.Transaction;
+import org.neo4j.driver.v1.exceptions.TransientException;
+import org.neo4j.driver.v1.summary.SummaryCounters;
+import org.neo4j.jdbc.utils.PreparedStatementBuilder;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writes the rows of a parameterized statement concurrently, through several sessions of the driver of a connection.
+ * <ul>
+ * <li>rows are grouped in chunks, each chunk is executed in its own transaction by one of the sessions;</li>
+ * <li>rows go to the sessions round robin, or by the hash of a partition parameter so that rows touching the same data never run concurrently;</li>
+ * <li>every session has a bounded queue of chunks, <code>addBatch</code> blocks when it is full;</li>
+ * <li>chunks failing with a transient error (i.e. a deadlock) are retried with an exponential backoff.</li>
+ * </ul>
+ * The first failure stops the writer: every following call throws it.
+ * The writer must be closed before the connection it comes from.
+ *
+ * @author AgileLARUS
+ * @since 3.2.0
+ */
+public class BoltNeo4jBulkWriter implements AutoCloseable {
+
+	private static final Logger LOGGER = Logger.getLogger(BoltNeo4jBulkWriter.class.getName());
+
+	public static final int DEFAULT_CHUNK_SIZE     = 1000;
+	public static final int DEFAULT_QUEUE_CAPACITY = 4;
+	public static final int DEFAULT_MAX_RETRIES    = 5;
+
+	private static final long   RETRY_DELAY = 50;
+	private static final String BATCH_ROWS  = "__jdbc_batch_rows";
+	private static final String BATCH_ROW   = "__jdbc_batch_row";
+
+	private static final List<Map<String, Object>> END = Collections.unmodifiableList(new ArrayList<Map<String, Object>>());
+
+	private static final AtomicInteger WRITER_COUNT = new AtomicInteger();
+
+	private final Driver  driver;
+	private final String  statement;
+	private final boolean unwind;
+	private final int     chunkSize;
+	private final int     maxRetries;
+
+	private final List<BlockingQueue<List<Map<String, Object>>>> queues;
+	private final List<List<Map<String, Object>>>                chunks;
+	private final ExecutorService                                workers;
+
+	private final AtomicLong                 updateCount = new AtomicLong();
+	private final AtomicLong                 retryCount  = new AtomicLong();
+	private final AtomicReference<Exception> failure     = new AtomicReference<>();
+
+	private final Object lock    = new Object();
+	private       int    pending = 0;
+
+	private int     partitionKey  = 0;
+	private int     nextPartition = 0;
+	private boolean closed        = false;
+
+	/**
+	 * Start a writer and its sessions.
+	 *
+	 * @param driver        The driver the sessions are opened from
+	 * @param cypher        The statement, with <code>?</code> placeholders
+	 * @param sessions      The number of concurrent sessions
+	 * @param chunkSize     The number of rows executed in one transaction
+	 * @param queueCapacity The number of chunks waiting for every session
+	 * @param maxRetries    The number of retries of a chunk failing with a transient error
+	 * @param unwind        Execute a chunk as a single <code>UNWIND</code> statement instead of one statement per row
+	 */
+	public BoltNeo4jBulkWriter(Driver driver, String cypher, int sessions, int chunkSize, int queueCapacity, int maxRetries, boolean unwind) {
+		if (sessions < 1 || chunkSize < 1 || queueCapacity < 1 || maxRetries < 0) {
+			throw new IllegalArgumentException("Sessions, chunk size and queue capacity must be positive, max retries can't be negative");
+		}
+		String digested = PreparedStatementBuilder.replacePlaceholders(cypher);
+		this.driver = driver;
+		this.unwind = unwind && PreparedStatementBuilder.isUnwindable(digested);
+		this.statement = this.unwind ? PreparedStatementBuilder.unwindStatement(digested, BATCH_ROWS, BATCH_ROW) : digested;
+		this.chunkSize = chunkSize;
+		this.maxRetries = maxRetries;
+
+		this.queues = new ArrayList<>(sessions);
+		this.chunks = new ArrayList<>(sessions);
+		final int writer = WRITER_COUNT.incrementAndGet();
+		this.workers = Executors.newFixedThreadPool(sessions, new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger();
+
+			@Override public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "neo4j-jdbc-bulk-writer-" + writer + "-" + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		for (int i = 0; i < sessions; i++) {
+			BlockingQueue<List<Map<String, Object>>> queue = new ArrayBlockingQueue<>(queueCapacity);
+			this.queues.add(queue);
+			this.chunks.add(new ArrayList<Map<String, Object>>(chunkSize));
+			this.workers.execute(new Worker(queue));
+		}
+	}
+
+	/**
+	 * Route the rows by the value of a parameter instead of round robin:
+	 * rows with the same value are always written by the same session, one after the other.
+	 *
+	 * @param parameterIndex The index of the parameter (the first is 1), 0 for round robin
+	 */
+	public void setPartitionKey(int parameterIndex) {
+		this.partitionKey = parameterIndex;
+	}
+
+	/**
+	 * Add a row, blocking while the queue of its session is full.
+	 *
+	 * @param values The parameters of the row, in placeholder order
+	 * @throws SQLException if the writer is closed or has failed
+	 */
+	public void addBatch(Object... values) throws SQLException {
+		this.checkState();
+		Map<String, Object> row = new HashMap<>(values.length);
+		for (int i = 0; i < values.length; i++) {
+			row.put(Integer.toString(i + 1), values[i]);
+		}
+
+		int partition = this.partitionOf(row);
+		List<Map<String, Object>> chunk = this.chunks.get(partition);
+		chunk.add(row);
+		if (chunk.size() >= this.chunkSize) {
+			this.submit(partition);
+			if (this.partitionKey == 0) {
+				this.nextPartition = (partition + 1) % this.queues.size();
+			}
+		}
+	}
+
+	/**
+	 * Send the pending rows and wait until every row added so far is committed.
+	 *
+	 * @return The number of updates of all the rows committed so far
+	 * @throws SQLException if the writer is closed or a chunk has failed
+	 */
+	public long flush() throws SQLException {
+		this.checkState();
+		for (int i = 0; i < this.chunks.size(); i++) {
+			if (!this.chunks.get(i).isEmpty()) {
+				this.submit(i);
+			}
+		}
+		synchronized (this.lock) {
+			while (this.pending > 0) {
+				try {
+					this.lock.wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new SQLException("Interrupted while waiting for the bulk writer", e);
+				}
+			}
+		}
+		this.checkState();
+		return this.updateCount.get();
+	}
+
+	/**
+	 * @return The number of updates (nodes created and deleted) of the chunks committed so far
+	 */
+	public long getUpdateCount() {
+		return this.updateCount.get();
+	}
+
+	/**
+	 * @return The number of chunks executed again after a transient error
+	 */
+	public long getRetryCount() {
+		return this.retryCount.get();
+	}
+
+	/**
+	 * Flush the pending rows, then stop the sessions.
+	 *
+	 * @throws SQLException if a chunk has failed
+	 */
+	@Override public void close() throws SQLException {
+		if (this.closed) {
+			return;
+		}
+		try {
+			if (this.failure.get() == null) {
+				this.flush();
+			}
+		} finally {
+			this.closed = true;
+			for (BlockingQueue<List<Map<String, Object>>> queue : this.queues) {
+				queue.clear();
+				queue.offer(END);
+			}
+			this.workers.shutdown();
+			try {
+				this.workers.awaitTermination(1, TimeUnit.MINUTES);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		this.checkFailure();
+	}
+
+	public boolean isClosed() {
+		return this.closed;
+	}
+
+	private int partitionOf(Map<String, Object> row) {
+		if (this.partitionKey == 0) {
+			return this.nextPartition;
+		}
+		Object key = row.get(Integer.toString(this.partitionKey));
+		return key == null ? 0 : (key.hashCode() & Integer.MAX_VALUE) % this.queues.size();
+	}
+
+	private void submit(int partition) throws SQLException {
+		List<Map<String, Object>> chunk = this.chunks.set(partition, new ArrayList<Map<String, Object>>(this.chunkSize));
+		synchronized (this.lock) {
+			this.pending++;
+		}
+		try {
+			this.queues.get(partition).put(chunk);
+		} catch (InterruptedException e) {
+			this.done();
+			Thread.currentThread().interrupt();
+			throw new SQLException("Interrupted while waiting for the bulk writer", e);
+		}
+	}
+
+	private void done() {
+		synchronized (this.lock) {
+			this.pending--;
+			this.lock.notifyAll();
+		}
+	}
+
+	private void checkState() throws SQLException {
+		if (this.closed) {
+			throw new SQLException("Bulk writer already closed");
+		}
+		this.checkFailure();
+	}
+
+	private void checkFailure() throws SQLException {
+		Exception e = this.failure.get();
+		if (e != null) {
+			throw new SQLException("Bulk write failed: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Execute a chunk in one transaction, again after a transient error up to the max retries.
+	 */
+	private void execute(Session session, List<Map<String, Object>> chunk) throws InterruptedException {
+		for (int attempt = 0; ; attempt++) {
+			try {
+				this.updateCount.addAndGet(this.executeInTransaction(session, chunk));
+				return;
+			} catch (TransientException e) {
+				if (attempt >= this.maxRetries) {
+					throw e;
+				}
+				this.retryCount.incrementAndGet();
+				LOGGER.log(Level.FINE, "Retrying a bulk chunk after a transient error", e);
+				Thread.sleep(RETRY_DELAY << attempt);
+			}
+		}
+	}
+
+	private long executeInTransaction(Session session, List<Map<String, Object>> chunk) {
+		long count = 0;
+		try (Transaction transaction = session.beginTransaction()) {
+			if (this.unwind) {
+				count = updateCount(transaction.run(this.statement, Collections.<String, Object>singletonMap(BATCH_ROWS, chunk)));
+			} else {
+				// send every row before reading any result
+				List<StatementResult> results = new ArrayList<>(chunk.size());
+				for (Map<String, Object> row : chunk) {
+					results.add(transaction.run(this.statement, row));
+				}
+				for (StatementResult result : results) {
+					count += updateCount(result);
+				}
+			}
+			transaction.success();
+		}
+		return count;
+	}
+
+	private static int updateCount(StatementResult result) {
+		SummaryCounters counters = result.consume().counters();
+		return counters.nodesCreated() + counters.nodesDeleted();
+	}
+
+	/**
+	 * Takes the chunks of one queue and executes them on its own session.
+	 * After a failure, chunks are only taken to release the threads blocked in <code>addBatch</code>.
+	 */
+	private class Worker implements Runnable {
+
+		private final BlockingQueue<List<Map<String, Object>>> queue;
+
+		Worker(BlockingQueue<List<Map<String, Object>>> queue) {
+			this.queue = queue;
+		}
+
+		@Override public void run() {
+			Session session = null;
+			try {
+				session = driver.session(AccessMode.WRITE);
+			} catch (Exception e) {
+				failure.compareAndSet(null, e);
+			}
+			try {
+				while (true) {
+					List<Map<String, Object>> chunk = this.queue.take();
+					if (chunk == END) {
+						return;
+					}
+					try {
+						if (failure.get() == null) {
+							execute(session, chunk);
+						}
+					} catch (InterruptedException e) {
+						failure.compareAndSet(null, e);
+						Thread.currentThread().interrupt();
+					} catch (Exception e) {
+						failure.compareAndSet(null, e);
+					} finally {
+						done();
+					}
+				}
+			} catch (InterruptedException e) {
+				failure.compareAndSet(null, e);
+				Thread.currentThread().interrupt();
+			} finally {
+				if (session != null) {
+					session.close();
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 18/10/26
+ */
+package org.neo4j.jdbc.bolt.cache;
+
+import org.neo4j.driver.v1.AuthToken;
+import org.neo4j.driver.v1.Config;
+import org.neo4j.driver.v1.Driver;
+import org.neo4j.driver.v1.GraphDatabase;
+import org.neo4j.jdbc.utils.TimeLimitedCodeBlock;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Process-wide, reference-counted registry of Bolt drivers.
+ * Each JDBC connection acquires the driver matching its {@link BoltDriverCacheKey} and releases it when closed,
+ * so connections sharing url, credentials and configuration also share sockets and TLS sessions.
+ * A driver is closed once it has no more references and it has been idle for longer than its idle timeout,
+ * checked on the shared timer thread.
+ * Drivers are built outside of the cache lock: connecting to a slow server doesn't hold the connections to the others.
+ *
+ * @author AgileLARUS
+ * @since 3.2.0
+ */
+public class BoltDriverCache {
+
+	private static final Logger LOGGER = Logger.getLogger(BoltDriverCache.class.getName());
+
+	private static final BoltDriverCache INSTANCE = new BoltDriverCache();
+
+	private final Map<BoltDriverCacheKey, Entry> entries  = new HashMap<>();
+	private final Map<Driver, Entry>             byDriver = new IdentityHashMap<>();
+
+	BoltDriverCache() {
+	}
+
+	/**
+	 * @return the JVM wide cache
+	 */
+	public static BoltDriverCache getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Get the driver for the given key, creating it if needed, and increment its reference count.
+	 * Every call must be balanced by a call to {@link #release(Driver)}.
+	 * The idle timeout is the one of the call that created the driver: it's fixed by the first caller for a key until the driver is closed.
+	 *
+	 * @param key         The identity of the driver
+	 * @param boltUrl     The url used to build a new driver
+	 * @param authToken   The credentials used to build a new driver
+	 * @param config      The configuration used to build a new driver
+	 * @param idleTimeout How long (in milliseconds) an unreferenced driver is kept open, 0 to close it as soon as it is released
+	 * @return the shared driver
+	 */
+	public Driver acquire(BoltDriverCacheKey key, String boltUrl, AuthToken authToken, Config config, long idleTimeout) {
+		Entry entry;
+		boolean creator = false;
+		synchronized (this) {
+			entry = this.entries.get(key);
+			if (entry == null) {
+				entry = new Entry(key, idleTimeout);
+				this.entries.put(key, entry);
+				creator = true;
+			}
+			entry.references++;
+		}
+
+		if (creator) {
+			try {
+				Driver driver = GraphDatabase.driver(boltUrl, authToken, config);
+				synchronized (this) {
+					this.byDriver.put(driver, entry);
+				}
+				entry.created(driver, null);
+			} catch (RuntimeException e) {
+				entry.created(null, e);
+			}
+		}
+
+		try {
+			return entry.await();
+		} catch (RuntimeException e) {
+			synchronized (this) {
+				entry.references--;
+				if (this.entries.get(key) == entry) {
+					this.entries.remove(key);
+				}
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Decrement the reference count of a driver obtained by {@link #acquire(BoltDriverCacheKey, String, AuthToken, Config, long)}.
+	 * Drivers not managed by this cache are ignored.
+	 *
+	 * @param driver The driver to release
+	 */
+	public void release(Driver driver) {
+		final Entry entry;
+		synchronized (this) {
+			entry = this.byDriver.get(driver);
+			if (entry == null || entry.references == 0) {
+				return;
+			}
+			entry.references--;
+			if (entry.references > 0) {
+				return;
+			}
+			entry.idleSince = System.currentTimeMillis();
+		}
+		if (entry.idleTimeout > 0) {
+			TimeLimitedCodeBlock.schedule(new Runnable() {
+				@Override public void run() {
+					evictIdle(System.currentTimeMillis());
+				}
+			}, entry.idleTimeout, TimeUnit.MILLISECONDS);
+		} else {
+			this.evictIdle(System.currentTimeMillis());
+		}
+	}
+
+	/**
+	 * @param key The identity of the driver
+	 * @return the number of connections currently using the driver, 0 if it's not cached
+	 */
+	public synchronized int getReferenceCount(BoltDriverCacheKey key) {
+		Entry entry = this.entries.get(key);
+		return entry == null ? 0 : entry.references;
+	}
+
+	/**
+	 * @return the number of drivers currently cached
+	 */
+	public synchronized int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Remove the drivers unreferenced for longer than their idle timeout, then close them outside of the lock.
+	 *
+	 * @param now The current time in milliseconds
+	 */
+	void evictIdle(long now) {
+		List<Entry> evicted = new ArrayList<>();
+		synchronized (this) {
+			Iterator<Entry> iterator = this.entries.values().iterator();
+			while (iterator.hasNext()) {
+				Entry entry = iterator.next();
+				if (entry.references == 0 && entry.driver != null && now - entry.idleSince >= entry.idleTimeout) {
+					iterator.remove();
+					this.byDriver.remove(entry.driver);
+					evicted.add(entry);
+				}
+			}
+		}
+		for (Entry entry : evicted) {
+			try {
+				entry.driver.close();
+			} catch (Exception e) {
+				LOGGER.log(Level.FINE, "Unable to close the driver for " + entry.key, e);
+			}
+		}
+	}
+
+	private static class Entry {
+		private final BoltDriverCacheKey key;
+		private final long               idleTimeout;
+		private final CountDownLatch     ready = new CountDownLatch(1);
+		private volatile Driver           driver;
+		private volatile RuntimeException failure;
+		private int  references = 0;
+		private long idleSince  = 0;
+
+		private Entry(BoltDriverCacheKey key, long idleTimeout) {
+			this.key = key;
+			this.idleTimeout = Math.max(0, idleTimeout);
+		}
+
+		private void created(Driver driver, RuntimeException failure) {
+			this.driver = driver;
+			this.failure = failure;
+			this.ready.countDown();
+		}
+
+		/**
+		 * Wait for the driver being created by the first caller for the key.
+		 *
+		 * @return the driver
+		 */
+		private Driver await() {
+			boolean interrupted = false;
+			while (this.ready.getCount() > 0) {
+				try {
+					this.ready.await();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+			if (this.failure != null) {
+				throw this.failure;
+			}
+			return this.driver;
+		}
+	}
+}
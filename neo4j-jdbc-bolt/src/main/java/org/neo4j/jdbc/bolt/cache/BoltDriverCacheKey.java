@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 18/10/26
+ */
+package org.neo4j.jdbc.bolt.cache;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Identity of a shared Bolt driver: the normalized url, the credentials and every property that ends up in the driver <code>Config</code>.
+ * Two connections with equal keys can safely share the same <code>org.neo4j.driver.v1.Driver</code>.
+ *
+ * @author AgileLARUS
+ * @since 3.2.0
+ */
+public class BoltDriverCacheKey {
+
+	private final String              url;
+	private final String              user;
+	private final String              password;
+	private final Map<String, String> config;
+
+	/**
+	 * Build a key.
+	 *
+	 * @param url        The bolt url (without the JDBC prefix and the url parameters)
+	 * @param properties The connection properties
+	 * @param configKeys The names of the properties used to build the driver <code>Config</code>
+	 */
+	public BoltDriverCacheKey(String url, Properties properties, String... configKeys) {
+		this.url = normalizeUrl(url);
+		this.user = properties.getProperty("user");
+		this.password = properties.getProperty("password");
+
+		SortedMap<String, String> values = new TreeMap<>();
+		for (String configKey : configKeys) {
+			Object value = properties.get(configKey);
+			if (value != null) {
+				values.put(configKey, String.valueOf(value));
+			}
+		}
+		this.config = Collections.unmodifiableMap(values);
+	}
+
+	private static String normalizeUrl(String url) {
+		String normalized = url.trim().toLowerCase(Locale.ENGLISH);
+		while (normalized.endsWith("/")) {
+			normalized = normalized.substring(0, normalized.length() - 1);
+		}
+		return normalized;
+	}
+
+	/**
+	 * @return the normalized url
+	 */
+	public String getUrl() {
+		return url;
+	}
+
+	@Override public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		BoltDriverCacheKey that = (BoltDriverCacheKey) o;
+		return url.equals(that.url) && equalsNullable(user, that.user) && equalsNullable(password, that.password) && config.equals(that.config);
+	}
+
+	private static boolean equalsNullable(String a, String b) {
+		return a == null ? b == null : a.equals(b);
+	}
+
+	@Override public int hashCode() {
+		int result = url.hashCode();
+		result = 31 * result + (user != null ? user.hashCode() : 0);
+		result = 31 * result + (password != null ? password.hashCode() : 0);
+		result = 31 * result + config.hashCode();
+		return result;
+	}
+
+	@Override public String toString() {
+		return "BoltDriverCacheKey{url='" + url + "', user='" + user + "', config=" + config + "}";
+	}
+}
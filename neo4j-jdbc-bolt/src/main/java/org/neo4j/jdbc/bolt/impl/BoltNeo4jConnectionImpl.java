@@ -19,12 +19,19 @@
  */
 package org.neo4j.jdbc.bolt.impl;
 
+import org.neo4j.driver.v1.AccessMode;
+import org.neo4j.driver.v1.Driver;
 import org.neo4j.driver.v1.Session;
+import org.neo4j.driver.v1.StatementResult;
 import org.neo4j.driver.v1.Transaction;
 import org.neo4j.jdbc.Neo4jDatabaseMetaData;
 import org.neo4j.jdbc.Neo4jResultSet;
 import org.neo4j.jdbc.bolt.*;
+import org.neo4j.jdbc.bolt.bulk.BoltNeo4jBulkWriter;
+import org.neo4j.jdbc.bolt.cache.BoltDriverCache;
+import org.neo4j.jdbc.bolt.cache.BoltDriverCacheKey;
 import org.neo4j.jdbc.impl.Neo4jConnectionImpl;
+import org.neo4j.jdbc.utils.CypherClassification;
 import org.neo4j.jdbc.utils.Neo4jInvocationHandler;
 import org.neo4j.jdbc.utils.TimeLimitedCodeBlock;
 
@@ -33,8 +40,14 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -44,10 +57,35 @@ import java.util.logging.Logger;
  */
 public class BoltNeo4jConnectionImpl extends Neo4jConnectionImpl implements BoltNeo4jConnection {
 
+	private Driver      driver;
 	private Session     session;
+	private Session     readSession;
+	private Session     transactionSession;
 	private Transaction transaction;
+	private Transaction streamingTransaction;
+	private Session     streamingSession;
+	private boolean     streamingReadOnly;
+	private BoltRecordPrefetcher prefetcher;
+	private volatile String bookmark;
+	private BoltDriverCacheKey bookmarkScope;
+	private final AtomicLong roundTrips = new AtomicLong();
+	private final Map<String, List<String>> schemaPropertyKeys = new ConcurrentHashMap<>();
+	private volatile boolean transactionTerminated;
 	private boolean autoCommit = true;
 
+	public static final String STREAMING_KEY               = "streaming";
+	public static final String BATCH_UNWIND_KEY            = "batch.unwind";
+	public static final String BATCH_PIPELINE_KEY          = "batch.pipeline";
+	public static final String BATCH_PIPELINE_INFLIGHT_KEY = "batch.pipeline.inflight";
+	public static final String BOOKMARKS_KEY               = "bookmarks";
+	public static final String FLATTEN_SCHEMA_KEY          = "flatten.schema";
+
+	private static final int SCHEMA_SAMPLE = 1000;
+
+	private static final ThreadLocal<Map<BoltDriverCacheKey, String>> THREAD_BOOKMARKS = new ThreadLocal<>();
+
+	private static final int DEFAULT_BATCH_PIPELINE_INFLIGHT = 100;
+
 	private static final Logger LOGGER = Logger.getLogger(BoltNeo4jConnectionImpl.class.getName());
 
 	/**
@@ -60,6 +98,34 @@ public class BoltNeo4jConnectionImpl extends Neo4jConnectionImpl implements Bolt
 	public BoltNeo4jConnectionImpl(Session session, Properties properties, String url) {
 		super(properties, url, BoltNeo4jResultSet.DEFAULT_HOLDABILITY);
 		this.session = session;
+		this.bookmarkScope = new BoltDriverCacheKey(url == null ? "" : url, properties);
+	}
+
+	/**
+	 * Constructor with a shared Driver and Properties.
+	 * The connection opens its own session on the driver, and releases the driver to the {@link BoltDriverCache} when closed.
+	 *
+	 * @param driver     Bolt Driver shared between connections
+	 * @param properties Driver properties
+	 * @param url        Url used for this connection
+	 */
+	public BoltNeo4jConnectionImpl(Driver driver, Properties properties, String url) {
+		this(driver.session(), properties, url);
+		this.driver = driver;
+	}
+
+	/**
+	 * Constructor with a shared Driver, its key in the {@link BoltDriverCache} and Properties.
+	 * Bookmarks chained by thread are only shared with the connections opened on a driver with the same key.
+	 *
+	 * @param driver     Bolt Driver shared between connections
+	 * @param driverKey  The key of the driver in the cache
+	 * @param properties Driver properties
+	 * @param url        Url used for this connection
+	 */
+	public BoltNeo4jConnectionImpl(Driver driver, BoltDriverCacheKey driverKey, Properties properties, String url) {
+		this(driver, properties, url);
+		this.bookmarkScope = driverKey;
 	}
 
 	/**
@@ -73,29 +139,517 @@ public class BoltNeo4jConnectionImpl extends Neo4jConnectionImpl implements Bolt
 
 	public static BoltNeo4jConnection newInstance(Session session, Properties info, String url) {
 		BoltNeo4jConnection boltConnection = new BoltNeo4jConnectionImpl(session, info, url);
+		if (!BoltNeo4jConnectionImpl.hasDebug(info)) {
+			return boltConnection;
+		}
 		return (BoltNeo4jConnection) Proxy
 				.newProxyInstance(BoltNeo4jConnectionImpl.class.getClassLoader(), new Class[] { Connection.class, BoltNeo4jConnection.class },
 						new Neo4jInvocationHandler(boltConnection, BoltNeo4jConnectionImpl.hasDebug(info)));
 	}
 
+	public static BoltNeo4jConnection newInstance(Driver driver, BoltDriverCacheKey driverKey, Properties info, String url) {
+		BoltNeo4jConnection boltConnection = new BoltNeo4jConnectionImpl(driver, driverKey, info, url);
+		if (!BoltNeo4jConnectionImpl.hasDebug(info)) {
+			return boltConnection;
+		}
+		return (BoltNeo4jConnection) Proxy
+				.newProxyInstance(BoltNeo4jConnectionImpl.class.getClassLoader(), new Class<?>[] { Connection.class, BoltNeo4jConnection.class },
+						new Neo4jInvocationHandler(boltConnection, BoltNeo4jConnectionImpl.hasDebug(info)));
+	}
+
+	/**
+	 * Getter for the driver this connection's session has been opened on.
+	 *
+	 * @return the driver, <code>null</code> if the connection has been built on a bare session
+	 */
+	public Driver getDriver() {
+		return this.driver;
+	}
+
+	/**
+	 * Can a statement run on a new session of the driver, concurrently with the other statements of this connection ?
+	 *
+	 * @return true in auto-commit, when the connection has been opened through the driver
+	 * @throws SQLException if the connection is closed
+	 */
+	public boolean canRunInNewSession() throws SQLException {
+		this.checkClosed();
+		return this.autoCommit && this.driver != null;
+	}
+
+	/**
+	 * Run a statement in its own auto-commit transaction, on a new session of the driver.
+	 * The session is opened in READ access mode when the statement is routed to the readers.
+	 * The result is buffered before the session is closed.
+	 *
+	 * @param statement      The statement
+	 * @param parameters     Its parameters, may be null
+	 * @param classification The classification of the statement
+	 * @return the buffered result
+	 * @throws SQLException if the execution fails
+	 */
+	public StatementResult runInNewSession(String statement, Map<String, Object> parameters, CypherClassification classification) throws SQLException {
+		return this.runInNewSession(statement, parameters, classification, this.getThreadBookmarks());
+	}
+
+	/**
+	 * Run a statement in its own auto-commit transaction, on a new session of the driver, from another thread than the caller's:
+	 * the bookmarks chained by thread are those of the caller, obtained by {@link #getThreadBookmarks()} before handing the execution over.
+	 *
+	 * @param statement       The statement
+	 * @param parameters      Its parameters, may be null
+	 * @param classification  The classification of the statement
+	 * @param threadBookmarks The bookmarks of the calling thread, null if they aren't chained by thread
+	 * @return the buffered result
+	 * @throws SQLException if the execution fails
+	 */
+	public StatementResult runInNewSession(String statement, Map<String, Object> parameters, CypherClassification classification,
+			Map<BoltDriverCacheKey, String> threadBookmarks) throws SQLException {
+		AccessMode mode = this.isReadRouted(classification) ? AccessMode.READ : AccessMode.WRITE;
+		String lastBookmark = this.getCurrentBookmark(threadBookmarks);
+		try (Session newSession = lastBookmark == null ? this.driver.session(mode) : this.driver.session(mode, lastBookmark)) {
+			StatementResult result;
+			try (Transaction transaction = newSession.beginTransaction()) {
+				result = parameters == null ? transaction.run(statement) : transaction.run(statement, parameters);
+				transaction.success();
+			}
+			this.captureBookmark(newSession, threadBookmarks);
+			return result;
+		} catch (Exception e) {
+			throw new SQLException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Is the connection opened on a <code>bolt+routing</code> driver, able to send reads to the followers and read replicas of the cluster ?
+	 *
+	 * @return true if reads may be routed on a READ access mode session
+	 */
+	public boolean isRouting() {
+		return this.driver != null && this.getUrl() != null && this.getUrl().contains(BoltDriver.JDBC_BOLT_ROUTING_PREFIX);
+	}
+
+	/**
+	 * Does an auto-commit statement run on the READ access mode session ?
+	 * On a routing connection this is the case for every statement when the connection is read only, and for read only statements otherwise.
+	 *
+	 * @param classification The classification of the statement
+	 * @return true if the statement must run on the session returned by {@link #getReadSession()}
+	 * @throws SQLException if the connection is closed
+	 */
+	public boolean isReadRouted(CypherClassification classification) throws SQLException {
+		return this.isRouting() && (this.isReadOnly() || classification.isReadOnly());
+	}
+
+	/**
+	 * Getter for the READ access mode session of a routing connection, opened on first use and kept until the connection is closed.
+	 *
+	 * @return the read session, the internal session if the connection isn't routing
+	 */
+	public Session getReadSession() {
+		this.stopPrefetching();
+		if (!this.isRouting()) {
+			return this.session;
+		}
+		if (this.readSession == null) {
+			this.readSession = this.driver.session(AccessMode.READ);
+		}
+		return this.readSession;
+	}
+
+	/**
+	 * Begin an explicit transaction, on the read session if the connection is read only.
+	 * Changing the read only mode takes effect on the next transaction, the current one stays on its session.
+	 */
+	private Transaction beginTransaction() throws SQLException {
+		this.transactionSession = this.awaitBookmark(this.isRouting() && this.isReadOnly() ? this.getReadSession() : this.session);
+		return this.transactionSession.beginTransaction();
+	}
+
+	/*------------------------------*/
+	/*          Bookmarks           */
+	/*------------------------------*/
+
+	/**
+	 * Getter for the bookmark of the last transaction committed through this connection.
+	 * Handed to {@link #setBookmark(String)} of another connection, it makes that connection read what has been written here.
+	 *
+	 * @return the last bookmark, <code>null</code> if none is known yet
+	 */
+	public String getLastBookmark() {
+		return this.bookmark;
+	}
+
+	/**
+	 * Make the next transactions of this connection wait until the server has applied the transaction of the bookmark.
+	 *
+	 * @param bookmark A bookmark returned by {@link #getLastBookmark()}
+	 */
+	public void setBookmark(String bookmark) {
+		this.bookmark = bookmark;
+	}
+
+	/**
+	 * Are bookmarks chained between the connections used by the same thread ?
+	 *
+	 * @return true if the <code>bookmarks</code> property is set to <code>thread</code>
+	 */
+	public boolean isThreadBookmarks() {
+		return "thread".equalsIgnoreCase(this.getProperties().getProperty(BOOKMARKS_KEY));
+	}
+
+	/**
+	 * Can an auto-commit statement run as an implicit transaction, without the BEGIN and COMMIT messages of an explicit one ?
+	 * Implicit transactions don't give a bookmark in return nor wait for one, so writes keep explicit transactions
+	 * when the bookmarks matter, that is on a routing connection or when they are chained by thread.
+	 *
+	 * @param session        The session the statement runs on
+	 * @param classification The classification of the statement
+	 * @return true if the statement can run on the session directly
+	 */
+	public boolean canRunImplicitly(Session session, CypherClassification classification) {
+		if (this.getBookmarkFor(session) != null) {
+			return false;
+		}
+		return classification.isReadOnly() || !(this.isRouting() || this.isThreadBookmarks());
+	}
+
+	/**
+	 * Count round trips to the server made by the executions of this connection.
+	 *
+	 * @param count The number of round trips
+	 */
+	public void countRoundTrips(int count) {
+		this.roundTrips.addAndGet(count);
+	}
+
+	/**
+	 * Get the number of round trips to the server made by the executions of this connection:
+	 * one for an implicit transaction or a query of an open transaction, two for an explicit auto-commit transaction, one per commit.
+	 *
+	 * @return the number of round trips since the connection has been opened
+	 */
+	public long getRoundTripCount() {
+		return this.roundTrips.get();
+	}
+
+	/**
+	 * Forget the bookmarks chained between the connections of the current thread, e.g. when a pooled thread starts serving a new request.
+	 */
+	public static void clearThreadBookmark() {
+		THREAD_BOOKMARKS.remove();
+	}
+
+	/**
+	 * Get the bookmarks chained by the calling thread, to hand them with an execution to another thread.
+	 * They are shared by the threads the executions run on, so they are kept in a concurrent map.
+	 *
+	 * @return the bookmarks of the calling thread, null if bookmarks aren't chained by thread
+	 */
+	public Map<BoltDriverCacheKey, String> getThreadBookmarks() {
+		if (!this.isThreadBookmarks()) {
+			return null;
+		}
+		Map<BoltDriverCacheKey, String> threadBookmarks = THREAD_BOOKMARKS.get();
+		if (threadBookmarks == null) {
+			threadBookmarks = new ConcurrentHashMap<>();
+			THREAD_BOOKMARKS.set(threadBookmarks);
+		}
+		return threadBookmarks;
+	}
+
+	private String getCurrentBookmark() {
+		return this.getCurrentBookmark(this.isThreadBookmarks() ? THREAD_BOOKMARKS.get() : null);
+	}
+
+	private String getCurrentBookmark(Map<BoltDriverCacheKey, String> threadBookmarks) {
+		String threadBookmark = threadBookmarks == null ? null : threadBookmarks.get(this.bookmarkScope);
+		return threadBookmark != null ? threadBookmark : this.bookmark;
+	}
+
+	/**
+	 * Get the bookmark a transaction beginning on a session must wait for.
+	 *
+	 * @param session The session the transaction begins on
+	 * @return the bookmark, <code>null</code> if the session already knows it or no bookmark is known
+	 */
+	public String getBookmarkFor(Session session) {
+		String current = this.getCurrentBookmark();
+		return current == null || current.equals(session.lastBookmark()) ? null : current;
+	}
+
+	/**
+	 * Get the session a transaction must begin on to wait for the bookmark returned by {@link #getBookmarkFor(Session)}.
+	 * A session waits for its own last bookmark, any other one is handed to a new session of the driver, opened on the bookmark,
+	 * which replaces the given session in the connection.
+	 * A connection opened on a session, without the driver, only waits for the bookmarks of its session.
+	 *
+	 * @param session A session of the connection
+	 * @return the session to begin the transaction on, the given one if it already waits for the bookmark
+	 */
+	public Session awaitBookmark(Session session) {
+		this.stopPrefetching();
+		String waitFor = this.getBookmarkFor(session);
+		if (waitFor == null || this.driver == null || (session != this.session && session != this.readSession)) {
+			return session;
+		}
+		Session renewed = this.driver.session(session == this.readSession ? AccessMode.READ : AccessMode.WRITE, waitFor);
+		if (session == this.session) {
+			this.session = renewed;
+		} else {
+			this.readSession = renewed;
+		}
+		if (session == this.transactionSession) {
+			this.transactionSession = renewed;
+		}
+		session.close();
+		return renewed;
+	}
+
+	/**
+	 * Keep the bookmark of the last transaction committed on a session, sharing it with the thread if bookmarks are chained by thread.
+	 * The thread keeps one bookmark per driver key, so that the chains of different databases don't mix.
+	 *
+	 * @param session The session a transaction has just been committed on
+	 */
+	public void captureBookmark(Session session) {
+		this.captureBookmark(session, this.getThreadBookmarks());
+	}
+
+	private void captureBookmark(Session session, Map<BoltDriverCacheKey, String> threadBookmarks) {
+		String last = session.lastBookmark();
+		if (last != null) {
+			this.bookmark = last;
+			if (threadBookmarks != null) {
+				threadBookmarks.put(this.bookmarkScope, last);
+			}
+		}
+	}
+
+	/**
+	 * Are the flattened columns of nodes and relationships discovered from the property keys of their labels and types,
+	 * instead of sampling the records of the result ?
+	 *
+	 * @return true if the <code>flatten.schema</code> property is set to true and the connection has been opened through the driver
+	 */
+	public boolean isFlattenSchema() {
+		return this.driver != null && "true".equalsIgnoreCase(this.getProperties().getProperty(FLATTEN_SCHEMA_KEY, "false"));
+	}
+
+	/**
+	 * Get the property keys of the nodes with a label, or of the relationships with a type, sampled once on a new session of the driver
+	 * and kept until the connection is closed.
+	 *
+	 * @param node True for a node label, false for a relationship type
+	 * @param name The label or the type
+	 * @return the property keys, sorted
+	 * @throws SQLException if the keys can't be read
+	 */
+	public List<String> getSchemaPropertyKeys(boolean node, String name) throws SQLException {
+		String cacheKey = (node ? ":" : "-") + name;
+		List<String> keys = this.schemaPropertyKeys.get(cacheKey);
+		if (keys == null) {
+			String entity = "`" + name.replace("`", "``") + "`";
+			String query = "MATCH " + (node ? "(e:" + entity + ")" : "()-[e:" + entity + "]->()") + " WITH e LIMIT " + SCHEMA_SAMPLE
+					+ " UNWIND keys(e) AS key RETURN DISTINCT key ORDER BY key";
+			keys = new ArrayList<>();
+			StatementResult result = this.runInNewSession(query, null, CypherClassification.classify(query));
+			while (result.hasNext()) {
+				keys.add(result.next().get(0).asString());
+			}
+			keys = Collections.unmodifiableList(keys);
+			this.schemaPropertyKeys.put(cacheKey, keys);
+		}
+		return keys;
+	}
+
+	/**
+	 * Create a writer executing the rows of a statement concurrently on several sessions of this connection's driver.
+	 * Rows are executed in chunks of <code>batch.size</code> rows (1000 by default), as <code>UNWIND</code> if <code>batch.unwind</code> is set.
+	 * The writer must be closed before this connection.
+	 *
+	 * @param cypher   The statement, with <code>?</code> placeholders
+	 * @param sessions The number of concurrent sessions
+	 * @return the writer
+	 * @throws SQLException if the connection is closed, read only, or hasn't been opened through the driver
+	 */
+	public BoltNeo4jBulkWriter createBulkWriter(String cypher, int sessions) throws SQLException {
+		this.checkClosed();
+		this.checkReadOnly(cypher);
+		if (this.driver == null) {
+			throw new SQLException("A bulk writer needs a connection opened through the driver");
+		}
+		int chunkSize = this.getBatchSize() > 0 ? this.getBatchSize() : BoltNeo4jBulkWriter.DEFAULT_CHUNK_SIZE;
+		return new BoltNeo4jBulkWriter(this.driver, cypher, sessions, chunkSize, BoltNeo4jBulkWriter.DEFAULT_QUEUE_CAPACITY,
+				BoltNeo4jBulkWriter.DEFAULT_MAX_RETRIES, this.isBatchUnwind());
+	}
+
 	/**
 	 * Getter for transaction.
 	 *
 	 * @return the transaction
 	 */
 	@Override public Transaction getTransaction() {
+		this.stopPrefetching();
+		if (this.transactionTerminated && !this.autoCommit && this.transaction != null) {
+			this.restartTransaction();
+		}
 		return this.transaction;
 	}
 
+	/**
+	 * Interrupt the query running on the session, can be called from another thread.
+	 * The open transaction is terminated and a new one begins on the next use of the connection.
+	 */
+	@SuppressWarnings("deprecation") public void reset() {
+		this.transactionTerminated = true;
+		// Session.reset() has no replacement in this driver version, it's the only way to stop a query running on another thread
+		this.session.reset();
+		if (this.readSession != null) {
+			this.readSession.reset();
+		}
+	}
+
+	private void restartTransaction() {
+		this.transactionTerminated = false;
+		try {
+			this.transaction.close();
+		} catch (Exception e) {
+			LOGGER.log(Level.FINE, "Unable to close the terminated transaction", e);
+		}
+		this.transactionSession = this.awaitBookmark(this.transactionSession != null ? this.transactionSession : this.session);
+		this.transaction = this.transactionSession.beginTransaction();
+	}
+
+	/**
+	 * Set the prefetcher reading the records of the last result ahead, stopping the previous one.
+	 * The prefetcher is stopped as soon as the session or the transaction of the connection is used again.
+	 *
+	 * @param prefetcher The prefetcher of the last result
+	 */
+	public void setPrefetcher(BoltRecordPrefetcher prefetcher) {
+		this.stopPrefetching();
+		this.prefetcher = prefetcher;
+	}
+
+	private void stopPrefetching() {
+		if (this.prefetcher != null) {
+			this.prefetcher.stop();
+			this.prefetcher = null;
+		}
+	}
+
 	/**
 	 * Getter for session.
 	 *
 	 * @return the internal session
 	 */
 	@Override public Session getSession() {
+		this.stopPrefetching();
 		return this.session;
 	}
 
+	/**
+	 * Is the streaming mode enabled ?
+	 * In streaming mode the auto-commit transaction of a query stays open until its ResultSet is exhausted or closed,
+	 * so that records are pulled from the server while iterating instead of being buffered in memory.
+	 *
+	 * @return true if the <code>streaming</code> property is set to true
+	 */
+	public boolean isStreaming() {
+		return "true".equalsIgnoreCase(this.getProperties().getProperty(STREAMING_KEY, "false"));
+	}
+
+	/**
+	 * Are prepared statement batches sent as a single <code>UNWIND</code> execution ?
+	 *
+	 * @return true if the <code>batch.unwind</code> property is set to true
+	 */
+	public boolean isBatchUnwind() {
+		return "true".equalsIgnoreCase(this.getProperties().getProperty(BATCH_UNWIND_KEY, "false"));
+	}
+
+	/**
+	 * Are statement batches pipelined, sending every query before reading any result ?
+	 *
+	 * @return true if the <code>batch.pipeline</code> property is set to true
+	 */
+	public boolean isBatchPipeline() {
+		return "true".equalsIgnoreCase(this.getProperties().getProperty(BATCH_PIPELINE_KEY, "false"));
+	}
+
+	/**
+	 * Get the maximum number of pipelined queries waiting for their result.
+	 *
+	 * @return the <code>batch.pipeline.inflight</code> property, 100 by default
+	 */
+	public int getBatchPipelineInFlight() {
+		String inFlight = this.getProperties().getProperty(BATCH_PIPELINE_INFLIGHT_KEY);
+		return inFlight == null ? DEFAULT_BATCH_PIPELINE_INFLIGHT : Math.max(1, Integer.parseInt(inFlight));
+	}
+
+	/**
+	 * Begin the auto-commit transaction of a streamed query.
+	 * Any previous streaming transaction is committed first, buffering the records not yet read.
+	 *
+	 * @param session  The session the query runs on
+	 * @param readOnly If the query only reads the graph, so its transaction can be terminated instead of committed
+	 * @return the new transaction
+	 */
+	public Transaction beginStreamingTransaction(Session session, boolean readOnly) {
+		this.closeStreamingTransaction();
+		this.streamingSession = this.awaitBookmark(session);
+		this.streamingReadOnly = readOnly;
+		this.streamingTransaction = this.streamingSession.beginTransaction();
+		return this.streamingTransaction;
+	}
+
+	/**
+	 * Terminate the read-only transaction of the last streamed query, without reading the records left:
+	 * the session is reset so the server discards them, then the terminated transaction is closed.
+	 *
+	 * @param transaction The transaction of the streamed query
+	 * @return false if it isn't the open read-only streaming transaction, whose records must then be consumed before its commit
+	 */
+	@SuppressWarnings("deprecation") public boolean terminateStreamingTransaction(Transaction transaction) {
+		if (transaction == null || transaction != this.streamingTransaction || !this.streamingReadOnly || !transaction.isOpen()) {
+			return false;
+		}
+		this.stopPrefetching();
+		this.transactionTerminated = true;
+		// Session.reset() has no replacement in this driver version, it's the only way to discard the records the server still streams
+		this.streamingSession.reset();
+		this.closeStreamingTransaction();
+		return true;
+	}
+
+	/**
+	 * Commit the transaction of the last streamed query, if still open, so the session can be used again.
+	 */
+	public void closeStreamingTransaction() {
+		this.stopPrefetching();
+		if (this.streamingTransaction != null) {
+			try {
+				if (this.streamingTransaction.isOpen()) {
+					this.streamingTransaction.close();
+					this.countRoundTrips(1);
+					this.captureBookmark(this.streamingSession);
+				}
+			} catch (RuntimeException e) {
+				if (!this.transactionTerminated) {
+					throw e;
+				}
+				LOGGER.log(Level.FINE, "Unable to close the terminated streaming transaction", e);
+			} finally {
+				this.streamingTransaction = null;
+				this.streamingSession = null;
+				if (this.autoCommit) {
+					this.transactionTerminated = false;
+				}
+			}
+		}
+	}
+
 	@Override public Neo4jDatabaseMetaData getMetaData() throws SQLException {
 		return new BoltNeo4jDatabaseMetaData(this);
 	}
@@ -106,6 +660,7 @@ public class BoltNeo4jConnectionImpl extends Neo4jConnectionImpl implements Bolt
 
 	@Override public void setAutoCommit(boolean autoCommit) throws SQLException {
 		if (this.autoCommit != autoCommit) {
+			this.closeStreamingTransaction();
 			if (this.transaction != null && !this.autoCommit) {
 				this.commit();
 				this.transaction.close();
@@ -113,9 +668,10 @@ public class BoltNeo4jConnectionImpl extends Neo4jConnectionImpl implements Bolt
 
 			if (this.autoCommit) {
 				//Simply restart the transaction
-				this.transaction = this.session.beginTransaction();
+				this.transaction = this.beginTransaction();
 			}
 
+			this.transactionTerminated = false;
 			this.autoCommit = autoCommit;
 		}
 	}
@@ -131,9 +687,16 @@ public class BoltNeo4jConnectionImpl extends Neo4jConnectionImpl implements Bolt
 		if (this.transaction == null) {
 			throw new SQLException("The transaction is null");
 		}
+		this.stopPrefetching();
+		if (this.transactionTerminated) {
+			this.restartTransaction();
+			throw new SQLException("The transaction has been terminated by a cancelled query and rolled back");
+		}
 		this.transaction.success();
 		this.transaction.close();
-		this.transaction = this.session.beginTransaction();
+		this.countRoundTrips(1);
+		this.captureBookmark(this.transactionSession != null ? this.transactionSession : this.session);
+		this.transaction = this.beginTransaction();
 	}
 
 	@Override public void rollback() throws SQLException {
@@ -142,6 +705,11 @@ public class BoltNeo4jConnectionImpl extends Neo4jConnectionImpl implements Bolt
 		if (this.transaction == null) {
 			throw new SQLException("The transaction is null");
 		}
+		this.stopPrefetching();
+		if (this.transactionTerminated) {
+			this.restartTransaction();
+			return;
+		}
 		this.transaction.failure();
 	}
 
@@ -151,7 +719,7 @@ public class BoltNeo4jConnectionImpl extends Neo4jConnectionImpl implements Bolt
 
 	@Override public Statement createStatement() throws SQLException {
 		if (this.transaction == null && !this.autoCommit) {
-			this.transaction = this.session.beginTransaction();
+			this.transaction = this.beginTransaction();
 		}
 		return createStatement(Neo4jResultSet.TYPE_FORWARD_ONLY, Neo4jResultSet.CONCUR_READ_ONLY, Neo4jResultSet.CLOSE_CURSORS_AT_COMMIT);
 	}
@@ -199,10 +767,23 @@ public class BoltNeo4jConnectionImpl extends Neo4jConnectionImpl implements Bolt
 	@Override public void close() throws SQLException {
 		try {
 			if (!this.isClosed()) {
+				this.closeStreamingTransaction();
+				if (this.readSession != null && this.readSession.isOpen()) {
+					this.readSession.close();
+				}
 				session.close();
 			}
 		} catch (Exception e) {
 			throw new SQLException("A database access error has occurred: " + e.getMessage());
+		} finally {
+			this.releaseDriver();
+		}
+	}
+
+	private void releaseDriver() {
+		if (this.driver != null) {
+			BoltDriverCache.getInstance().release(this.driver);
+			this.driver = null;
 		}
 	}
 
@@ -216,11 +797,14 @@ public class BoltNeo4jConnectionImpl extends Neo4jConnectionImpl implements Bolt
 		if (this.isClosed()) {
 			return false;
 		}
+		if (this.isRecentlyAlive()) {
+			return true;
+		}
 
 		Runnable r = new Runnable() {
 			@Override public void run() {
 				Session s = getSession();
-				Transaction tr = getTransaction();
+				Transaction tr = getTransaction() != null ? getTransaction() : streamingTransaction;
 				if (tr != null && tr.isOpen()) {
 					tr.run(FASTEST_STATEMENT);
 				} else {
@@ -236,6 +820,7 @@ public class BoltNeo4jConnectionImpl extends Neo4jConnectionImpl implements Bolt
 			return false;
 		}
 
+		this.markAlive();
 		return true;
 	}
 
@@ -0,0 +1,326 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 18/10/26
+ */
+package org.neo4j.jdbc.bolt.pool;
+
+import javax.sql.ConnectionEvent;
+import javax.sql.ConnectionEventListener;
+import javax.sql.ConnectionPoolDataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A bounded pool of {@link BoltNeo4jPooledConnection}.
+ * <ul>
+ * <li>waiting threads are served in FIFO order, up to the acquisition timeout;</li>
+ * <li>idle connections are reused most-recently-used first, so that the coldest ones can be evicted;</li>
+ * <li>connections idle for too long or older than their max lifetime are closed, keeping at least the min size open;</li>
+ * <li>borrowed connections can be validated with a cheap liveness check.</li>
+ * </ul>
+ *
+ * @author AgileLARUS
+ * @since 3.2.0
+ */
+public class BoltNeo4jConnectionPool {
+
+	private static final Logger LOGGER = Logger.getLogger(BoltNeo4jConnectionPool.class.getName());
+
+	private static final ScheduledExecutorService HOUSEKEEPER = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+		@Override public Thread newThread(Runnable r) {
+			Thread thread = new Thread(r, "neo4j-jdbc-pool-housekeeper");
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+
+	private final ConnectionPoolDataSource dataSource;
+	private final int                      minSize;
+	private final int                      maxSize;
+	private final long                     maxIdleTime;
+	private final long                     maxLifetime;
+	private final long                     acquisitionTimeout;
+	private final int                      validationTimeout;
+
+	private final Semaphore                                      permits;
+	private final LinkedBlockingDeque<Entry>                     idle    = new LinkedBlockingDeque<>();
+	private final Map<BoltNeo4jPooledConnection, Entry>          entries = new ConcurrentHashMap<>();
+	private final AtomicInteger                                  active  = new AtomicInteger();
+	private final AtomicLong                                     acquisitions = new AtomicLong();
+	private final AtomicLong                                     timeouts     = new AtomicLong();
+	private final AtomicLongArray                                waitTimeHistogram = new AtomicLongArray(PoolStatistics.WAIT_TIME_BUCKETS.length + 1);
+	private final ConnectionEventListener                        listener;
+	private final ScheduledFuture<?>                             housekeeping;
+
+	private volatile boolean closed = false;
+
+	/**
+	 * Create a pool.
+	 *
+	 * @param dataSource         Source of the physical connections
+	 * @param minSize            Number of connections kept open even if idle
+	 * @param maxSize            Maximum number of open connections
+	 * @param maxIdleTime        Milliseconds after which an idle connection is closed, 0 to never close them
+	 * @param maxLifetime        Milliseconds after which a connection is closed once given back, 0 for no limit
+	 * @param acquisitionTimeout Milliseconds to wait for a connection before failing, 0 to wait forever
+	 * @param validationTimeout  Seconds given to the liveness check on borrow, a negative value disables the check
+	 */
+	public BoltNeo4jConnectionPool(ConnectionPoolDataSource dataSource, int minSize, int maxSize, long maxIdleTime, long maxLifetime, long acquisitionTimeout,
+			int validationTimeout) {
+		if (maxSize <= 0 || minSize < 0 || minSize > maxSize) {
+			throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+		}
+		this.dataSource = dataSource;
+		this.minSize = minSize;
+		this.maxSize = maxSize;
+		this.maxIdleTime = maxIdleTime;
+		this.maxLifetime = maxLifetime;
+		this.acquisitionTimeout = acquisitionTimeout;
+		this.validationTimeout = validationTimeout;
+		this.permits = new Semaphore(maxSize, true);
+		this.listener = new PoolListener();
+
+		long period = this.housekeepingPeriod();
+		this.housekeeping = HOUSEKEEPER.scheduleWithFixedDelay(new Runnable() {
+			@Override public void run() {
+				housekeep();
+			}
+		}, period, period, TimeUnit.MILLISECONDS);
+	}
+
+	private long housekeepingPeriod() {
+		long period = 30000;
+		if (this.maxIdleTime > 0) {
+			period = Math.min(period, this.maxIdleTime);
+		}
+		if (this.maxLifetime > 0) {
+			period = Math.min(period, this.maxLifetime);
+		}
+		return Math.max(period, 100);
+	}
+
+	/**
+	 * Borrow a connection, waiting at most the acquisition timeout.
+	 * Closing the returned connection gives it back to the pool.
+	 *
+	 * @return a logical connection
+	 * @throws SQLException if the pool is closed, the timeout expires or a new connection can't be opened
+	 */
+	public Connection borrow() throws SQLException {
+		this.checkClosed();
+		long start = System.nanoTime();
+		try {
+			if (this.acquisitionTimeout > 0) {
+				if (!this.permits.tryAcquire(this.acquisitionTimeout, TimeUnit.MILLISECONDS)) {
+					this.timeouts.incrementAndGet();
+					throw new SQLTimeoutException("Timeout of " + this.acquisitionTimeout + "ms expired while waiting for a connection");
+				}
+			} else {
+				this.permits.acquire();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLException("Interrupted while waiting for a connection", e);
+		}
+		this.recordWaitTime(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+		try {
+			this.checkClosed();
+			Entry entry;
+			while ((entry = this.idle.pollFirst()) != null) {
+				if (this.isUsable(entry, System.currentTimeMillis()) && this.isValid(entry)) {
+					return this.lend(entry);
+				}
+				this.destroy(entry);
+			}
+			return this.lend(this.create());
+		} catch (SQLException | RuntimeException e) {
+			this.permits.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * @return a snapshot of the pool state
+	 */
+	public PoolStatistics getStatistics() {
+		long[] histogram = new long[this.waitTimeHistogram.length()];
+		for (int i = 0; i < histogram.length; i++) {
+			histogram[i] = this.waitTimeHistogram.get(i);
+		}
+		return new PoolStatistics(this.active.get(), this.idle.size(), this.permits.getQueueLength(), this.acquisitions.get(), this.timeouts.get(), histogram);
+	}
+
+	/**
+	 * Close the pool and all its idle connections.
+	 * Borrowed connections are closed when given back.
+	 */
+	public void close() {
+		this.closed = true;
+		this.housekeeping.cancel(false);
+		Entry entry;
+		while ((entry = this.idle.pollFirst()) != null) {
+			this.destroy(entry);
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if the pool has been closed
+	 */
+	public boolean isClosed() {
+		return this.closed;
+	}
+
+	private void checkClosed() throws SQLException {
+		if (this.closed) {
+			throw new SQLException("Connection pool already closed");
+		}
+	}
+
+	private void recordWaitTime(long millis) {
+		int bucket = 0;
+		while (bucket < PoolStatistics.WAIT_TIME_BUCKETS.length && millis >= PoolStatistics.WAIT_TIME_BUCKETS[bucket]) {
+			bucket++;
+		}
+		this.waitTimeHistogram.incrementAndGet(bucket);
+	}
+
+	private Entry create() throws SQLException {
+		BoltNeo4jPooledConnection pooledConnection = (BoltNeo4jPooledConnection) this.dataSource.getPooledConnection();
+		pooledConnection.addConnectionEventListener(this.listener);
+		Entry entry = new Entry(pooledConnection);
+		this.entries.put(pooledConnection, entry);
+		return entry;
+	}
+
+	private Connection lend(Entry entry) throws SQLException {
+		Connection connection = entry.pooledConnection.getConnection();
+		this.active.incrementAndGet();
+		this.acquisitions.incrementAndGet();
+		return connection;
+	}
+
+	private boolean isUsable(Entry entry, long now) {
+		boolean tooOld = this.maxLifetime > 0 && now - entry.pooledConnection.getCreationTime() >= this.maxLifetime;
+		boolean idleTooLong = this.maxIdleTime > 0 && now - entry.lastUsed >= this.maxIdleTime;
+		return !tooOld && !idleTooLong;
+	}
+
+	private boolean isValid(Entry entry) {
+		if (this.validationTimeout < 0) {
+			return true;
+		}
+		try {
+			return entry.pooledConnection.getPhysicalConnection().isValid(this.validationTimeout);
+		} catch (SQLException e) {
+			LOGGER.log(Level.FINEST, "Pooled connection failed validation", e);
+			return false;
+		}
+	}
+
+	private void destroy(Entry entry) {
+		this.entries.remove(entry.pooledConnection);
+		entry.pooledConnection.removeConnectionEventListener(this.listener);
+		try {
+			entry.pooledConnection.close();
+		} catch (SQLException e) {
+			LOGGER.log(Level.FINE, "Unable to close a pooled connection", e);
+		}
+	}
+
+	private void giveBack(BoltNeo4jPooledConnection pooledConnection, boolean broken) {
+		Entry entry = this.entries.get(pooledConnection);
+		if (entry == null) {
+			return;
+		}
+		this.active.decrementAndGet();
+		entry.lastUsed = System.currentTimeMillis();
+		if (broken || this.closed || (this.maxLifetime > 0 && entry.lastUsed - pooledConnection.getCreationTime() >= this.maxLifetime)) {
+			this.destroy(entry);
+		} else {
+			this.idle.offerFirst(entry);
+		}
+		this.permits.release();
+	}
+
+	/**
+	 * Evict idle and expired connections, then open new ones up to the min size.
+	 * Each new connection is opened holding a permit, like a borrower, so that the connections being opened by borrowers
+	 * and by the housekeeping never outnumber the max size.
+	 */
+	void housekeep() {
+		if (this.closed) {
+			return;
+		}
+		long now = System.currentTimeMillis();
+		for (Entry entry : new ArrayList<>(this.idle)) {
+			boolean expired = this.maxLifetime > 0 && now - entry.pooledConnection.getCreationTime() >= this.maxLifetime;
+			boolean idleTooLong = this.maxIdleTime > 0 && now - entry.lastUsed >= this.maxIdleTime;
+			if ((expired || (idleTooLong && this.entries.size() > this.minSize)) && this.idle.remove(entry)) {
+				this.destroy(entry);
+			}
+		}
+		try {
+			while (!this.closed && this.entries.size() < this.minSize && this.permits.tryAcquire()) {
+				try {
+					this.idle.offerLast(this.create());
+				} finally {
+					this.permits.release();
+				}
+			}
+		} catch (SQLException | RuntimeException e) {
+			LOGGER.log(Level.FINE, "Unable to fill the pool up to its min size", e);
+		}
+	}
+
+	private class PoolListener implements ConnectionEventListener {
+		@Override public void connectionClosed(ConnectionEvent event) {
+			giveBack((BoltNeo4jPooledConnection) event.getSource(), false);
+		}
+
+		@Override public void connectionErrorOccurred(ConnectionEvent event) {
+			giveBack((BoltNeo4jPooledConnection) event.getSource(), true);
+		}
+	}
+
+	private static class Entry {
+		private final BoltNeo4jPooledConnection pooledConnection;
+		private volatile long lastUsed;
+
+		private Entry(BoltNeo4jPooledConnection pooledConnection) {
+			this.pooledConnection = pooledConnection;
+			this.lastUsed = System.currentTimeMillis();
+		}
+	}
+}
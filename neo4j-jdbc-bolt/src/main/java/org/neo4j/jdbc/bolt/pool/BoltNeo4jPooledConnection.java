@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 18/10/26
+ */
+package org.neo4j.jdbc.bolt.pool;
+
+import org.neo4j.jdbc.bolt.BoltNeo4jConnection;
+import org.neo4j.jdbc.bolt.impl.BoltNeo4jConnectionImpl;
+
+import javax.sql.ConnectionEvent;
+import javax.sql.ConnectionEventListener;
+import javax.sql.PooledConnection;
+import javax.sql.StatementEventListener;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A physical Bolt connection that can be handed out many times.
+ * Each {@link #getConnection()} returns a logical handle: closing it resets the physical connection
+ * and notifies the listeners (i.e. the pool) instead of closing the underlying session.
+ * The statements and metadata obtained through a handle are wrapped as well: they lead back to the handle,
+ * not to the physical connection, and can't be used anymore once the handle is closed.
+ *
+ * @author AgileLARUS
+ * @since 3.2.0
+ */
+public class BoltNeo4jPooledConnection implements PooledConnection {
+
+	private static final Logger LOGGER = Logger.getLogger(BoltNeo4jPooledConnection.class.getName());
+
+	private final Connection                    physicalConnection;
+	private final long                          creationTime;
+	private final List<ConnectionEventListener> connectionListeners = new CopyOnWriteArrayList<>();
+	private final List<StatementEventListener>  statementListeners  = new CopyOnWriteArrayList<>();
+
+	private LogicalConnectionHandler currentHandler;
+
+	/**
+	 * Wrap a physical connection.
+	 *
+	 * @param physicalConnection The connection opened on the driver
+	 */
+	public BoltNeo4jPooledConnection(Connection physicalConnection) {
+		this.physicalConnection = physicalConnection;
+		this.creationTime = System.currentTimeMillis();
+	}
+
+	/**
+	 * @return the physical connection wrapped by this object
+	 */
+	public Connection getPhysicalConnection() {
+		return this.physicalConnection;
+	}
+
+	/**
+	 * @return the creation time of the physical connection, in milliseconds
+	 */
+	public long getCreationTime() {
+		return this.creationTime;
+	}
+
+	@Override public synchronized Connection getConnection() throws SQLException {
+		if (this.physicalConnection.isClosed()) {
+			throw new SQLException("Pooled connection already closed");
+		}
+		if (this.currentHandler != null) {
+			// As by JDBC specification, a new handle closes the previous one
+			this.currentHandler.closed = true;
+		}
+		this.currentHandler = new LogicalConnectionHandler();
+		Class<?>[] interfaces = this.physicalConnection instanceof BoltNeo4jConnection ?
+				new Class<?>[] { Connection.class, BoltNeo4jConnection.class } :
+				new Class<?>[] { Connection.class };
+		return (Connection) Proxy.newProxyInstance(BoltNeo4jPooledConnection.class.getClassLoader(), interfaces, this.currentHandler);
+	}
+
+	@Override public void close() throws SQLException {
+		this.physicalConnection.close();
+	}
+
+	@Override public void addConnectionEventListener(ConnectionEventListener listener) {
+		this.connectionListeners.add(listener);
+	}
+
+	@Override public void removeConnectionEventListener(ConnectionEventListener listener) {
+		this.connectionListeners.remove(listener);
+	}
+
+	@Override public void addStatementEventListener(StatementEventListener listener) {
+		this.statementListeners.add(listener);
+	}
+
+	@Override public void removeStatementEventListener(StatementEventListener listener) {
+		this.statementListeners.remove(listener);
+	}
+
+	/**
+	 * Bring the physical connection back to its default state for the next borrower:
+	 * close the statements of the handle, commit the transaction of a streamed result and stop its prefetching,
+	 * roll back any pending transaction.
+	 *
+	 * @param handler The handler of the logical connection being closed
+	 * @throws SQLException if the connection can't be reset
+	 */
+	private void reset(LogicalConnectionHandler handler) throws SQLException {
+		handler.closeStatements();
+		if (this.physicalConnection.isWrapperFor(BoltNeo4jConnectionImpl.class)) {
+			this.physicalConnection.unwrap(BoltNeo4jConnectionImpl.class).closeStreamingTransaction();
+		}
+		if (!this.physicalConnection.getAutoCommit()) {
+			this.physicalConnection.rollback();
+			this.physicalConnection.setAutoCommit(true);
+		}
+		if (this.physicalConnection.isReadOnly()) {
+			this.physicalConnection.setReadOnly(false);
+		}
+	}
+
+	private void fireConnectionClosed(LogicalConnectionHandler handler) {
+		try {
+			this.reset(handler);
+		} catch (Exception e) {
+			LOGGER.log(Level.FINE, "Unable to reset the pooled connection", e);
+			this.fireConnectionErrorOccurred(e instanceof SQLException ? (SQLException) e : new SQLException(e));
+			return;
+		}
+		ConnectionEvent event = new ConnectionEvent(this);
+		for (ConnectionEventListener listener : this.connectionListeners) {
+			listener.connectionClosed(event);
+		}
+	}
+
+	private void fireConnectionErrorOccurred(SQLException e) {
+		ConnectionEvent event = new ConnectionEvent(this, e);
+		for (ConnectionEventListener listener : this.connectionListeners) {
+			listener.connectionErrorOccurred(event);
+		}
+	}
+
+	/**
+	 * Handler of the logical connection handed to the application.
+	 */
+	private class LogicalConnectionHandler implements InvocationHandler {
+
+		private final Set<Statement> statements = Collections.newSetFromMap(new ConcurrentHashMap<Statement, Boolean>());
+
+		private volatile boolean closed = false;
+
+		@Override public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+			if ("close".equals(name) && method.getParameterTypes().length == 0) {
+				if (!this.closed) {
+					this.closed = true;
+					fireConnectionClosed(this);
+				}
+				return null;
+			}
+			if ("isClosed".equals(name) && method.getParameterTypes().length == 0) {
+				return this.closed || physicalConnection.isClosed();
+			}
+			if (this.closed) {
+				throw new SQLException("Connection already closed");
+			}
+			// The physical connection must stay out of reach, only the interfaces of the logical connection are unwrapped
+			if ("unwrap".equals(name) && args != null && args.length == 1) {
+				if (((Class<?>) args[0]).isInstance(proxy)) {
+					return proxy;
+				}
+				throw new SQLException("The pooled connection isn't a wrapper for " + ((Class<?>) args[0]).getName());
+			}
+			if ("isWrapperFor".equals(name) && args != null && args.length == 1) {
+				return ((Class<?>) args[0]).isInstance(proxy);
+			}
+			try {
+				Object result = method.invoke(physicalConnection, args);
+				if (result instanceof Statement) {
+					this.statements.add((Statement) result);
+				}
+				return result instanceof Statement || result instanceof DatabaseMetaData ? this.wrap(result, method.getReturnType(), proxy) : result;
+			} catch (InvocationTargetException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof SQLException && physicalConnection.isClosed()) {
+					this.closed = true;
+					fireConnectionErrorOccurred((SQLException) cause);
+				}
+				throw cause;
+			}
+		}
+
+		private Object wrap(Object target, Class<?> type, Object parent) {
+			return Proxy.newProxyInstance(BoltNeo4jPooledConnection.class.getClassLoader(), new Class<?>[] { type }, new LogicalObjectHandler(this, target, parent));
+		}
+
+		private void closeStatements() {
+			for (Statement statement : new ArrayList<>(this.statements)) {
+				try {
+					statement.close();
+				} catch (Exception e) {
+					LOGGER.log(Level.FINE, "Unable to close a statement of the pooled connection", e);
+				}
+			}
+			this.statements.clear();
+		}
+	}
+
+	/**
+	 * Handler of a statement, a metadata or a result set obtained through a logical connection:
+	 * it leads back to the logical objects it comes from, and fails once the logical connection is closed.
+	 */
+	private static class LogicalObjectHandler implements InvocationHandler {
+
+		private final LogicalConnectionHandler connectionHandler;
+		private final Object                   target;
+		private final Object                   parent;
+
+		private LogicalObjectHandler(LogicalConnectionHandler connectionHandler, Object target, Object parent) {
+			this.connectionHandler = connectionHandler;
+			this.target = target;
+			this.parent = parent;
+		}
+
+		@Override public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+			if (method.getDeclaringClass() == Object.class) {
+				if ("equals".equals(name)) {
+					return proxy == args[0];
+				}
+				return "hashCode".equals(name) ? System.identityHashCode(proxy) : method.invoke(this.target, args);
+			}
+			boolean noArgs = method.getParameterTypes().length == 0;
+			if ("isClosed".equals(name) && noArgs && this.connectionHandler.closed) {
+				return true;
+			}
+			if ("close".equals(name) && noArgs && this.target instanceof Statement) {
+				this.connectionHandler.statements.remove(this.target);
+			} else if (this.connectionHandler.closed && !"close".equals(name)) {
+				throw new SQLException("Connection already closed");
+			}
+			if (("getConnection".equals(name) || "getStatement".equals(name)) && noArgs) {
+				return this.parent;
+			}
+			try {
+				Object result = method.invoke(this.target, args);
+				if (result instanceof ResultSet && proxy instanceof Statement && method.getReturnType() == ResultSet.class) {
+					return this.connectionHandler.wrap(result, ResultSet.class, proxy);
+				}
+				return result;
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}
+	}
+}
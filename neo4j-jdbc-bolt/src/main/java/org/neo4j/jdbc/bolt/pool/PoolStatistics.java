@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 18/10/26
+ */
+package org.neo4j.jdbc.bolt.pool;
+
+import java.util.Arrays;
+
+/**
+ * Immutable snapshot of the state of a {@link BoltNeo4jConnectionPool}.
+ *
+ * @author AgileLARUS
+ * @since 3.2.0
+ */
+public class PoolStatistics {
+
+	/**
+	 * Upper bounds (exclusive, in milliseconds) of the wait-time histogram buckets.
+	 * The last bucket counts every acquisition that waited longer than the last bound.
+	 */
+	public static final long[] WAIT_TIME_BUCKETS = { 1, 10, 100, 1000 };
+
+	private final int    active;
+	private final int    idle;
+	private final int    waiting;
+	private final long   acquisitions;
+	private final long   timeouts;
+	private final long[] waitTimeHistogram;
+
+	PoolStatistics(int active, int idle, int waiting, long acquisitions, long timeouts, long[] waitTimeHistogram) {
+		this.active = active;
+		this.idle = idle;
+		this.waiting = waiting;
+		this.acquisitions = acquisitions;
+		this.timeouts = timeouts;
+		this.waitTimeHistogram = waitTimeHistogram;
+	}
+
+	/**
+	 * @return the number of connections currently borrowed
+	 */
+	public int getActive() {
+		return active;
+	}
+
+	/**
+	 * @return the number of connections waiting in the pool
+	 */
+	public int getIdle() {
+		return idle;
+	}
+
+	/**
+	 * @return the number of physical connections currently open
+	 */
+	public int getTotal() {
+		return active + idle;
+	}
+
+	/**
+	 * @return the number of threads waiting for a connection
+	 */
+	public int getWaiting() {
+		return waiting;
+	}
+
+	/**
+	 * @return the number of successful acquisitions since the pool was created
+	 */
+	public long getAcquisitions() {
+		return acquisitions;
+	}
+
+	/**
+	 * @return the number of acquisitions that timed out since the pool was created
+	 */
+	public long getTimeouts() {
+		return timeouts;
+	}
+
+	/**
+	 * Wait time of the successful acquisitions, bucketed by {@link #WAIT_TIME_BUCKETS}.
+	 *
+	 * @return an array of <code>WAIT_TIME_BUCKETS.length + 1</code> counters
+	 */
+	public long[] getWaitTimeHistogram() {
+		return Arrays.copyOf(waitTimeHistogram, waitTimeHistogram.length);
+	}
+
+	@Override public String toString() {
+		return "PoolStatistics{active=" + active + ", idle=" + idle + ", waiting=" + waiting + ", acquisitions=" + acquisitions + ", timeouts=" + timeouts
+				+ ", waitTimeHistogram=" + Arrays.toString(waitTimeHistogram) + "}";
+	}
+}
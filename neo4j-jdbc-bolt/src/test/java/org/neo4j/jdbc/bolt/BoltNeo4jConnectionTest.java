@@ -30,11 +30,17 @@ import org.neo4j.driver.internal.logging.DevNullLogging;
 import org.neo4j.driver.internal.spi.*;
 import org.neo4j.driver.v1.AccessMode;
 import org.neo4j.driver.v1.Session;
+import org.neo4j.driver.v1.StatementResult;
+import org.neo4j.driver.v1.Transaction;
+import org.neo4j.jdbc.bolt.cache.BoltDriverCacheKey;
 import org.neo4j.jdbc.bolt.data.StatementData;
 import org.neo4j.jdbc.bolt.impl.BoltNeo4jConnectionImpl;
+import org.neo4j.jdbc.utils.CypherClassification;
 
 import java.sql.*;
 import java.sql.Connection;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -641,4 +647,192 @@ public class BoltNeo4jConnectionTest {
 		assertTrue(openConnection.isValid(0));
 	}
 
+	@Test public void isValidShouldSkipTheRoundTripWithinTheValidationWindow() throws SQLException {
+		Session session = mockSessionOpen();
+		Properties properties = new Properties();
+		properties.setProperty("validation.window", "60000");
+		Connection connection = new BoltNeo4jConnectionImpl(session, properties, "");
+
+		assertTrue(connection.isValid(0));
+		assertTrue(connection.isValid(0));
+		verify(session, times(1)).run(anyString());
+	}
+
+	@Test public void isValidShouldRunWithoutAValidationWindow() throws SQLException {
+		Session session = mockSessionOpen();
+		Connection connection = new BoltNeo4jConnectionImpl(session);
+
+		assertTrue(connection.isValid(0));
+		assertTrue(connection.isValid(0));
+		verify(session, times(2)).run(anyString());
+	}
+
+	/*------------------------------*/
+	/*        Session routing       */
+	/*------------------------------*/
+
+	@Test public void readStatementsShouldBeRoutedOnTheReadSessionOfARoutingConnection() throws SQLException {
+		Session writeSession = mockSessionOpen();
+		Session readSession = mockSessionOpen();
+		org.neo4j.driver.v1.Driver driver = mock(org.neo4j.driver.v1.Driver.class);
+		when(driver.session()).thenReturn(writeSession);
+		when(driver.session(AccessMode.READ)).thenReturn(readSession);
+		BoltNeo4jConnectionImpl connection = new BoltNeo4jConnectionImpl(driver, new Properties(), "jdbc:neo4j:bolt+routing://localhost:7687");
+
+		assertTrue(connection.isRouting());
+		verify(driver, times(0)).session(AccessMode.READ);
+		assertTrue(connection.isReadRouted(CypherClassification.classify("MATCH (n) RETURN n")));
+		assertFalse(connection.isReadRouted(CypherClassification.classify("CREATE (n) RETURN n")));
+		assertFalse(connection.isReadRouted(CypherClassification.classify("CALL db.labels()")));
+		assertSame(readSession, connection.getReadSession());
+		assertSame(readSession, connection.getReadSession());
+		verify(driver, times(1)).session(AccessMode.READ);
+	}
+
+	@Test public void everyStatementShouldBeRoutedOnTheReadSessionOfAReadOnlyRoutingConnection() throws SQLException {
+		Session writeSession = mockSessionOpen();
+		Session readSession = mockSessionOpen();
+		org.neo4j.driver.v1.Driver driver = mock(org.neo4j.driver.v1.Driver.class);
+		when(driver.session()).thenReturn(writeSession);
+		when(driver.session(AccessMode.READ)).thenReturn(readSession);
+		BoltNeo4jConnectionImpl connection = new BoltNeo4jConnectionImpl(driver, new Properties(), "jdbc:neo4j:bolt+routing://localhost:7687");
+
+		connection.setReadOnly(true);
+		assertTrue(connection.isReadRouted(CypherClassification.classify("CALL db.labels()")));
+
+		connection.setAutoCommit(false);
+		verify(readSession, times(1)).beginTransaction();
+		verify(writeSession, times(0)).beginTransaction();
+
+		connection.setReadOnly(false);
+		connection.commit();
+		verify(writeSession, times(1)).beginTransaction();
+	}
+
+	@Test public void readStatementsShouldStayOnTheSessionOfADirectConnection() throws SQLException {
+		Session session = mockSessionOpen();
+		org.neo4j.driver.v1.Driver driver = mock(org.neo4j.driver.v1.Driver.class);
+		when(driver.session()).thenReturn(session);
+		BoltNeo4jConnectionImpl connection = new BoltNeo4jConnectionImpl(driver, new Properties(), "jdbc:neo4j:bolt://localhost:7687");
+		connection.setReadOnly(true);
+
+		assertFalse(connection.isRouting());
+		assertFalse(connection.isReadRouted(CypherClassification.classify("MATCH (n) RETURN n")));
+		assertSame(session, connection.getReadSession());
+		verify(driver, times(0)).session(AccessMode.READ);
+	}
+
+	/*------------------------------*/
+	/*           Bookmarks          */
+	/*------------------------------*/
+
+	@Test public void commitShouldKeepTheBookmarkForTheReadSession() throws SQLException {
+		Session writeSession = mockSessionOpen();
+		Session readSession = mockSessionOpen();
+		org.neo4j.driver.v1.Driver driver = mock(org.neo4j.driver.v1.Driver.class);
+		when(driver.session()).thenReturn(writeSession);
+		when(driver.session(AccessMode.READ)).thenReturn(readSession);
+		Session bookmarkedReadSession = mockSessionOpen();
+		when(driver.session(AccessMode.READ, "neo4j:bookmark:v1:tx42")).thenReturn(bookmarkedReadSession);
+		BoltNeo4jConnectionImpl connection = new BoltNeo4jConnectionImpl(driver, new Properties(), "jdbc:neo4j:bolt+routing://localhost:7687");
+		connection.setAutoCommit(false);
+		when(writeSession.lastBookmark()).thenReturn("neo4j:bookmark:v1:tx42");
+
+		connection.commit();
+		assertEquals("neo4j:bookmark:v1:tx42", connection.getLastBookmark());
+		verify(writeSession, times(2)).beginTransaction();
+
+		connection.setReadOnly(true);
+		connection.commit();
+		verify(readSession).close();
+		verify(bookmarkedReadSession, times(1)).beginTransaction();
+		assertSame(bookmarkedReadSession, connection.getReadSession());
+	}
+
+	@Test public void awaitBookmarkShouldOpenANewSessionOnABookmarkFromElsewhere() throws SQLException {
+		Session session = mockSessionOpen();
+		Session bookmarkedSession = mockSessionOpen();
+		org.neo4j.driver.v1.Driver driver = mock(org.neo4j.driver.v1.Driver.class);
+		when(driver.session()).thenReturn(session);
+		when(driver.session(AccessMode.WRITE, "neo4j:bookmark:v1:tx5")).thenReturn(bookmarkedSession);
+		BoltNeo4jConnectionImpl connection = new BoltNeo4jConnectionImpl(driver, new Properties(), "jdbc:neo4j:bolt://localhost:7687");
+
+		assertSame(session, connection.awaitBookmark(session));
+
+		connection.setBookmark("neo4j:bookmark:v1:tx5");
+		assertSame(bookmarkedSession, connection.awaitBookmark(session));
+		verify(session).close();
+		assertSame(bookmarkedSession, connection.getSession());
+	}
+
+	@Test public void bookmarksShouldBeChainedBetweenTheConnectionsOfAThread() throws SQLException {
+		Properties properties = new Properties();
+		properties.setProperty("bookmarks", "thread");
+		Session session = mockSessionOpen();
+		BoltNeo4jConnectionImpl writer = new BoltNeo4jConnectionImpl(session, properties, "");
+		BoltNeo4jConnectionImpl reader = new BoltNeo4jConnectionImpl(mockSessionOpen(), properties, "");
+		BoltNeo4jConnectionImpl unchained = new BoltNeo4jConnectionImpl(mockSessionOpen());
+		when(session.lastBookmark()).thenReturn("neo4j:bookmark:v1:tx7");
+
+		try {
+			writer.captureBookmark(session);
+			assertEquals("neo4j:bookmark:v1:tx7", reader.getBookmarkFor(reader.getSession()));
+			assertNull(writer.getBookmarkFor(session));
+			assertNull(unchained.getBookmarkFor(unchained.getSession()));
+		} finally {
+			BoltNeo4jConnectionImpl.clearThreadBookmark();
+		}
+		assertNull(reader.getBookmarkFor(reader.getSession()));
+	}
+
+	@Test public void bookmarksChainedByThreadShouldBeScopedToTheDriver() throws SQLException {
+		Properties properties = new Properties();
+		properties.setProperty("bookmarks", "thread");
+		Session session = mockSessionOpen();
+		Session sameDatabaseSession = mockSessionOpen();
+		Session otherDatabaseSession = mockSessionOpen();
+		org.neo4j.driver.v1.Driver firstDriver = mock(org.neo4j.driver.v1.Driver.class);
+		when(firstDriver.session()).thenReturn(session, sameDatabaseSession);
+		org.neo4j.driver.v1.Driver secondDriver = mock(org.neo4j.driver.v1.Driver.class);
+		when(secondDriver.session()).thenReturn(otherDatabaseSession);
+		BoltDriverCacheKey firstKey = new BoltDriverCacheKey("bolt://first:7687", properties);
+		BoltDriverCacheKey secondKey = new BoltDriverCacheKey("bolt://second:7687", properties);
+		BoltNeo4jConnectionImpl writer = new BoltNeo4jConnectionImpl(firstDriver, firstKey, properties, "jdbc:neo4j:bolt://first:7687");
+		BoltNeo4jConnectionImpl sameDatabase = new BoltNeo4jConnectionImpl(firstDriver, firstKey, properties, "jdbc:neo4j:bolt://first:7687");
+		BoltNeo4jConnectionImpl otherDatabase = new BoltNeo4jConnectionImpl(secondDriver, secondKey, properties, "jdbc:neo4j:bolt://second:7687");
+		when(session.lastBookmark()).thenReturn("neo4j:bookmark:v1:tx9");
+
+		try {
+			writer.captureBookmark(session);
+			assertEquals("neo4j:bookmark:v1:tx9", sameDatabase.getBookmarkFor(sameDatabase.getSession()));
+			assertNull(otherDatabase.getBookmarkFor(otherDatabase.getSession()));
+		} finally {
+			BoltNeo4jConnectionImpl.clearThreadBookmark();
+		}
+	}
+
+	@Test public void bookmarksChainedByThreadShouldFollowAnAsyncWriteToTheCallingThread() throws Exception {
+		Properties properties = new Properties();
+		properties.setProperty("bookmarks", "thread");
+		Session writeSession = mockSessionOpen();
+		Transaction transaction = mock(Transaction.class);
+		when(writeSession.beginTransaction()).thenReturn(transaction);
+		when(transaction.run(anyString())).thenReturn(mock(StatementResult.class, RETURNS_DEEP_STUBS));
+		when(writeSession.lastBookmark()).thenReturn("neo4j:bookmark:v1:tx9");
+		Session writerSession = mockSessionOpen();
+		Session readerSession = mockSessionOpen();
+		org.neo4j.driver.v1.Driver driver = mock(org.neo4j.driver.v1.Driver.class);
+		when(driver.session()).thenReturn(writerSession, readerSession);
+		when(driver.session(AccessMode.WRITE)).thenReturn(writeSession);
+		BoltDriverCacheKey key = new BoltDriverCacheKey("bolt://first:7687", properties);
+		BoltNeo4jConnectionImpl writer = new BoltNeo4jConnectionImpl(driver, key, properties, "jdbc:neo4j:bolt://first:7687");
+		BoltNeo4jConnectionImpl reader = new BoltNeo4jConnectionImpl(driver, key, properties, "jdbc:neo4j:bolt://first:7687");
+
+		try {
+			writer.createStatement().unwrap(BoltNeo4jStatement.class).executeUpdateAsync("CREATE (n)").toCompletableFuture().get(5, TimeUnit.SECONDS);
+			assertEquals("neo4j:bookmark:v1:tx9", reader.getBookmarkFor(reader.getSession()));
+		} finally {
+			BoltNeo4jConnectionImpl.clearThreadBookmark();
+		}
+	}
 }
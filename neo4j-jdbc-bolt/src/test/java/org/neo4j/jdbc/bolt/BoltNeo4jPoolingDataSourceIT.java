@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 18/10/26
+ */
+package org.neo4j.jdbc.bolt;
+
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.neo4j.jdbc.bolt.pool.PoolStatistics;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author AgileLARUS
+ * @since 3.2.0
+ */
+public class BoltNeo4jPoolingDataSourceIT {
+
+	@ClassRule
+	public static Neo4jBoltRule neo4j = new Neo4jBoltRule();
+
+	@Test public void getConnectionShouldReuseConnections() throws SQLException {
+		BoltNeo4jPoolingDataSource dataSource = new BoltNeo4jPoolingDataSource();
+		dataSource.setServerName(neo4j.getHost());
+		dataSource.setPortNumber(neo4j.getPort());
+		dataSource.setMaxPoolSize(2);
+
+		try {
+			for (int i = 0; i < 5; i++) {
+				try (Connection connection = dataSource.getConnection()) {
+					Statement statement = connection.createStatement();
+					assertTrue(statement.execute("RETURN 1"));
+				}
+			}
+
+			PoolStatistics statistics = dataSource.getStatistics();
+			assertEquals(0, statistics.getActive());
+			assertEquals(1, statistics.getIdle());
+			assertEquals(5, statistics.getAcquisitions());
+		} finally {
+			dataSource.close();
+		}
+	}
+}
@@ -27,12 +27,14 @@ import org.junit.runner.RunWith;
 import org.mockito.Mockito;
 import org.neo4j.driver.v1.Session;
 import org.neo4j.driver.v1.StatementResult;
+import org.neo4j.driver.v1.Transaction;
 import org.neo4j.driver.v1.summary.ResultSummary;
 import org.neo4j.driver.v1.summary.SummaryCounters;
 import org.neo4j.jdbc.Neo4jStatement;
 import org.neo4j.jdbc.bolt.data.StatementData;
 import org.neo4j.jdbc.bolt.impl.BoltNeo4jConnectionImpl;
 import org.neo4j.jdbc.bolt.utils.Mocker;
+import org.neo4j.jdbc.utils.CypherClassification;
 import org.neo4j.jdbc.utils.PreparedStatementBuilder;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
@@ -137,6 +139,27 @@ public class BoltNeo4jPreparedStatementTest {
 		assertFalse(prStatement.isClosed());
 	}
 
+	/*------------------------------*/
+	/*          isPoolable          */
+	/*------------------------------*/
+	@Test public void isPoolableShouldReturnTrueByDefault() throws SQLException {
+		PreparedStatement prStatement = BoltNeo4jPreparedStatement.newInstance(false, mockConnectionOpen(), "");
+
+		assertTrue(prStatement.isPoolable());
+		prStatement.setPoolable(false);
+		assertFalse(prStatement.isPoolable());
+	}
+
+	@Test public void prepareStatementShouldReuseTheParsedStatement() throws SQLException {
+		BoltNeo4jConnectionImpl connection = new BoltNeo4jConnectionImpl(mockSessionOpen());
+
+		connection.prepareStatement("MATCH (n) WHERE n.name = ? RETURN n");
+		connection.prepareStatement("MATCH (n) WHERE n.name = ? RETURN n");
+
+		assertEquals(1, connection.getStatementCache().getMissCount());
+		assertEquals(1, connection.getStatementCache().getHitCount());
+	}
+
 	/*------------------------------*/
 	/*            setInt            */
 	/*------------------------------*/
@@ -921,6 +944,7 @@ public class BoltNeo4jPreparedStatementTest {
 
 		BoltNeo4jConnection connection = (BoltNeo4jConnection) stmt.getConnection();
 		Mockito.when(connection.getAutoCommit()).thenReturn(true);
+		Mockito.when(((BoltNeo4jConnectionImpl) connection).canRunImplicitly(any(Session.class), any(CypherClassification.class))).thenReturn(true);
 		Mockito.when(connection.getSession()).thenReturn(session);
 
 		assertArrayEquals(new int[] { 1, 1 }, stmt.executeBatch());
@@ -948,6 +972,68 @@ public class BoltNeo4jPreparedStatementTest {
 		}
 	}
 
+	@Test public void executeBatchWithUnwindShouldRunOneStatementPerChunk() throws SQLException {
+		BoltNeo4jConnectionImpl connection = Mocker.mockConnectionOpen();
+		Mockito.when(connection.isBatchUnwind()).thenReturn(true);
+		Mockito.when(connection.getBatchSize()).thenReturn(2);
+		Mockito.when(connection.getAutoCommit()).thenReturn(true);
+
+		PreparedStatement stmt = BoltNeo4jPreparedStatement.newInstance(false, connection, "CREATE (n:User {id: ?})");
+		for (int i = 1; i <= 3; i++) {
+			stmt.setInt(1, i);
+			stmt.addBatch();
+		}
+
+		Session session = Mockito.mock(Session.class);
+		StatementResult stmtResult = Mockito.mock(StatementResult.class);
+		ResultSummary resultSummary = Mockito.mock(ResultSummary.class);
+		SummaryCounters summaryCounters = Mockito.mock(SummaryCounters.class);
+
+		Mockito.when(session.run(anyString(), anyMap())).thenReturn(stmtResult);
+		Mockito.when(stmtResult.consume()).thenReturn(resultSummary);
+		Mockito.when(resultSummary.counters()).thenReturn(summaryCounters);
+		Mockito.when(summaryCounters.nodesCreated()).thenReturn(2, 1);
+		Mockito.when(summaryCounters.nodesDeleted()).thenReturn(0);
+		Mockito.when(connection.getSession()).thenReturn(session);
+		Mockito.when(connection.canRunImplicitly(any(Session.class), any(CypherClassification.class))).thenReturn(true);
+
+		assertArrayEquals(new int[] { 1, 1, 1 }, stmt.executeBatch());
+		Mockito.verify(session, times(2)).run(Mockito.eq("UNWIND {__jdbc_batch_rows} AS __jdbc_batch_row CREATE (n:User {id: __jdbc_batch_row.`1`})"), anyMap());
+	}
+
+	@Test public void executeBatchShouldWaitForTheBookmarkWhenItMattersInAutoCommit() throws SQLException {
+		BoltNeo4jConnectionImpl connection = Mocker.mockConnectionOpen();
+		Mockito.when(connection.getAutoCommit()).thenReturn(true);
+
+		PreparedStatement stmt = BoltNeo4jPreparedStatement.newInstance(false, connection, "CREATE (n:User {id: ?})");
+		stmt.setInt(1, 1);
+		stmt.addBatch();
+		stmt.setInt(1, 2);
+		stmt.addBatch();
+
+		Session session = Mockito.mock(Session.class);
+		Session bookmarkedSession = Mockito.mock(Session.class);
+		Transaction transaction = Mockito.mock(Transaction.class);
+		StatementResult stmtResult = Mockito.mock(StatementResult.class);
+		ResultSummary resultSummary = Mockito.mock(ResultSummary.class);
+		SummaryCounters summaryCounters = Mockito.mock(SummaryCounters.class);
+
+		Mockito.when(bookmarkedSession.beginTransaction()).thenReturn(transaction);
+		Mockito.when(transaction.run(anyString(), anyMap())).thenReturn(stmtResult);
+		Mockito.when(stmtResult.consume()).thenReturn(resultSummary);
+		Mockito.when(resultSummary.counters()).thenReturn(summaryCounters);
+		Mockito.when(summaryCounters.nodesCreated()).thenReturn(1);
+		Mockito.when(connection.getSession()).thenReturn(session);
+		Mockito.when(connection.getBookmarkFor(session)).thenReturn("neo4j:bookmark:v1:tx3");
+		Mockito.when(connection.awaitBookmark(session)).thenReturn(bookmarkedSession);
+
+		assertArrayEquals(new int[] { 1, 1 }, stmt.executeBatch());
+		verify(session, never()).run(anyString(), anyMap());
+		verify(bookmarkedSession, never()).run(anyString(), anyMap());
+		verify(transaction, times(2)).success();
+		verify(connection, times(2)).captureBookmark(bookmarkedSession);
+	}
+
 	@Test public void executeBatchShouldThrowExceptionOnClosed() throws SQLException {
 		expectedEx.expect(SQLException.class);
 
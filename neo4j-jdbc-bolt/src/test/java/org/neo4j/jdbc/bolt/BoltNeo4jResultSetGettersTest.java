@@ -23,6 +23,7 @@ import org.neo4j.jdbc.Neo4jConnection;
 import org.neo4j.jdbc.Neo4jResultSet;
 import org.neo4j.jdbc.Neo4jStatement;
 import org.neo4j.jdbc.bolt.data.ResultSetData;
+import org.neo4j.jdbc.bolt.impl.BoltNeo4jConnectionImpl;
 import org.junit.BeforeClass;
 import org.junit.Rule;
 import org.junit.Test;
@@ -1225,6 +1226,59 @@ public class BoltNeo4jResultSetGettersTest {
 		assertArrayEquals(new String[] { "label1", "label2" }, (String[]) resultSet.getArray(3).getArray());
 	}
 
+	@Test public void findColumnShouldReturnTheIndexOfAVirtualColumn() throws SQLException {
+		StatementResult statementResult = ResultSetData
+				.buildResultCursor(ResultSetData.KEYS_RECORD_LIST_MORE_ELEMENTS_NODES, ResultSetData.RECORD_LIST_MORE_ELEMENTS_NODES);
+		Neo4jConnection c = Mockito.mock(Neo4jConnection.class);
+		Mockito.when(c.getFlattening()).thenReturn(1);
+		Neo4jStatement stmt = Mockito.mock(Neo4jStatement.class);
+		Mockito.when(stmt.getConnection()).thenReturn(c);
+		ResultSet resultSet = BoltNeo4jResultSet.newInstance(false, stmt, statementResult);
+
+		assertEquals(1, resultSet.findColumn("node"));
+		assertEquals(2, resultSet.findColumn("node.id"));
+		assertEquals(3, resultSet.findColumn("node.labels"));
+	}
+
+	@Test public void getLongByIndexShouldReturnTheIdOfEveryRow() throws SQLException {
+		StatementResult statementResult = ResultSetData
+				.buildResultCursor(ResultSetData.KEYS_RECORD_LIST_MORE_ELEMENTS_NODES, ResultSetData.RECORD_LIST_MORE_ELEMENTS_NODES);
+		Neo4jConnection c = Mockito.mock(Neo4jConnection.class);
+		Mockito.when(c.getFlattening()).thenReturn(1);
+		Neo4jStatement stmt = Mockito.mock(Neo4jStatement.class);
+		Mockito.when(stmt.getConnection()).thenReturn(c);
+		ResultSet resultSet = BoltNeo4jResultSet.newInstance(false, stmt, statementResult);
+
+		resultSet.next();
+		assertEquals(1L, resultSet.getLong(2));
+		assertEquals(1L, resultSet.getLong("node.id"));
+		resultSet.next();
+		assertEquals(2L, resultSet.getLong(2));
+	}
+
+	@Test public void getStringByLabelShouldReturnTheVirtualColumnsOfTheSchema() throws SQLException {
+		StatementResult statementResult = ResultSetData
+				.buildResultCursor(ResultSetData.KEYS_RECORD_LIST_MORE_ELEMENTS_NODES, ResultSetData.RECORD_LIST_MORE_ELEMENTS_NODES);
+		BoltNeo4jConnectionImpl c = Mockito.mock(BoltNeo4jConnectionImpl.class);
+		Mockito.when(c.getFlattening()).thenReturn(-1);
+		Mockito.when(c.isFlattenSchema()).thenReturn(true);
+		Mockito.when(c.getSchemaPropertyKeys(true, "label1")).thenReturn(Arrays.asList("property1", "property3"));
+		Mockito.when(c.getSchemaPropertyKeys(true, "label2")).thenReturn(Collections.<String>emptyList());
+		Neo4jStatement stmt = Mockito.mock(Neo4jStatement.class);
+		Mockito.when(stmt.getConnection()).thenReturn(c);
+		ResultSet resultSet = BoltNeo4jResultSet.newInstance(false, stmt, statementResult);
+
+		assertEquals(4, resultSet.findColumn("node.property1"));
+		assertEquals(5, resultSet.findColumn("node.property3"));
+		assertEquals(6, resultSet.findColumn("node.property2"));
+
+		resultSet.next();
+		assertEquals("value1", resultSet.getString("node.property1"));
+		assertNull(resultSet.getString("node.property3"));
+		resultSet.next();
+		assertEquals(2L, resultSet.getLong("node.id"));
+	}
+
 	/*------------------------------*/
 	/*            wasNull           */
 	/*------------------------------*/
@@ -20,17 +20,22 @@
 package org.neo4j.jdbc.bolt;
 
 import org.neo4j.jdbc.bolt.data.ResultSetData;
+import org.neo4j.jdbc.bolt.impl.BoltNeo4jConnectionImpl;
 import org.junit.BeforeClass;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.neo4j.driver.v1.Session;
 import org.neo4j.driver.v1.StatementResult;
+import org.neo4j.driver.v1.Transaction;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.*;
 
 /**
  * @author AgileLARUS
@@ -77,4 +82,78 @@ public class BoltNeo4jResultSetTest {
 		resultSet.close();
 	}
 
+	@Test public void closeShouldCloseTheStreamingTransaction() throws SQLException {
+		StatementResult statementResult = ResultSetData
+				.buildResultCursor(ResultSetData.KEYS_RECORD_LIST_MORE_ELEMENTS, ResultSetData.RECORD_LIST_MORE_ELEMENTS);
+		Transaction transaction = mock(Transaction.class);
+		when(transaction.isOpen()).thenReturn(true);
+		ResultSet resultSet = BoltNeo4jResultSet.newInstance(false, null, statementResult, transaction);
+
+		resultSet.next();
+		verify(transaction, never()).close();
+
+		resultSet.close();
+		verify(statementResult, times(1)).consume();
+		verify(transaction, times(1)).close();
+		assertTrue(resultSet.isClosed());
+	}
+
+	@Test public void closeShouldTerminateAReadOnlyStreamingTransactionWithoutConsumingIt() throws SQLException {
+		StatementResult statementResult = ResultSetData
+				.buildResultCursor(ResultSetData.KEYS_RECORD_LIST_MORE_ELEMENTS, ResultSetData.RECORD_LIST_MORE_ELEMENTS);
+		Session session = mock(Session.class);
+		Transaction transaction = mock(Transaction.class);
+		when(transaction.isOpen()).thenReturn(true);
+		when(session.beginTransaction()).thenReturn(transaction);
+		BoltNeo4jConnectionImpl connection = new BoltNeo4jConnectionImpl(session);
+		Statement statement = mock(Statement.class);
+		when(statement.getConnection()).thenReturn(connection);
+
+		ResultSet resultSet = BoltNeo4jResultSet.newInstance(false, statement, statementResult, connection.beginStreamingTransaction(session, true));
+		resultSet.next();
+		resultSet.close();
+
+		verify(statementResult, never()).consume();
+		verify(session, times(1)).reset();
+		verify(transaction, atLeastOnce()).close();
+		assertTrue(resultSet.isClosed());
+	}
+
+	@Test public void closeShouldConsumeAStreamingTransactionThatMayWrite() throws SQLException {
+		StatementResult statementResult = ResultSetData
+				.buildResultCursor(ResultSetData.KEYS_RECORD_LIST_MORE_ELEMENTS, ResultSetData.RECORD_LIST_MORE_ELEMENTS);
+		Session session = mock(Session.class);
+		Transaction transaction = mock(Transaction.class);
+		when(transaction.isOpen()).thenReturn(true);
+		when(session.beginTransaction()).thenReturn(transaction);
+		BoltNeo4jConnectionImpl connection = new BoltNeo4jConnectionImpl(session);
+		Statement statement = mock(Statement.class);
+		when(statement.getConnection()).thenReturn(connection);
+
+		ResultSet resultSet = BoltNeo4jResultSet.newInstance(false, statement, statementResult, connection.beginStreamingTransaction(session, false));
+		resultSet.next();
+		resultSet.close();
+
+		verify(statementResult, times(1)).consume();
+		verify(session, never()).reset();
+		verify(transaction, times(1)).close();
+	}
+
+	/*------------------------------*/
+	/*             next             */
+	/*------------------------------*/
+
+	@Test public void nextShouldCloseTheStreamingTransactionWhenExhausted() throws SQLException {
+		StatementResult statementResult = ResultSetData
+				.buildResultCursor(ResultSetData.KEYS_RECORD_LIST_ONE_ELEMENT, ResultSetData.RECORD_LIST_ONE_ELEMENT);
+		Transaction transaction = mock(Transaction.class);
+		when(transaction.isOpen()).thenReturn(true);
+		ResultSet resultSet = BoltNeo4jResultSet.newInstance(false, null, statementResult, transaction);
+
+		assertTrue(resultSet.next());
+		verify(transaction, never()).close();
+		assertFalse(resultSet.next());
+		verify(transaction, times(1)).close();
+	}
+
 }
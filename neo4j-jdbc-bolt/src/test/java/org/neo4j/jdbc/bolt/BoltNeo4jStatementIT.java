@@ -31,6 +31,8 @@ import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.ClassRule;
 import org.junit.Rule;
@@ -38,6 +40,7 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.neo4j.graphdb.Result;
 import org.neo4j.jdbc.Neo4jResultSet;
+import org.neo4j.jdbc.Neo4jStatement;
 import org.neo4j.jdbc.bolt.data.StatementData;
 
 /**
@@ -255,4 +258,39 @@ public class BoltNeo4jStatementIT {
 		}
 	}
 
+	/*------------------------------*/
+	/*         async execution      */
+	/*------------------------------*/
+
+	@Test public void executeQueryAsyncShouldRunConcurrentQueries() throws Exception {
+		neo4j.getGraphDatabase().execute(StatementData.STATEMENT_CREATE);
+		try (Connection connection = DriverManager.getConnection("jdbc:neo4j:" + neo4j.getBoltUrl() + "?nossl")) {
+			CompletableFuture<ResultSet> first = connection.createStatement().unwrap(Neo4jStatement.class)
+					.executeQueryAsync(StatementData.STATEMENT_MATCH_ALL_STRING).toCompletableFuture();
+			CompletableFuture<ResultSet> second = connection.createStatement().unwrap(Neo4jStatement.class)
+					.executeQueryAsync(StatementData.STATEMENT_MATCH_ALL_STRING).toCompletableFuture();
+
+			for (ResultSet rs : Arrays.asList(first.get(), second.get())) {
+				assertTrue(rs.next());
+				assertEquals("test", rs.getString(1));
+				assertFalse(rs.next());
+			}
+		}
+		neo4j.getGraphDatabase().execute(StatementData.STATEMENT_CREATE_REV);
+	}
+
+	@Test public void executeUpdateAsyncShouldUseTheTransactionOutsideAutoCommit() throws Exception {
+		try (Connection connection = DriverManager.getConnection("jdbc:neo4j:" + neo4j.getBoltUrl() + "?nossl")) {
+			connection.setAutoCommit(false);
+			Integer count = connection.createStatement().unwrap(Neo4jStatement.class).executeUpdateAsync(StatementData.STATEMENT_CREATE).toCompletableFuture()
+					.get();
+			assertEquals(1, count.intValue());
+
+			Result res = neo4j.getGraphDatabase().execute("MATCH (n:User {name:\"test\"}) RETURN count(n) AS total");
+			assertEquals(0L, res.next().get("total"));
+
+			connection.rollback();
+		}
+	}
+
 }
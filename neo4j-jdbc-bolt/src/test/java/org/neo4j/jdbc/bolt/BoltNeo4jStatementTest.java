@@ -25,8 +25,11 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.mockito.internal.util.reflection.Whitebox;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.neo4j.driver.v1.Session;
 import org.neo4j.driver.v1.StatementResult;
 import org.neo4j.driver.v1.Transaction;
@@ -36,6 +39,7 @@ import org.neo4j.jdbc.Neo4jStatement;
 import org.neo4j.jdbc.bolt.data.StatementData;
 import org.neo4j.jdbc.bolt.impl.BoltNeo4jConnectionImpl;
 import org.neo4j.jdbc.bolt.utils.Mocker;
+import org.neo4j.jdbc.utils.CypherClassification;
 import org.neo4j.jdbc.utils.Neo4jInvocationHandler;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
@@ -46,6 +50,8 @@ import java.sql.*;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.*;
 import static org.mockito.BDDMockito.given;
@@ -75,6 +81,23 @@ public class BoltNeo4jStatementTest {
 		PowerMockito.when(BoltNeo4jResultSet.newInstance(anyBoolean(), any(Neo4jStatement.class), any(StatementResult.class))).thenReturn(mockedRS);
 	}
 
+	/*------------------------------*/
+	/*          newInstance         */
+	/*------------------------------*/
+	@Test public void newInstanceShouldNotWrapTheStatementWithoutDebug() throws SQLException {
+		Statement statement = BoltNeo4jStatement.newInstance(false, mockConnectionOpen());
+
+		assertTrue(statement instanceof BoltNeo4jStatement);
+	}
+
+	@Test public void newInstanceShouldWrapTheStatementWithDebug() throws SQLException {
+		Statement statement = BoltNeo4jStatement.newInstance(true, mockConnectionOpen());
+
+		assertTrue(Proxy.isProxyClass(statement.getClass()));
+		assertFalse(statement.isClosed());
+		assertTrue(statement.unwrap(Neo4jStatement.class) instanceof BoltNeo4jStatement);
+	}
+
 	/*------------------------------*/
 	/*             close            */
 	/*------------------------------*/
@@ -188,18 +211,16 @@ public class BoltNeo4jStatementTest {
 		statement.executeQuery(StatementData.STATEMENT_MATCH_ALL);
 	}
 
-	@Ignore @Test public void executeQueryShouldThrowExceptionOnTimeoutExceeded() throws SQLException {
-		expectedEx.expect(SQLException.class);
+	@Test public void executeQueryShouldThrowExceptionOnTimeoutExceeded() throws SQLException {
+		expectedEx.expect(SQLTimeoutException.class);
 
-		Transaction transaction = mock(Transaction.class);
-/*
-		given(transaction.run(anyString())).willAnswer(invocation -> {
-			Thread.sleep(1500);
-			return null;
-		});
-*/
 		Session session = mock(Session.class);
-		given(session.beginTransaction()).willReturn(transaction);
+		given(session.run(anyString())).willAnswer(new Answer<StatementResult>() {
+			@Override public StatementResult answer(InvocationOnMock invocation) throws Throwable {
+				Thread.sleep(1500);
+				return null;
+			}
+		});
 		given(session.isOpen()).willReturn(true);
 
 		Statement statement = BoltNeo4jStatement.newInstance(false, new BoltNeo4jConnectionImpl(session), 0, 0, 0);
@@ -210,6 +231,72 @@ public class BoltNeo4jStatementTest {
 		fail();
 	}
 
+	@Test public void executeQueryShouldResetTheSessionOnTimeoutExceeded() throws SQLException {
+		Session session = mock(Session.class);
+		given(session.run(anyString())).willAnswer(new Answer<StatementResult>() {
+			@Override public StatementResult answer(InvocationOnMock invocation) throws Throwable {
+				Thread.sleep(1500);
+				return null;
+			}
+		});
+		given(session.isOpen()).willReturn(true);
+
+		Statement statement = BoltNeo4jStatement.newInstance(false, new BoltNeo4jConnectionImpl(session), 0, 0, 0);
+		statement.setQueryTimeout(1);
+		try {
+			statement.executeQuery(StatementData.STATEMENT_CREATE);
+			fail();
+		} catch (SQLTimeoutException e) {
+			verify(session).reset();
+		}
+	}
+
+	@Test public void cancelShouldResetTheSessionOfTheRunningQuery() throws Exception {
+		expectedEx.expect(SQLException.class);
+		expectedEx.expectMessage("The query has been cancelled");
+
+		final CountDownLatch running = new CountDownLatch(1);
+		final CountDownLatch reset = new CountDownLatch(1);
+		Session session = mock(Session.class);
+		given(session.run(anyString())).willAnswer(new Answer<StatementResult>() {
+			@Override public StatementResult answer(InvocationOnMock invocation) throws Throwable {
+				running.countDown();
+				reset.await(5, TimeUnit.SECONDS);
+				throw new IllegalStateException("Terminated by reset");
+			}
+		});
+		given(session.isOpen()).willReturn(true);
+		doAnswer(new Answer<Void>() {
+			@Override public Void answer(InvocationOnMock invocation) throws Throwable {
+				reset.countDown();
+				return null;
+			}
+		}).when(session).reset();
+
+		final Statement statement = BoltNeo4jStatement.newInstance(false, new BoltNeo4jConnectionImpl(session), 0, 0, 0);
+		new Thread(new Runnable() {
+			@Override public void run() {
+				try {
+					running.await(5, TimeUnit.SECONDS);
+					statement.cancel();
+				} catch (Exception e) {
+					// the test fails on the missing reset
+				}
+			}
+		}).start();
+
+		statement.executeQuery(StatementData.STATEMENT_MATCH_ALL);
+	}
+
+	@Test public void cancelShouldDoNothingWithoutRunningQuery() throws SQLException {
+		Session session = mockSessionOpen();
+		Statement statement = BoltNeo4jStatement.newInstance(false, new BoltNeo4jConnectionImpl(session), 0, 0, 0);
+
+		statement.cancel();
+
+		verify(session, never()).reset();
+	}
+
 	/*------------------------------*/
 	/*         executeUpdate        */
 	/*------------------------------*/
@@ -230,6 +317,52 @@ public class BoltNeo4jStatementTest {
 		statement.executeUpdate(StatementData.STATEMENT_CREATE);
 	}
 
+	@Test public void executeUpdateShouldRunAnImplicitTransactionInAutoCommit() throws SQLException {
+		StatementResult mockResult = mock(StatementResult.class);
+		ResultSummary mockSummary = mock(ResultSummary.class);
+		when(mockResult.consume()).thenReturn(mockSummary);
+		when(mockSummary.counters()).thenReturn(mock(SummaryCounters.class));
+
+		Session session = mock(Session.class);
+		when(session.run(anyString())).thenReturn(mockResult);
+		BoltNeo4jConnectionImpl connection = mockConnectionOpen();
+		when(connection.getAutoCommit()).thenReturn(true);
+		when(connection.getSession()).thenReturn(session);
+		when(connection.canRunImplicitly(eq(session), any(CypherClassification.class))).thenReturn(true);
+
+		Statement statement = BoltNeo4jStatement.newInstance(false, connection);
+		statement.executeUpdate(StatementData.STATEMENT_CREATE);
+
+		verify(session).run(StatementData.STATEMENT_CREATE);
+		verify(session, never()).beginTransaction();
+		verify(connection).countRoundTrips(1);
+	}
+
+	@Test public void executeUpdateShouldRunAnExplicitTransactionWhenTheBookmarkMatters() throws SQLException {
+		StatementResult mockResult = mock(StatementResult.class);
+		ResultSummary mockSummary = mock(ResultSummary.class);
+		when(mockResult.consume()).thenReturn(mockSummary);
+		when(mockSummary.counters()).thenReturn(mock(SummaryCounters.class));
+
+		Transaction transaction = mock(Transaction.class);
+		when(transaction.run(anyString())).thenReturn(mockResult);
+		Session session = mock(Session.class);
+		when(session.beginTransaction()).thenReturn(transaction);
+		BoltNeo4jConnectionImpl connection = mockConnectionOpen();
+		when(connection.getAutoCommit()).thenReturn(true);
+		when(connection.getSession()).thenReturn(session);
+		when(connection.canRunImplicitly(eq(session), any(CypherClassification.class))).thenReturn(false);
+		when(connection.awaitBookmark(session)).thenReturn(session);
+
+		Statement statement = BoltNeo4jStatement.newInstance(false, connection);
+		statement.executeUpdate(StatementData.STATEMENT_CREATE);
+
+		verify(session, never()).run(anyString());
+		verify(transaction).success();
+		verify(connection).countRoundTrips(2);
+		verify(connection).captureBookmark(session);
+	}
+
 	@Test public void executeUpdateShouldThrowExceptionOnClosedStatement() throws SQLException {
 		expectedEx.expect(SQLException.class);
 
@@ -561,6 +694,7 @@ public class BoltNeo4jStatementTest {
 		BoltNeo4jConnection connection = (BoltNeo4jConnection) stmt.getConnection();
 		Mockito.when(connection.getSession()).thenReturn(session);
 		Mockito.when(connection.getAutoCommit()).thenReturn(true);
+		Mockito.when(((BoltNeo4jConnectionImpl) connection).canRunImplicitly(any(Session.class), any(CypherClassification.class))).thenReturn(true);
 
 		assertArrayEquals(new int[] { 1, 1 }, stmt.executeBatch());
 	}
@@ -587,6 +721,136 @@ public class BoltNeo4jStatementTest {
 		}
 	}
 
+	@Test public void executeBatchPipelinedShouldRunAllQueriesBeforeReadingResults() throws SQLException {
+		BoltNeo4jConnectionImpl connection = Mocker.mockConnectionOpen();
+		Mockito.when(connection.isBatchPipeline()).thenReturn(true);
+		Mockito.when(connection.getBatchPipelineInFlight()).thenReturn(100);
+		Mockito.when(connection.getAutoCommit()).thenReturn(true);
+
+		Statement stmt = BoltNeo4jStatement.newInstance(false, connection);
+		stmt.addBatch("MATCH n WHERE id(n) = 1 SET n.property=1");
+		stmt.addBatch("MATCH n WHERE id(n) = 2 SET n.property=2");
+
+		Session session = Mockito.mock(Session.class);
+		Transaction transaction = Mockito.mock(Transaction.class);
+		StatementResult stmtResult = Mockito.mock(StatementResult.class);
+		ResultSummary resultSummary = Mockito.mock(ResultSummary.class);
+		SummaryCounters summaryCounters = Mockito.mock(SummaryCounters.class);
+
+		Mockito.when(session.beginTransaction()).thenReturn(transaction);
+		Mockito.when(transaction.run(anyString())).thenReturn(stmtResult);
+		Mockito.when(stmtResult.consume()).thenReturn(resultSummary);
+		Mockito.when(resultSummary.counters()).thenReturn(summaryCounters);
+		Mockito.when(summaryCounters.nodesCreated()).thenReturn(1);
+		Mockito.when(connection.getSession()).thenReturn(session);
+		Mockito.when(connection.awaitBookmark(session)).thenReturn(session);
+
+		assertArrayEquals(new int[] { 1, 1 }, stmt.executeBatch());
+
+		InOrder inOrder = Mockito.inOrder(transaction, stmtResult);
+		inOrder.verify(transaction, times(2)).run(anyString());
+		inOrder.verify(stmtResult, times(2)).consume();
+		inOrder.verify(transaction).success();
+		inOrder.verify(transaction).close();
+	}
+
+	@Test public void executeBatchPipelinedShouldReportEveryQueryFailedOnErrorInAutoCommit() throws SQLException {
+		BoltNeo4jConnectionImpl connection = Mocker.mockConnectionOpen();
+		Mockito.when(connection.isBatchPipeline()).thenReturn(true);
+		Mockito.when(connection.getBatchPipelineInFlight()).thenReturn(100);
+		Mockito.when(connection.getAutoCommit()).thenReturn(true);
+
+		Statement stmt = BoltNeo4jStatement.newInstance(false, connection);
+		stmt.addBatch("MATCH n WHERE id(n) = 1 SET n.property=1");
+		stmt.addBatch("MATCH n WHERE id(n) = 2 SET n.property=2");
+		stmt.addBatch("MATCH n WHERE id(n) = 3 SET n.property=3");
+
+		Session session = Mockito.mock(Session.class);
+		Transaction transaction = Mockito.mock(Transaction.class);
+		StatementResult stmtResult = Mockito.mock(StatementResult.class);
+		ResultSummary resultSummary = Mockito.mock(ResultSummary.class);
+		SummaryCounters summaryCounters = Mockito.mock(SummaryCounters.class);
+
+		Mockito.when(session.beginTransaction()).thenReturn(transaction);
+		Mockito.when(transaction.run(anyString())).thenReturn(stmtResult);
+		Mockito.when(stmtResult.consume()).thenReturn(resultSummary).thenThrow(RuntimeException.class);
+		Mockito.when(resultSummary.counters()).thenReturn(summaryCounters);
+		Mockito.when(summaryCounters.nodesCreated()).thenReturn(1);
+		Mockito.when(connection.getSession()).thenReturn(session);
+		Mockito.when(connection.awaitBookmark(session)).thenReturn(session);
+
+		try {
+			stmt.executeBatch();
+			fail();
+		} catch (BatchUpdateException e) {
+			assertArrayEquals(new int[] { Statement.EXECUTE_FAILED, Statement.EXECUTE_FAILED, Statement.EXECUTE_FAILED }, e.getUpdateCounts());
+		}
+		verify(transaction).failure();
+		verify(transaction).close();
+	}
+
+	@Test public void executeBatchPipelinedShouldReturnPartialCountsOnErrorInTransaction() throws SQLException {
+		BoltNeo4jConnectionImpl connection = Mocker.mockConnectionOpen();
+		Mockito.when(connection.isBatchPipeline()).thenReturn(true);
+		Mockito.when(connection.getBatchPipelineInFlight()).thenReturn(100);
+		Mockito.when(connection.getAutoCommit()).thenReturn(false);
+
+		Statement stmt = BoltNeo4jStatement.newInstance(false, connection);
+		stmt.addBatch("MATCH n WHERE id(n) = 1 SET n.property=1");
+		stmt.addBatch("MATCH n WHERE id(n) = 2 SET n.property=2");
+		stmt.addBatch("MATCH n WHERE id(n) = 3 SET n.property=3");
+
+		Transaction transaction = Mockito.mock(Transaction.class);
+		StatementResult stmtResult = Mockito.mock(StatementResult.class);
+		ResultSummary resultSummary = Mockito.mock(ResultSummary.class);
+		SummaryCounters summaryCounters = Mockito.mock(SummaryCounters.class);
+
+		Mockito.when(connection.getTransaction()).thenReturn(transaction);
+		Mockito.when(transaction.run(anyString())).thenReturn(stmtResult);
+		Mockito.when(stmtResult.consume()).thenReturn(resultSummary).thenThrow(RuntimeException.class);
+		Mockito.when(resultSummary.counters()).thenReturn(summaryCounters);
+		Mockito.when(summaryCounters.nodesCreated()).thenReturn(1);
+
+		try {
+			stmt.executeBatch();
+			fail();
+		} catch (BatchUpdateException e) {
+			assertArrayEquals(new int[] { 1 }, e.getUpdateCounts());
+		}
+		verify(transaction, never()).close();
+	}
+
+	@Test public void executeBatchShouldWaitForTheBookmarkWhenItMattersInAutoCommit() throws SQLException {
+		BoltNeo4jConnectionImpl connection = Mocker.mockConnectionOpen();
+		Mockito.when(connection.getAutoCommit()).thenReturn(true);
+
+		Statement stmt = BoltNeo4jStatement.newInstance(false, connection);
+		stmt.addBatch("MATCH n WHERE id(n) = 1 SET n.property=1");
+		stmt.addBatch("MATCH n WHERE id(n) = 2 SET n.property=2");
+
+		Session session = Mockito.mock(Session.class);
+		Session bookmarkedSession = Mockito.mock(Session.class);
+		Transaction transaction = Mockito.mock(Transaction.class);
+		StatementResult stmtResult = Mockito.mock(StatementResult.class);
+		ResultSummary resultSummary = Mockito.mock(ResultSummary.class);
+		SummaryCounters summaryCounters = Mockito.mock(SummaryCounters.class);
+
+		Mockito.when(bookmarkedSession.beginTransaction()).thenReturn(transaction);
+		Mockito.when(transaction.run(anyString())).thenReturn(stmtResult);
+		Mockito.when(stmtResult.consume()).thenReturn(resultSummary);
+		Mockito.when(resultSummary.counters()).thenReturn(summaryCounters);
+		Mockito.when(summaryCounters.nodesCreated()).thenReturn(1);
+		Mockito.when(connection.getSession()).thenReturn(session);
+		Mockito.when(connection.getBookmarkFor(session)).thenReturn("neo4j:bookmark:v1:tx3");
+		Mockito.when(connection.awaitBookmark(session)).thenReturn(bookmarkedSession);
+
+		assertArrayEquals(new int[] { 1, 1 }, stmt.executeBatch());
+		verify(session, never()).run(anyString());
+		verify(bookmarkedSession, never()).run(anyString());
+		verify(transaction, times(2)).success();
+		verify(connection, times(2)).captureBookmark(bookmarkedSession);
+	}
+
 	@Test public void executeBatchShouldThrowExceptionOnClosed() throws SQLException {
 		expectedEx.expect(SQLException.class);
 
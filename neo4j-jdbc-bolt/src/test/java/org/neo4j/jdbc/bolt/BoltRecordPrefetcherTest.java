@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 18/10/26
+ */
+package org.neo4j.jdbc.bolt;
+
+import org.junit.Test;
+import org.neo4j.driver.v1.Record;
+import org.neo4j.driver.v1.StatementResult;
+
+import java.sql.SQLException;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author AgileLARUS
+ * @since 3.2.0
+ */
+public class BoltRecordPrefetcherTest {
+
+	@Test public void nextShouldReturnAllTheRecordsInOrder() throws SQLException {
+		Record first = mock(Record.class);
+		Record second = mock(Record.class);
+		Record third = mock(Record.class);
+		StatementResult result = mock(StatementResult.class);
+		when(result.hasNext()).thenReturn(true, true, true, false);
+		when(result.next()).thenReturn(first, second, third);
+
+		BoltRecordPrefetcher prefetcher = BoltRecordPrefetcher.start(result, 1);
+
+		assertSame(first, prefetcher.next());
+		assertSame(second, prefetcher.next());
+		assertSame(third, prefetcher.next());
+		assertNull(prefetcher.next());
+	}
+
+	@Test public void nextShouldKeepTheOrderOnceStopped() throws SQLException {
+		Record first = mock(Record.class);
+		Record second = mock(Record.class);
+		Record third = mock(Record.class);
+		StatementResult result = mock(StatementResult.class);
+		when(result.hasNext()).thenReturn(true, true, true, false);
+		when(result.next()).thenReturn(first, second, third);
+
+		BoltRecordPrefetcher prefetcher = BoltRecordPrefetcher.start(result, 2);
+
+		assertSame(first, prefetcher.next());
+		prefetcher.stop();
+		assertSame(second, prefetcher.next());
+		assertSame(third, prefetcher.next());
+		assertNull(prefetcher.next());
+	}
+
+	@Test public void readerShouldGiveUpOnAnAbandonedResult() throws Exception {
+		Record first = mock(Record.class);
+		Record second = mock(Record.class);
+		Record third = mock(Record.class);
+		StatementResult result = mock(StatementResult.class);
+		when(result.hasNext()).thenReturn(true, true, true, false);
+		when(result.next()).thenReturn(first, second, third);
+
+		BoltRecordPrefetcher prefetcher = BoltRecordPrefetcher.start(result, 1, 50);
+
+		for (int i = 0; i < 200 && prefetcher.isReading(); i++) {
+			Thread.sleep(10);
+		}
+		assertFalse(prefetcher.isReading());
+		verify(result, times(2)).next();
+
+		assertSame(first, prefetcher.next());
+		assertSame(second, prefetcher.next());
+		assertSame(third, prefetcher.next());
+		assertNull(prefetcher.next());
+	}
+
+	@Test public void nextShouldThrowTheFailureOfTheReader() throws SQLException {
+		Record first = mock(Record.class);
+		StatementResult result = mock(StatementResult.class);
+		when(result.hasNext()).thenReturn(true).thenThrow(new RuntimeException("Connection lost"));
+		when(result.next()).thenReturn(first);
+
+		BoltRecordPrefetcher prefetcher = BoltRecordPrefetcher.start(result, 10);
+
+		assertSame(first, prefetcher.next());
+		try {
+			prefetcher.next();
+			fail();
+		} catch (SQLException e) {
+			assertEquals("Connection lost", e.getCause().getMessage());
+		}
+	}
+}
@@ -24,6 +24,8 @@ import org.mockito.Mockito;
 import org.neo4j.driver.v1.AuthTokens;
 import org.neo4j.driver.v1.GraphDatabase;
 import org.neo4j.driver.v1.Session;
+import org.neo4j.driver.v1.types.Type;
+import org.neo4j.jdbc.utils.Neo4jInvocationHandler;
 import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.infra.Blackhole;
 import org.openjdk.jmh.runner.Runner;
@@ -33,7 +35,10 @@ import org.openjdk.jmh.runner.options.TimeValue;
 
 import java.io.IOException;
 import java.io.PrintStream;
+import java.lang.reflect.Proxy;
 import java.sql.*;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -89,6 +94,21 @@ public class SamplePT {
 		public String query = "MATCH (n) RETURN n";
 	}
 
+	/**
+	 * The same metadata handed out plain, as without debug, and behind the logging-free proxy used before,
+	 * to measure the cost of the proxy alone on a cheap JDBC call.
+	 */
+	@State(Scope.Thread) public static class Wrapping {
+		public ResultSetMetaData plain;
+		public ResultSetMetaData proxied;
+
+		@Setup public void initialize() {
+			plain = BoltNeo4jResultSetMetaData.newInstance(false, Collections.<Type>emptyList(), Arrays.asList("n", "m"));
+			proxied = (ResultSetMetaData) Proxy.newProxyInstance(BoltNeo4jResultSetMetaData.class.getClassLoader(), new Class<?>[] { ResultSetMetaData.class },
+					new Neo4jInvocationHandler(plain, false));
+		}
+	}
+
 	@Benchmark public void testSimpleQueryJDBC(Data data, Blackhole bh) throws ClassNotFoundException, SQLException {
 		Connection conn = DriverManager.getConnection("jdbc:neo4j:bolt://localhost:7687?user=neo4j,password=test");
 		Statement stmt = conn.createStatement();
@@ -115,4 +135,14 @@ public class SamplePT {
 		stmt.close();
 		conn.close();
 	}
+
+	@Benchmark public void testMetaDataCallPlain(Wrapping data, Blackhole bh) throws SQLException {
+		bh.consume(data.plain.getColumnCount());
+		bh.consume(data.plain.getColumnLabel(1));
+	}
+
+	@Benchmark public void testMetaDataCallProxied(Wrapping data, Blackhole bh) throws SQLException {
+		bh.consume(data.proxied.getColumnCount());
+		bh.consume(data.proxied.getColumnLabel(1));
+	}
 }
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 18/10/26
+ */
+package org.neo4j.jdbc.bolt.bulk;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.neo4j.driver.v1.AccessMode;
+import org.neo4j.driver.v1.Driver;
+import org.neo4j.driver.v1.Session;
+import org.neo4j.driver.v1.StatementResult;
+import org.neo4j.driver.v1.Transaction;
+import org.neo4j.driver.v1.exceptions.ClientException;
+import org.neo4j.driver.v1.exceptions.TransientException;
+import org.neo4j.driver.v1.summary.ResultSummary;
+import org.neo4j.driver.v1.summary.SummaryCounters;
+
+import java.sql.SQLException;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyMap;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author AgileLARUS
+ * @since 3.2.0
+ */
+public class BoltNeo4jBulkWriterTest {
+
+	@Rule public ExpectedException expectedEx = ExpectedException.none();
+
+	private Driver      driver;
+	private Session     session;
+	private Transaction transaction;
+
+	@Before public void setUp() {
+		StatementResult result = mock(StatementResult.class);
+		ResultSummary summary = mock(ResultSummary.class);
+		SummaryCounters counters = mock(SummaryCounters.class);
+		when(result.consume()).thenReturn(summary);
+		when(summary.counters()).thenReturn(counters);
+		when(counters.nodesCreated()).thenReturn(1);
+
+		transaction = mock(Transaction.class);
+		when(transaction.run(anyString(), anyMap())).thenReturn(result);
+		session = mock(Session.class);
+		when(session.beginTransaction()).thenReturn(transaction);
+		driver = mock(Driver.class);
+		when(driver.session(AccessMode.WRITE)).thenReturn(session);
+	}
+
+	@Test public void flushShouldAggregateTheUpdateCountsOfAllTheSessions() throws SQLException {
+		BoltNeo4jBulkWriter writer = new BoltNeo4jBulkWriter(driver, "CREATE (:User {id: ?})", 3, 2, 1, 0, false);
+		for (int i = 0; i < 10; i++) {
+			writer.addBatch(i);
+		}
+
+		assertEquals(10, writer.flush());
+		writer.close();
+
+		verify(driver, times(3)).session(AccessMode.WRITE);
+		verify(session, times(5)).beginTransaction();
+		verify(session, times(3)).close();
+		assertTrue(writer.isClosed());
+	}
+
+	@Test public void chunksShouldBeUnwoundWhenRequested() throws SQLException {
+		BoltNeo4jBulkWriter writer = new BoltNeo4jBulkWriter(driver, "CREATE (:User {id: ?})", 1, 5, 1, 0, true);
+		for (int i = 0; i < 5; i++) {
+			writer.addBatch(i);
+		}
+		writer.close();
+
+		verify(transaction, times(1)).run(eq("UNWIND {__jdbc_batch_rows} AS __jdbc_batch_row CREATE (:User {id: __jdbc_batch_row.`1`})"), anyMap());
+	}
+
+	@Test public void transientErrorsShouldBeRetried() throws SQLException {
+		StatementResult result = transaction.run("", (Map<String, Object>) null);
+		when(transaction.run(anyString(), anyMap())).thenThrow(new TransientException("Neo.TransientError.Transaction.DeadlockDetected", "Deadlock"))
+				.thenReturn(result);
+
+		BoltNeo4jBulkWriter writer = new BoltNeo4jBulkWriter(driver, "CREATE (:User {id: ?})", 1, 1, 1, 1, false);
+		writer.addBatch(1);
+
+		assertEquals(1, writer.flush());
+		assertEquals(1, writer.getRetryCount());
+		writer.close();
+	}
+
+	@Test public void flushShouldThrowTheFirstFailure() throws SQLException {
+		expectedEx.expect(SQLException.class);
+		when(transaction.run(anyString(), anyMap())).thenThrow(new ClientException("Neo.ClientError.Statement.SyntaxError", "Invalid input"));
+
+		BoltNeo4jBulkWriter writer = new BoltNeo4jBulkWriter(driver, "CREATE (:User {id: ?})", 2, 1, 1, 5, false);
+		writer.addBatch(1);
+		writer.addBatch(2);
+
+		try {
+			writer.flush();
+		} finally {
+			assertEquals(0, writer.getRetryCount());
+			try {
+				writer.close();
+			} catch (SQLException e) {
+				assertTrue(writer.isClosed());
+			}
+		}
+	}
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 18/10/26
+ */
+package org.neo4j.jdbc.bolt.cache;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.neo4j.driver.v1.AuthToken;
+import org.neo4j.driver.v1.Config;
+import org.neo4j.driver.v1.Driver;
+import org.neo4j.driver.v1.GraphDatabase;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author AgileLARUS
+ * @since 3.2.0
+ */
+@RunWith(PowerMockRunner.class) @PrepareForTest({ GraphDatabase.class }) public class BoltDriverCacheTest {
+
+	private static final String BOLT_URL = "bolt://test";
+
+	private BoltDriverCache cache;
+
+	@Before public void setUp() {
+		cache = new BoltDriverCache();
+		PowerMockito.mockStatic(GraphDatabase.class);
+		Mockito.when(GraphDatabase.driver(anyString(), any(AuthToken.class), any(Config.class))).thenAnswer(new Answer<Driver>() {
+			@Override public Driver answer(InvocationOnMock invocation) {
+				return mock(Driver.class);
+			}
+		});
+	}
+
+	private BoltDriverCacheKey key(String url, String user) {
+		Properties properties = new Properties();
+		if (user != null) {
+			properties.setProperty("user", user);
+			properties.setProperty("password", "test");
+		}
+		properties.setProperty("nossl", "true");
+		return new BoltDriverCacheKey(url, properties, "nossl", "trust.strategy");
+	}
+
+	@Test public void acquireShouldShareTheDriverForEqualKeys() {
+		Driver first = cache.acquire(key(BOLT_URL, "neo4j"), BOLT_URL, null, null, 0);
+		Driver second = cache.acquire(key("BOLT://TEST/", "neo4j"), BOLT_URL, null, null, 0);
+
+		assertSame(first, second);
+		assertEquals(1, cache.size());
+		assertEquals(2, cache.getReferenceCount(key(BOLT_URL, "neo4j")));
+	}
+
+	@Test public void acquireShouldNotShareTheDriverForDifferentCredentials() {
+		Driver first = cache.acquire(key(BOLT_URL, "neo4j"), BOLT_URL, null, null, 0);
+		Driver second = cache.acquire(key(BOLT_URL, "other"), BOLT_URL, null, null, 0);
+
+		assertNotSame(first, second);
+		assertEquals(2, cache.size());
+	}
+
+	@Test public void releaseShouldCloseTheDriverWhenNoMoreReferenced() {
+		Driver driver = cache.acquire(key(BOLT_URL, null), BOLT_URL, null, null, 0);
+		cache.acquire(key(BOLT_URL, null), BOLT_URL, null, null, 0);
+
+		cache.release(driver);
+		verify(driver, never()).close();
+		assertEquals(1, cache.size());
+
+		cache.release(driver);
+		verify(driver, times(1)).close();
+		assertEquals(0, cache.size());
+	}
+
+	@Test public void releaseShouldKeepTheDriverDuringTheIdleTimeout() {
+		Driver driver = cache.acquire(key(BOLT_URL, null), BOLT_URL, null, null, 60000);
+		cache.release(driver);
+
+		verify(driver, never()).close();
+		assertSame(driver, cache.acquire(key(BOLT_URL, null), BOLT_URL, null, null, 60000));
+	}
+
+	@Test public void idleDriversShouldBeClosedWithoutFurtherCalls() throws InterruptedException {
+		Driver driver = cache.acquire(key(BOLT_URL, null), BOLT_URL, null, null, 50);
+		cache.release(driver);
+
+		verify(driver, timeout(2000).times(1)).close();
+		assertEquals(0, cache.size());
+	}
+
+	@Test public void acquireShouldNotWaitForTheDriverOfAnotherKey() throws Exception {
+		final CountDownLatch creating = new CountDownLatch(1);
+		final CountDownLatch slow = new CountDownLatch(1);
+		final AtomicBoolean created = new AtomicBoolean();
+		Mockito.when(GraphDatabase.driver(Mockito.eq("bolt://slow"), any(AuthToken.class), any(Config.class))).thenAnswer(new Answer<Driver>() {
+			@Override public Driver answer(InvocationOnMock invocation) throws InterruptedException {
+				creating.countDown();
+				slow.await(5, TimeUnit.SECONDS);
+				created.set(true);
+				return mock(Driver.class);
+			}
+		});
+		Thread thread = new Thread(new Runnable() {
+			@Override public void run() {
+				cache.acquire(key("bolt://slow", null), "bolt://slow", null, null, 0);
+			}
+		});
+		thread.start();
+
+		try {
+			assertTrue(creating.await(5, TimeUnit.SECONDS));
+			assertNotNull(cache.acquire(key(BOLT_URL, null), BOLT_URL, null, null, 0));
+			assertFalse(created.get());
+			assertEquals(1, cache.getReferenceCount(key("bolt://slow", null)));
+		} finally {
+			slow.countDown();
+			thread.join();
+		}
+	}
+
+	@Test public void releaseShouldIgnoreUnknownDrivers() {
+		Driver driver = mock(Driver.class);
+		cache.release(driver);
+		verify(driver, never()).close();
+	}
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 18/10/26
+ */
+package org.neo4j.jdbc.bolt.pool;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.neo4j.jdbc.bolt.impl.BoltNeo4jConnectionImpl;
+
+import javax.sql.ConnectionPoolDataSource;
+import javax.sql.PooledConnection;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author AgileLARUS
+ * @since 3.2.0
+ */
+public class BoltNeo4jConnectionPoolTest {
+
+	@Rule public ExpectedException expectedEx = ExpectedException.none();
+
+	private ConnectionPoolDataSource dataSource;
+	private List<Connection>         physicalConnections;
+	private BoltNeo4jConnectionPool  pool;
+
+	@Before public void setUp() throws SQLException {
+		physicalConnections = new ArrayList<>();
+		dataSource = mock(ConnectionPoolDataSource.class);
+		when(dataSource.getPooledConnection()).thenAnswer(new Answer<PooledConnection>() {
+			@Override public PooledConnection answer(InvocationOnMock invocation) throws Throwable {
+				Connection connection = mock(Connection.class);
+				when(connection.getAutoCommit()).thenReturn(true);
+				when(connection.isValid(anyInt())).thenReturn(true);
+				physicalConnections.add(connection);
+				return new BoltNeo4jPooledConnection(connection);
+			}
+		});
+	}
+
+	@After public void tearDown() {
+		if (pool != null) {
+			pool.close();
+		}
+	}
+
+	@Test public void borrowShouldReuseGivenBackConnections() throws SQLException {
+		pool = new BoltNeo4jConnectionPool(dataSource, 0, 2, 0, 0, 1000, 1);
+
+		Connection first = pool.borrow();
+		first.close();
+		Connection second = pool.borrow();
+		second.isReadOnly();
+
+		assertEquals(1, physicalConnections.size());
+		verify(physicalConnections.get(0), never()).close();
+		assertTrue(first.isClosed());
+		assertFalse(second.isClosed());
+	}
+
+	@Test public void closedHandleShouldNotBeUsable() throws SQLException {
+		expectedEx.expect(SQLException.class);
+		pool = new BoltNeo4jConnectionPool(dataSource, 0, 1, 0, 0, 1000, 1);
+
+		Connection connection = pool.borrow();
+		connection.close();
+		connection.createStatement();
+	}
+
+	@Test public void borrowShouldTimeoutWhenThePoolIsExhausted() throws SQLException {
+		expectedEx.expect(SQLTimeoutException.class);
+		pool = new BoltNeo4jConnectionPool(dataSource, 0, 1, 0, 0, 50, 1);
+
+		pool.borrow();
+		try {
+			pool.borrow();
+		} finally {
+			assertEquals(1, pool.getStatistics().getTimeouts());
+		}
+	}
+
+	@Test public void borrowShouldReplaceInvalidConnections() throws SQLException {
+		pool = new BoltNeo4jConnectionPool(dataSource, 0, 1, 0, 0, 1000, 1);
+
+		pool.borrow().close();
+		when(physicalConnections.get(0).isValid(anyInt())).thenReturn(false);
+		pool.borrow();
+
+		assertEquals(2, physicalConnections.size());
+		verify(physicalConnections.get(0), times(1)).close();
+	}
+
+	@Test public void givingBackShouldRollbackPendingTransactions() throws SQLException {
+		pool = new BoltNeo4jConnectionPool(dataSource, 0, 1, 0, 0, 1000, 1);
+
+		Connection connection = pool.borrow();
+		when(physicalConnections.get(0).getAutoCommit()).thenReturn(false);
+		connection.close();
+
+		verify(physicalConnections.get(0), times(1)).rollback();
+		verify(physicalConnections.get(0), times(1)).setAutoCommit(true);
+	}
+
+	@Test public void statementsShouldLeadBackToTheLogicalConnection() throws SQLException {
+		pool = new BoltNeo4jConnectionPool(dataSource, 0, 1, 0, 0, 1000, 1);
+
+		Connection connection = pool.borrow();
+		Statement physicalStatement = mock(Statement.class);
+		ResultSet physicalResultSet = mock(ResultSet.class);
+		when(physicalConnections.get(0).createStatement()).thenReturn(physicalStatement);
+		when(physicalStatement.executeQuery(anyString())).thenReturn(physicalResultSet);
+		when(physicalConnections.get(0).getMetaData()).thenReturn(mock(DatabaseMetaData.class));
+
+		Statement statement = connection.createStatement();
+		assertSame(connection, statement.getConnection());
+		assertSame(statement, statement.executeQuery("MATCH (n) RETURN n").getStatement());
+		assertSame(connection, connection.getMetaData().getConnection());
+		verify(physicalStatement, never()).getConnection();
+	}
+
+	@Test public void handleShouldNotUnwrapToThePhysicalConnection() throws SQLException {
+		pool = new BoltNeo4jConnectionPool(dataSource, 0, 1, 0, 0, 1000, 1);
+		Connection connection = pool.borrow();
+
+		assertSame(connection, connection.unwrap(Connection.class));
+		assertTrue(connection.isWrapperFor(Connection.class));
+		assertFalse(connection.isWrapperFor(BoltNeo4jConnectionImpl.class));
+		verify(physicalConnections.get(0), never()).unwrap(any(Class.class));
+		verify(physicalConnections.get(0), never()).isWrapperFor(any(Class.class));
+
+		expectedEx.expect(SQLException.class);
+		connection.unwrap(BoltNeo4jConnectionImpl.class);
+	}
+
+	@Test public void statementsShouldNotBeUsableOnceTheHandleIsClosed() throws SQLException {
+		pool = new BoltNeo4jConnectionPool(dataSource, 0, 1, 0, 0, 1000, 1);
+
+		Connection connection = pool.borrow();
+		Statement physicalStatement = mock(Statement.class);
+		when(physicalConnections.get(0).createStatement()).thenReturn(physicalStatement);
+		Statement statement = connection.createStatement();
+		connection.close();
+
+		verify(physicalStatement, times(1)).close();
+		assertTrue(statement.isClosed());
+		try {
+			statement.executeQuery("MATCH (n) RETURN n");
+			fail();
+		} catch (SQLException e) {
+			verify(physicalStatement, never()).executeQuery(anyString());
+		}
+	}
+
+	@Test public void givingBackShouldCloseTheStreamingTransaction() throws SQLException {
+		BoltNeo4jConnectionImpl physicalConnection = mock(BoltNeo4jConnectionImpl.class);
+		when(physicalConnection.getAutoCommit()).thenReturn(true);
+		when(physicalConnection.isWrapperFor(BoltNeo4jConnectionImpl.class)).thenReturn(true);
+		when(physicalConnection.unwrap(BoltNeo4jConnectionImpl.class)).thenReturn(physicalConnection);
+		BoltNeo4jPooledConnection pooledConnection = new BoltNeo4jPooledConnection(physicalConnection);
+
+		pooledConnection.getConnection().close();
+
+		verify(physicalConnection, times(1)).closeStreamingTransaction();
+		verify(physicalConnection, never()).close();
+	}
+
+	@Test public void statisticsShouldCountActiveAndIdleConnections() throws SQLException {
+		pool = new BoltNeo4jConnectionPool(dataSource, 0, 3, 0, 0, 1000, 1);
+
+		Connection first = pool.borrow();
+		pool.borrow();
+		first.close();
+
+		PoolStatistics statistics = pool.getStatistics();
+		assertEquals(1, statistics.getActive());
+		assertEquals(1, statistics.getIdle());
+		assertEquals(2, statistics.getTotal());
+		assertEquals(2, statistics.getAcquisitions());
+		long waits = 0;
+		for (long count : statistics.getWaitTimeHistogram()) {
+			waits += count;
+		}
+		assertEquals(2, waits);
+	}
+
+	@Test public void housekeepShouldFillTheMinSizeAndEvictIdleConnections() throws SQLException, InterruptedException {
+		pool = new BoltNeo4jConnectionPool(dataSource, 1, 3, 10, 0, 1000, 1);
+
+		pool.housekeep();
+		assertEquals(1, pool.getStatistics().getIdle());
+
+		Connection first = pool.borrow();
+		Connection second = pool.borrow();
+		first.close();
+		second.close();
+		Thread.sleep(20);
+		pool.housekeep();
+
+		assertEquals(1, pool.getStatistics().getTotal());
+	}
+
+	@Test public void housekeepShouldNotOpenMoreThanTheMaxSizeWhileBorrowersOpenConnections() throws Exception {
+		final CountDownLatch opening = new CountDownLatch(1);
+		final CountDownLatch opened = new CountDownLatch(1);
+		final Answer<PooledConnection> open = new Answer<PooledConnection>() {
+			@Override public PooledConnection answer(InvocationOnMock invocation) throws Throwable {
+				Connection connection = mock(Connection.class);
+				when(connection.getAutoCommit()).thenReturn(true);
+				physicalConnections.add(connection);
+				return new BoltNeo4jPooledConnection(connection);
+			}
+		};
+		doAnswer(new Answer<PooledConnection>() {
+			@Override public PooledConnection answer(InvocationOnMock invocation) throws Throwable {
+				opening.countDown();
+				opened.await(5, TimeUnit.SECONDS);
+				return open.answer(invocation);
+			}
+		}).doAnswer(open).when(dataSource).getPooledConnection();
+		pool = new BoltNeo4jConnectionPool(dataSource, 1, 1, 0, 0, 1000, 1);
+
+		Thread borrower = new Thread(new Runnable() {
+			@Override public void run() {
+				try {
+					pool.borrow();
+				} catch (SQLException e) {
+					throw new IllegalStateException(e);
+				}
+			}
+		});
+		borrower.start();
+		assertTrue(opening.await(5, TimeUnit.SECONDS));
+		pool.housekeep();
+		opened.countDown();
+		borrower.join(5000);
+
+		verify(dataSource, times(1)).getPooledConnection();
+		assertEquals(1, pool.getStatistics().getTotal());
+	}
+
+	@Test public void closeShouldCloseIdleConnections() throws SQLException {
+		pool = new BoltNeo4jConnectionPool(dataSource, 0, 1, 0, 0, 1000, 1);
+
+		pool.borrow().close();
+		pool.close();
+
+		verify(physicalConnections.get(0), times(1)).close();
+		assertTrue(pool.isClosed());
+	}
+}
@@ -25,8 +25,6 @@ import org.neo4j.jdbc.http.driver.Neo4jResponse;
 import org.neo4j.jdbc.http.driver.Neo4jStatement;
 import org.neo4j.jdbc.impl.Neo4jConnectionImpl;
 import org.neo4j.jdbc.utils.ExceptionBuilder;
-import org.neo4j.jdbc.utils.Neo4jJdbcRuntimeException;
-import org.neo4j.jdbc.utils.TimeLimitedCodeBlock;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
@@ -34,7 +32,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
-import java.util.concurrent.TimeUnit;
 
 public class HttpNeo4jConnection extends Neo4jConnectionImpl implements Loggable {
 
@@ -96,9 +93,46 @@ public class HttpNeo4jConnection extends Neo4jConnectionImpl implements Loggable
 	 * @throws SQLException sqlexception
 	 */
 	public Neo4jResponse executeQuery(final String query, Map<String, Object> parameters, Boolean stats) throws SQLException {
+		return this.executeQuery(query, parameters, stats, false);
+	}
+
+	/**
+	 * Execute a cypher query, streaming its rows if asked : they are then read from the server as the result set moves.
+	 *
+	 * @param query      Cypher query
+	 * @param parameters Parameter of the cypher query
+	 * @param stats      Do we need to include stats ?
+	 * @param stream     Do we stream the rows ?
+	 * @return ...
+	 * @throws SQLException sqlexception
+	 */
+	public Neo4jResponse executeQuery(final String query, Map<String, Object> parameters, Boolean stats, boolean stream) throws SQLException {
+		checkClosed();
+		checkReadOnly(query);
+		return executor.executeQuery(new Neo4jStatement(query, parameters, stats), 0, stream);
+	}
+
+	/**
+	 * Defer an update until the next request of the transaction, if the write deferral is enabled in manual commit mode.
+	 *
+	 * @param query      Cypher query
+	 * @param parameters Parameter of the cypher query
+	 * @return true if the update is deferred, false if it must be executed now
+	 * @throws SQLException sqlexception
+	 */
+	public boolean deferUpdate(final String query, Map<String, Object> parameters) throws SQLException {
 		checkClosed();
 		checkReadOnly(query);
-		return executor.executeQuery(new Neo4jStatement(query, parameters, stats));
+		return executor.defer(new Neo4jStatement(query, parameters, Boolean.TRUE));
+	}
+
+	/**
+	 * Abort the running queries of the connection, the opened transaction is rolled back by the thread executing them.
+	 *
+	 * @throws SQLException sqlexception
+	 */
+	public void abort() throws SQLException {
+		executor.abort();
 	}
 
 	@Override public Neo4jDatabaseMetaData getMetaData() throws SQLException {
@@ -207,24 +241,19 @@ public class HttpNeo4jConnection extends Neo4jConnectionImpl implements Loggable
 		if (this.isClosed()) {
 			return false;
 		}
+		if (this.isRecentlyAlive()) {
+			return true;
+		}
 
-		Runnable r = new Runnable() {
-			@Override public void run() {
-				try {
-					executor.executeQuery(new Neo4jStatement(FASTEST_STATEMENT, null, null));
-				} catch (Exception e) {
-					throw new Neo4jJdbcRuntimeException(e);
-				}
-			}
-		};
-
+		// the timeout is enforced by the http client, without an extra thread
 		try {
-			TimeLimitedCodeBlock.runWithTimeout(r, timeout, TimeUnit.SECONDS);
+			executor.executeQueryAlone(new Neo4jStatement(FASTEST_STATEMENT, null, null), timeout);
 		}
-		catch (Exception e) { // also timeout
+		catch (Exception e) {
 			return false;
 		}
 
+		this.markAlive();
 		return true;
 	}
 
@@ -26,7 +26,12 @@ import java.sql.BatchUpdateException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledFuture;
 
 public class HttpNeo4jPreparedStatement extends Neo4jPreparedStatement implements Loggable {
 
@@ -42,28 +47,46 @@ public class HttpNeo4jPreparedStatement extends Neo4jPreparedStatement implement
 
 	@Override public ResultSet executeQuery() throws SQLException {
 		checkClosed();
-		this.execute();
+		this.execute(true);
 		return currentResultSet;
 	}
 
 	@Override public int executeUpdate() throws SQLException {
 		checkClosed();
+		// A deferred update is sent later, with its transaction, so its parameters are copied
+		// Its update count isn't known yet: 0 is reported, executeUpdate can't return SUCCESS_NO_INFO
+		if (((HttpNeo4jConnection) getConnection()).deferUpdate(this.statement, new HashMap<>(this.parameters))) {
+			this.currentResultSet = null;
+			this.currentUpdateCount = 0;
+			return currentUpdateCount;
+		}
 		this.execute();
 		return currentUpdateCount;
 	}
 
 	@Override public boolean execute() throws SQLException {
+		return this.execute(false);
+	}
+
+	/**
+	 * Execute the query, streaming the rows of its result set if asked.
+	 * The update count of a streamed result set is unknown until its last row.
+	 */
+	private boolean execute(boolean stream) throws SQLException {
 		checkClosed();
 
 		// execute the statement
-		Neo4jResponse response = ((HttpNeo4jConnection) getConnection()).executeQuery(this.statement, this.parameters, Boolean.TRUE);
-
-		if (response.hasErrors()) {
-			throw new SQLException(response.displayErrors());
+		ScheduledFuture<?> timeout = this.beginExecution();
+		Neo4jResponse response;
+		try {
+			response = this.executeWith(this.parameters, stream);
+		} catch (Exception e) {
+			throw this.executionFailure(timeout, e);
 		}
-		
-		// Parse stats
-		this.currentUpdateCount = response.getFirstResult().getUpdateCount();
+		this.endExecution(timeout);
+
+		// Parse stats, which follow the rows when they are streamed
+		this.currentUpdateCount = response.getFirstResult().isStreamed() ? -1 : response.getFirstResult().getUpdateCount();
 
 		// Parse response data
 		boolean hasResultSets = response.hasResultSets();
@@ -73,6 +96,58 @@ public class HttpNeo4jPreparedStatement extends Neo4jPreparedStatement implement
 		return hasResultSets;
 	}
 
+	/**
+	 * The executor of the connection handles one request at a time, so the asynchronous executions
+	 * of all the statements of the connection run one at a time, even in auto-commit.
+	 */
+	@Override protected <T> CompletionStage<T> executeAsync(final Callable<T> execution) {
+		return super.executeAsync(new Callable<T>() {
+			@Override public T call() throws Exception {
+				synchronized (connection) {
+					return execution.call();
+				}
+			}
+		});
+	}
+
+	/**
+	 * The parameters are copied when called.
+	 */
+	@Override public CompletionStage<ResultSet> executeQueryAsync() {
+		final Map<String, Object> params = new HashMap<>(this.parameters);
+		return this.executeAsync(new Callable<ResultSet>() {
+			@Override public ResultSet call() throws SQLException {
+				Neo4jResponse response = executeWith(params);
+				return response.hasResultSets() ? new HttpNeo4jResultSet(HttpNeo4jPreparedStatement.this, response.getFirstResult()) : null;
+			}
+		});
+	}
+
+	/**
+	 * The parameters are copied when called.
+	 */
+	@Override public CompletionStage<Integer> executeUpdateAsync() {
+		final Map<String, Object> params = new HashMap<>(this.parameters);
+		return this.executeAsync(new Callable<Integer>() {
+			@Override public Integer call() throws SQLException {
+				return executeWith(params).getFirstResult().getUpdateCount();
+			}
+		});
+	}
+
+	private Neo4jResponse executeWith(Map<String, Object> params) throws SQLException {
+		return this.executeWith(params, false);
+	}
+
+	private Neo4jResponse executeWith(Map<String, Object> params, boolean stream) throws SQLException {
+		Neo4jResponse response = ((HttpNeo4jConnection) getConnection()).executeQuery(this.statement, params, Boolean.TRUE, stream);
+
+		if (response.hasErrors()) {
+			throw new SQLException(response.displayErrors());
+		}
+		return response;
+	}
+
 	@Override public Neo4jResultSetMetaData getMetaData() throws SQLException {
 		return new HttpNeo4jResultSetMetaData(((HttpNeo4jResultSet) this.currentResultSet).result);
 	}
@@ -100,13 +175,31 @@ public class HttpNeo4jPreparedStatement extends Neo4jPreparedStatement implement
 
 	@Override public int[] executeBatch() throws SQLException {
 		this.checkClosed();
+		ScheduledFuture<?> timeout = this.beginExecution();
+		int[] result;
+		try {
+			result = this.executeBatchInChunks();
+		} catch (Exception e) {
+			throw this.executionFailure(timeout, e);
+		}
+		this.endExecution(timeout);
+		return result;
+	}
+
+	/**
+	 * Abort the running request of the connection, rolling back its opened transaction.
+	 */
+	@Override protected void cancelExecution() throws SQLException {
+		((HttpNeo4jConnection) getConnection()).abort();
+	}
 
+	@Override protected int[] executeBatchChunk(List<Map<String, Object>> rows) throws SQLException {
 		List<String> queries = new ArrayList<>();
-		for (int i = 0; i < batchParameters.size(); i++) {
+		for (int i = 0; i < rows.size(); i++) {
 			queries.add(this.statement);
 		}
 		// execute batch queries
-		Neo4jResponse response = ((HttpNeo4jConnection) getConnection()).executeQueries(queries, batchParameters, Boolean.TRUE);
+		Neo4jResponse response = ((HttpNeo4jConnection) getConnection()).executeQueries(queries, rows, Boolean.TRUE);
 
 		// proceed the result
 		int[] result = new int[response.getResults().size()];
@@ -115,11 +208,12 @@ public class HttpNeo4jPreparedStatement extends Neo4jPreparedStatement implement
 		}
 
 		// we check if there is some error into the response => batch exception
+		// in auto-commit the chunk is a single transaction, none of its rows is left once it's rolled back
 		if (response.getErrors() != null && response.getErrors().size() > 0) {
-			throw new BatchUpdateException(result, response.getErrors().get(0).getCause());
+			throw new BatchUpdateException(this.connection.getAutoCommit() ? new int[0] : result, response.getErrors().get(0).getCause());
 		}
 		// if no exception and we don't have the same cardinality between queries & result => batch exception
-		if (response.getResults().size() != batchParameters.size()) {
+		if (response.getResults().size() != rows.size()) {
 			throw new BatchUpdateException("Result size doesn't match queries size", result);
 		}
 
@@ -33,6 +33,7 @@ import java.sql.*;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 /**
  * ResultSet for the HTTP connector.
@@ -138,6 +139,11 @@ public class HttpNeo4jResultSet extends Neo4jResultSet {
 
 		checkClosed();
 		row++;
+		if (result.isStreamed()) {
+			Map<?, ?> next = result.nextRow();
+			currentRow = next != null ? (List<Object>) next.get("row") : null;
+			return next != null;
+		}
 		if (row < result.getRows().size()) {
 			currentRow = (List<Object>) result.getRows().get(row).get("row");
 			return true;
@@ -150,6 +156,9 @@ public class HttpNeo4jResultSet extends Neo4jResultSet {
 	@Override
 	public void close() throws SQLException {
 
+		if (result != null) {
+			result.close();
+		}
 		result = null;
 		row = -1;
 		isClosed = true;
@@ -64,8 +64,8 @@ public class HttpNeo4jResultSetMetaData extends Neo4jResultSetMetaData {
 		this.result = result;
 	}
 
-	@SuppressWarnings("unchecked") @Override public int getColumnType(int column) throws SQLException {
-		final Object object = ((List<Object>) this.result.getRows().get(0).get("row")).get(column - 1);
+	@Override public int getColumnType(int column) throws SQLException {
+		final Object object = this.getFirstRow().get(column - 1);
 
 		if (object == null) {
 			return Types.NULL;
@@ -79,8 +79,8 @@ public class HttpNeo4jResultSetMetaData extends Neo4jResultSetMetaData {
 		return Types.JAVA_OBJECT;
 	}
 
-	@SuppressWarnings("unchecked") @Override public String getColumnClassName(int column) throws SQLException {
-		final Object object = ((List<Object>) this.result.getRows().get(0).get("row")).get(column - 1);
+	@Override public String getColumnClassName(int column) throws SQLException {
+		final Object object = this.getFirstRow().get(column - 1);
 
 		if (object == null) {
 			return null;
@@ -92,5 +92,12 @@ public class HttpNeo4jResultSetMetaData extends Neo4jResultSetMetaData {
 		}
 		return Object.class.getName();
 	}
-}
 
+	/**
+	 * The first row, peeked from the server when the rows are streamed.
+	 */
+	@SuppressWarnings("unchecked") private List<Object> getFirstRow() throws SQLException {
+		Map<?, ?> first = this.result.isStreamed() ? this.result.peekRow() : this.result.getRows().get(0);
+		return (List<Object>) first.get("row");
+	}
+}
@@ -30,6 +30,9 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledFuture;
 
 public class HttpNeo4jStatement extends Neo4jStatement implements Loggable {
 
@@ -39,27 +42,64 @@ public class HttpNeo4jStatement extends Neo4jStatement implements Loggable {
 	}
 
 	@Override public ResultSet executeQuery(String cypher) throws SQLException {
-		this.execute(cypher);
+		this.execute(cypher, true);
 		return currentResultSet;
 	}
 
 	@Override public int executeUpdate(String cypher) throws SQLException {
+		checkClosed();
+		// A deferred update is sent later, with its transaction
+		// Its update count isn't known yet: 0 is reported, executeUpdate can't return SUCCESS_NO_INFO
+		if (((HttpNeo4jConnection) getConnection()).deferUpdate(cypher, null)) {
+			this.currentResultSet = null;
+			this.currentUpdateCount = 0;
+			return currentUpdateCount;
+		}
 		this.execute(cypher);
 		return currentUpdateCount;
 	}
 
+	/**
+	 * The executor of the connection handles one request at a time, so the asynchronous executions
+	 * of all the statements of the connection run one at a time, even in auto-commit.
+	 */
+	@Override protected <T> CompletionStage<T> executeAsync(final Callable<T> execution) {
+		return super.executeAsync(new Callable<T>() {
+			@Override public T call() throws Exception {
+				synchronized (connection) {
+					return execution.call();
+				}
+			}
+		});
+	}
+
 	@Override public boolean execute(String cypher) throws SQLException {
+		return this.execute(cypher, false);
+	}
+
+	/**
+	 * Execute the query, streaming the rows of its result set if asked.
+	 * The update count of a streamed result set is unknown until its last row.
+	 */
+	private boolean execute(String cypher, boolean stream) throws SQLException {
 		checkClosed();
 
 		// execute the query
-		Neo4jResponse response = ((HttpNeo4jConnection) getConnection()).executeQuery(cypher, null, Boolean.TRUE);
+		ScheduledFuture<?> timeout = this.beginExecution();
+		Neo4jResponse response;
+		try {
+			response = ((HttpNeo4jConnection) getConnection()).executeQuery(cypher, null, Boolean.TRUE, stream);
+		} catch (Exception e) {
+			throw this.executionFailure(timeout, e);
+		}
+		this.endExecution(timeout);
 
 		if (response.hasErrors()) {
 			throw new SQLException(response.displayErrors());
 		}
 		
-		// Parse stats
-		this.currentUpdateCount = response.getFirstResult().getUpdateCount();
+		// Parse stats, which follow the rows when they are streamed
+		this.currentUpdateCount = response.getFirstResult().isStreamed() ? -1 : response.getFirstResult().getUpdateCount();
 
 		// Parse response data
 		boolean hasResultSets = response.hasResultSets();
@@ -69,6 +109,13 @@ public class HttpNeo4jStatement extends Neo4jStatement implements Loggable {
 		return hasResultSets;
 	}
 
+	/**
+	 * Abort the running request of the connection, rolling back its opened transaction.
+	 */
+	@Override protected void cancelExecution() throws SQLException {
+		((HttpNeo4jConnection) getConnection()).abort();
+	}
+
 	@Override public int getResultSetConcurrency() throws SQLException {
 		return ResultSet.CONCUR_READ_ONLY;
 	}
@@ -93,7 +140,14 @@ public class HttpNeo4jStatement extends Neo4jStatement implements Loggable {
 		for (int i = 0; i < batchStatements.size(); i++) {
 			parameters.add(new HashMap<String, Object>());
 		}
-		Neo4jResponse response = ((HttpNeo4jConnection) getConnection()).executeQueries(batchStatements, parameters, Boolean.TRUE);
+		ScheduledFuture<?> timeout = this.beginExecution();
+		Neo4jResponse response;
+		try {
+			response = ((HttpNeo4jConnection) getConnection()).executeQueries(batchStatements, parameters, Boolean.TRUE);
+		} catch (Exception e) {
+			throw this.executionFailure(timeout, e);
+		}
+		this.endExecution(timeout);
 
 		// proceed the result
 		int[] result = new int[response.getResults().size()];
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 18/10/26
+ */
+package org.neo4j.jdbc.http.cache;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.neo4j.jdbc.utils.TimeLimitedCodeBlock;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Process-wide, reference-counted registry of http clients.
+ * Each JDBC connection acquires the client matching its {@link HttpClientCacheKey} and releases it when closed,
+ * so connections sharing server, credentials and configuration also share the pooled keep-alive sockets and TLS sessions.
+ * A client is closed once it has no more references and it has been idle for longer than its idle timeout,
+ * checked on the shared timer thread.
+ * Clients are built outside of the cache lock, and only when their key isn't cached yet.
+ *
+ * @author AgileLARUS
+ * @since 3.2.0
+ */
+public class HttpClientCache {
+
+	private static final Logger LOGGER = Logger.getLogger(HttpClientCache.class.getName());
+
+	private static final HttpClientCache INSTANCE = new HttpClientCache();
+
+	private final Map<HttpClientCacheKey, Entry>  entries  = new HashMap<>();
+	private final Map<CloseableHttpClient, Entry> byClient = new IdentityHashMap<>();
+
+	HttpClientCache() {
+	}
+
+	/**
+	 * @return the JVM wide cache
+	 */
+	public static HttpClientCache getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Get the client for the given key, building it if needed, and increment its reference count.
+	 * Every call must be balanced by a call to {@link #release(CloseableHttpClient)}.
+	 * The idle timeout is the one of the call that built the client: it's fixed by the first caller for a key until the client is closed.
+	 *
+	 * @param key         The identity of the client
+	 * @param factory     The factory of a new client, only called if the key isn't cached
+	 * @param idleTimeout How long (in milliseconds) an unreferenced client is kept open, 0 to close it as soon as it is released
+	 * @return the shared client
+	 */
+	public CloseableHttpClient acquire(HttpClientCacheKey key, HttpClientFactory factory, long idleTimeout) {
+		Entry entry;
+		boolean creator = false;
+		synchronized (this) {
+			entry = this.entries.get(key);
+			if (entry == null) {
+				entry = new Entry(key, idleTimeout);
+				this.entries.put(key, entry);
+				creator = true;
+			}
+			entry.references++;
+		}
+
+		if (creator) {
+			try {
+				CloseableHttpClient client = factory.create();
+				synchronized (this) {
+					this.byClient.put(client, entry);
+				}
+				entry.created(client, null);
+			} catch (RuntimeException e) {
+				entry.created(null, e);
+			}
+		}
+
+		try {
+			return entry.await();
+		} catch (RuntimeException e) {
+			synchronized (this) {
+				entry.references--;
+				if (this.entries.get(key) == entry) {
+					this.entries.remove(key);
+				}
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Decrement the reference count of a client obtained by {@link #acquire(HttpClientCacheKey, HttpClientFactory, long)}.
+	 * Clients not managed by this cache are ignored.
+	 *
+	 * @param client The client to release
+	 */
+	public void release(CloseableHttpClient client) {
+		final Entry entry;
+		synchronized (this) {
+			entry = this.byClient.get(client);
+			if (entry == null || entry.references == 0) {
+				return;
+			}
+			entry.references--;
+			if (entry.references > 0) {
+				return;
+			}
+			entry.idleSince = System.currentTimeMillis();
+		}
+		if (entry.idleTimeout > 0) {
+			TimeLimitedCodeBlock.schedule(new Runnable() {
+				@Override public void run() {
+					evictIdle(System.currentTimeMillis());
+				}
+			}, entry.idleTimeout, TimeUnit.MILLISECONDS);
+		} else {
+			this.evictIdle(System.currentTimeMillis());
+		}
+	}
+
+	/**
+	 * @param key The identity of the client
+	 * @return the number of connections currently using the client, 0 if it's not cached
+	 */
+	public synchronized int getReferenceCount(HttpClientCacheKey key) {
+		Entry entry = this.entries.get(key);
+		return entry == null ? 0 : entry.references;
+	}
+
+	/**
+	 * @return the number of clients currently cached
+	 */
+	public synchronized int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Remove the clients unreferenced for longer than their idle timeout, then close them outside of the lock.
+	 *
+	 * @param now The current time in milliseconds
+	 */
+	void evictIdle(long now) {
+		List<Entry> evicted = new ArrayList<>();
+		synchronized (this) {
+			Iterator<Entry> iterator = this.entries.values().iterator();
+			while (iterator.hasNext()) {
+				Entry entry = iterator.next();
+				if (entry.references == 0 && entry.client != null && now - entry.idleSince >= entry.idleTimeout) {
+					iterator.remove();
+					this.byClient.remove(entry.client);
+					evicted.add(entry);
+				}
+			}
+		}
+		for (Entry entry : evicted) {
+			try {
+				entry.client.close();
+			} catch (Exception e) {
+				LOGGER.log(Level.FINE, "Unable to close the http client for " + entry.key, e);
+			}
+		}
+	}
+
+	private static class Entry {
+		private final HttpClientCacheKey  key;
+		private final long                idleTimeout;
+		private final CountDownLatch      ready = new CountDownLatch(1);
+		private volatile CloseableHttpClient client;
+		private volatile RuntimeException    failure;
+		private int  references = 0;
+		private long idleSince  = 0;
+
+		private Entry(HttpClientCacheKey key, long idleTimeout) {
+			this.key = key;
+			this.idleTimeout = Math.max(0, idleTimeout);
+		}
+
+		private void created(CloseableHttpClient client, RuntimeException failure) {
+			this.client = client;
+			this.failure = failure;
+			this.ready.countDown();
+		}
+
+		/**
+		 * Wait for the client being built by the first caller for the key.
+		 *
+		 * @return the client
+		 */
+		private CloseableHttpClient await() {
+			boolean interrupted = false;
+			while (this.ready.getCount() > 0) {
+				try {
+					this.ready.await();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+			if (this.failure != null) {
+				throw this.failure;
+			}
+			return this.client;
+		}
+	}
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 18/10/26
+ */
+package org.neo4j.jdbc.http.cache;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Identity of a shared http client: the server url, the credentials and every property used to build the client.
+ * Two connections with equal keys can safely share the same <code>CloseableHttpClient</code> and its connection pool.
+ *
+ * @author AgileLARUS
+ * @since 3.2.0
+ */
+public class HttpClientCacheKey {
+
+	private final String              url;
+	private final String              user;
+	private final String              password;
+	private final Map<String, String> config;
+
+	/**
+	 * Build a key.
+	 *
+	 * @param url        The server url (scheme, host and port)
+	 * @param properties The connection properties
+	 * @param configKeys The names of the properties used to build the client
+	 */
+	public HttpClientCacheKey(String url, Properties properties, String... configKeys) {
+		this.url = url.trim().toLowerCase(Locale.ENGLISH);
+		this.user = properties.getProperty("user", properties.getProperty("username"));
+		this.password = properties.getProperty("password");
+
+		SortedMap<String, String> values = new TreeMap<>();
+		for (String configKey : configKeys) {
+			Object value = properties.get(configKey);
+			if (value != null) {
+				values.put(configKey, String.valueOf(value));
+			}
+		}
+		this.config = Collections.unmodifiableMap(values);
+	}
+
+	/**
+	 * @return the normalized url
+	 */
+	public String getUrl() {
+		return url;
+	}
+
+	@Override public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		HttpClientCacheKey that = (HttpClientCacheKey) o;
+		return url.equals(that.url) && equalsNullable(user, that.user) && equalsNullable(password, that.password) && config.equals(that.config);
+	}
+
+	private static boolean equalsNullable(String a, String b) {
+		return a == null ? b == null : a.equals(b);
+	}
+
+	@Override public int hashCode() {
+		int result = url.hashCode();
+		result = 31 * result + (user != null ? user.hashCode() : 0);
+		result = 31 * result + (password != null ? password.hashCode() : 0);
+		result = 31 * result + config.hashCode();
+		return result;
+	}
+
+	@Override public String toString() {
+		return "HttpClientCacheKey{url='" + url + "', user='" + user + "', config=" + config + "}";
+	}
+}
@@ -22,17 +22,28 @@ package org.neo4j.jdbc.http.driver;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.CredentialsProvider;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.entity.GzipCompressingEntity;
 import org.apache.http.client.methods.*;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
 import org.apache.http.entity.ContentType;
-import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.message.BasicHeader;
+import org.apache.http.protocol.HttpContext;
+import org.neo4j.jdbc.http.cache.HttpClientCache;
+import org.neo4j.jdbc.http.cache.HttpClientCacheKey;
+import org.neo4j.jdbc.http.cache.HttpClientFactory;
+import org.neo4j.jdbc.utils.Neo4jJdbcRuntimeException;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -40,15 +51,36 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Execute cypher queries.
  */
 public class CypherExecutor {
 
+	public static final String POOL_MAX_TOTAL_KEY        = "http.pool.max.total";
+	public static final String POOL_MAX_PER_ROUTE_KEY    = "http.pool.max.per.route";
+	public static final String KEEPALIVE_KEY             = "http.keepalive";
+	public static final String IDLE_EVICTION_KEY         = "http.idle.eviction";
+	public static final String CONNECT_TIMEOUT_KEY       = "http.connect.timeout";
+	public static final String SOCKET_TIMEOUT_KEY        = "http.socket.timeout";
+	public static final String CLIENT_IDLE_TIMEOUT_KEY   = "http.client.idle.timeout";
+	public static final String COMPRESSION_KEY           = "http.compression";
+	public static final String COMPRESSION_THRESHOLD_KEY = "http.compression.threshold";
+	public static final String DEFER_WRITES_KEY          = "http.defer.writes";
+
+	/**
+	 * Properties used to build the http client, thus part of the shared client identity.
+	 */
+	private static final String[] CLIENT_CONFIG_KEYS = { POOL_MAX_TOTAL_KEY, POOL_MAX_PER_ROUTE_KEY, KEEPALIVE_KEY, IDLE_EVICTION_KEY, CONNECT_TIMEOUT_KEY,
+			SOCKET_TIMEOUT_KEY, "useragent" };
+
 	/**
 	 * URL of the transaction endpoint.
 	 */
@@ -66,6 +98,21 @@ public class CypherExecutor {
 	 */
 	private Boolean autoCommit;
 
+	/**
+	 * Request bodies longer than this number of bytes are gzipped, -1 to never compress them.
+	 */
+	private final long compressionThreshold;
+
+	/**
+	 * Do we defer the updates of a transaction until its next request ?
+	 */
+	private final boolean deferWrites;
+
+	/**
+	 * Updates waiting to be sent with the next request of the transaction, its commit at the latest.
+	 */
+	private final List<Neo4jStatement> deferredStatements = new ArrayList<>();
+
 	/**
 	 * The http client.
 	 */
@@ -76,6 +123,23 @@ public class CypherExecutor {
 	 */
 	private String currentTransactionUrl;
 
+	/**
+	 * The query requests waiting for their response, to abort them on a cancel.
+	 */
+	private final Set<HttpRequestBase> runningRequests = Collections.newSetFromMap(new ConcurrentHashMap<HttpRequestBase, Boolean>());
+
+	/**
+	 * Set by <code>abort</code>, from another thread, so that the executing thread rolls back the aborted transaction.
+	 */
+	private volatile boolean aborted;
+
+	/**
+	 * The response whose rows are still streamed from the server, and its request.
+	 * Only one response is read at a time, so it's buffered before the next request.
+	 */
+	private volatile Neo4jResponse openResponse;
+	private HttpRequestBase openRequest;
+
 	/**
 	 * Jackson mapper object.
 	 */
@@ -96,30 +160,68 @@ public class CypherExecutor {
 	 * @param properties Properties of the url connection.
 	 * @throws SQLException sqlexception
 	 */
-	public CypherExecutor(String host, Integer port, Boolean secure, Properties properties) throws SQLException {
+	public CypherExecutor(final String host, final Integer port, Boolean secure, final Properties properties) throws SQLException {
 		this.secure = secure;
 
-		// Create the http client builder
-		HttpClientBuilder builder = HttpClients.custom();
+		// Create the url endpoint
+		this.transactionUrl = createTransactionUrl(host, port, this.secure);
 
-		// Adding authentication to the http client if needed
-		CredentialsProvider credentialsProvider = getCredentialsProvider(host, port, properties);
-		if (credentialsProvider != null)
-			builder.setDefaultCredentialsProvider(credentialsProvider);
+		// Get the http client, shared by the connections to the same server with the same credentials and configuration
+		HttpClientCacheKey key = new HttpClientCacheKey(this.transactionUrl.replace(DB_DATA_TRANSACTION, ""), properties, CLIENT_CONFIG_KEYS);
+		try {
+			this.http = HttpClientCache.getInstance().acquire(key, new HttpClientFactory() {
+				@Override public CloseableHttpClient create() {
+					try {
+						return buildHttpClient(host, port, properties);
+					} catch (SQLException e) {
+						throw new Neo4jJdbcRuntimeException(e);
+					}
+				}
+			}, getLongProperty(properties, CLIENT_IDLE_TIMEOUT_KEY, 60000));
+		} catch (Neo4jJdbcRuntimeException e) {
+			if (e.getCause() instanceof SQLException) {
+				throw (SQLException) e.getCause();
+			}
+			throw e;
+		}
 
-		// Setting user-agent
-		String userAgent = properties.getProperty("useragent");
-		builder.setUserAgent("Neo4j JDBC Driver" + (userAgent != null ? " via "+userAgent : ""));
-		// Create the http client
-		this.http = builder.build();
+		// Compression of the request bodies, the responses are decompressed by the http client as they're read
+		this.compressionThreshold = Boolean.parseBoolean(properties.getProperty(COMPRESSION_KEY, "false")) ?
+				Math.max(0, getLongProperty(properties, COMPRESSION_THRESHOLD_KEY, 1024)) :
+				-1;
 
-		// Create the url endpoint
-		this.transactionUrl = createTransactionUrl(host, port, this.secure);
+		this.deferWrites = Boolean.parseBoolean(properties.getProperty(DEFER_WRITES_KEY, "false"));
 
 		// Setting autocommit
 		this.setAutoCommit(Boolean.valueOf(properties.getProperty("autoCommit", "true")));
 	}
 
+	private static long getLongProperty(Properties properties, String key, long defaultValue) throws SQLException {
+		String value = properties.getProperty(key);
+		try {
+			return value == null ? defaultValue : Long.parseLong(value);
+		} catch (NumberFormatException e) {
+			throw new SQLException("Invalid value for " + key + " param.", e);
+		}
+	}
+
+	/**
+	 * Keep the connections alive as long as the server allows it, or for the given duration if the server doesn't tell.
+	 *
+	 * @param keepAlive The maximum time, in milliseconds, an idle connection is kept alive, 0 to follow the server only
+	 */
+	private static ConnectionKeepAliveStrategy getKeepAliveStrategy(final long keepAlive) {
+		return new ConnectionKeepAliveStrategy() {
+			@Override public long getKeepAliveDuration(HttpResponse response, HttpContext context) {
+				long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+				if (keepAlive <= 0) {
+					return duration;
+				}
+				return duration > 0 ? Math.min(duration, keepAlive) : keepAlive;
+			}
+		};
+	}
+
 	private String createTransactionUrl(String host, Integer port, Boolean secure) throws SQLException {
 		try {
 			if(secure)
@@ -131,7 +233,45 @@ public class CypherExecutor {
 		}
 	}
 
-	private CredentialsProvider getCredentialsProvider(String host, Integer port, Properties properties) {
+	/**
+	 * Build the http client of a new cache entry, with a pool of keep-alive connections.
+	 *
+	 * @param host       Hostname of the Neo4j instance.
+	 * @param port       HTTP port of the Neo4j instance.
+	 * @param properties Properties of the url connection.
+	 * @return the http client
+	 */
+	private static CloseableHttpClient buildHttpClient(String host, Integer port, Properties properties) throws SQLException {
+		// Create the http client builder, with a pool of keep-alive connections
+		HttpClientBuilder builder = HttpClients.custom();
+		PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+		connectionManager.setMaxTotal((int) getLongProperty(properties, POOL_MAX_TOTAL_KEY, 100));
+		connectionManager.setDefaultMaxPerRoute((int) getLongProperty(properties, POOL_MAX_PER_ROUTE_KEY, 20));
+		builder.setConnectionManager(connectionManager);
+		builder.setKeepAliveStrategy(getKeepAliveStrategy(getLongProperty(properties, KEEPALIVE_KEY, 60000)));
+		builder.evictExpiredConnections();
+		long idleEviction = getLongProperty(properties, IDLE_EVICTION_KEY, 30000);
+		if (idleEviction > 0) {
+			builder.evictIdleConnections(idleEviction, TimeUnit.MILLISECONDS);
+		}
+		builder.setDefaultRequestConfig(RequestConfig.custom()
+				.setConnectTimeout((int) getLongProperty(properties, CONNECT_TIMEOUT_KEY, 0))
+				.setSocketTimeout((int) getLongProperty(properties, SOCKET_TIMEOUT_KEY, 0))
+				.build());
+
+		// Adding authentication to the http client if needed
+		CredentialsProvider credentialsProvider = getCredentialsProvider(host, port, properties);
+		if (credentialsProvider != null)
+			builder.setDefaultCredentialsProvider(credentialsProvider);
+
+		// Setting user-agent
+		String userAgent = properties.getProperty("useragent");
+		builder.setUserAgent("Neo4j JDBC Driver" + (userAgent != null ? " via "+userAgent : ""));
+
+		return builder.build();
+	}
+
+	private static CredentialsProvider getCredentialsProvider(String host, Integer port, Properties properties) {
 		if (properties.containsKey("password")) {
 			String user = properties.getProperty("user", properties.getProperty("username", "neo4j"));
 			CredentialsProvider credsProvider = new BasicCredentialsProvider();
@@ -150,15 +290,127 @@ public class CypherExecutor {
 	 * @throws SQLException sqlexception
 	 */
 	public Neo4jResponse executeQueries(List<Neo4jStatement> queries) throws SQLException {
+		return this.executeQueries(queries, 0);
+	}
+
+	/**
+	 * Execute a list of cypher queries, failing if the server doesn't answer in time.
+	 *
+	 * @param queries List of cypher query object
+	 * @param timeout The maximum time, in seconds, to connect and to wait for the response (0 for no limit)
+	 * @return the response for these queries
+	 * @throws SQLException sqlexception
+	 */
+	public Neo4jResponse executeQueries(List<Neo4jStatement> queries, int timeout) throws SQLException {
+		return this.executeQueries(queries, timeout, false);
+	}
+
+	/**
+	 * Execute a list of cypher queries, failing if the server doesn't answer in time.
+	 * When streamed, the rows of the first result are read from the server as they are asked for.
+	 *
+	 * @param queries List of cypher query object
+	 * @param timeout The maximum time, in seconds, to connect and to wait for the response (0 for no limit)
+	 * @param stream  Do we stream the rows of the first result ?
+	 * @return the response for these queries
+	 * @throws SQLException sqlexception
+	 */
+	public Neo4jResponse executeQueries(List<Neo4jStatement> queries, int timeout, boolean stream) throws SQLException {
+		// The deferred updates go first, in the same request
+		this.rollbackIfAborted();
+		List<Neo4jStatement> deferred = new ArrayList<>(this.deferredStatements);
+		this.deferredStatements.clear();
+		return this.executeQueries(deferred, queries, timeout, stream);
+	}
+
+	/**
+	 * Execute a cypher query on its own, leaving the deferred updates for the next execution, e.g. to validate the connection.
+	 *
+	 * @param query   Cypher query object
+	 * @param timeout The maximum time, in seconds, to connect and to wait for the response (0 for no limit)
+	 * @return the response for the query
+	 * @throws SQLException sqlexception
+	 */
+	public Neo4jResponse executeQueryAlone(Neo4jStatement query, int timeout) throws SQLException {
+		this.rollbackIfAborted();
+		return this.executeQueries(Collections.<Neo4jStatement>emptyList(), Collections.singletonList(query), timeout, false);
+	}
+
+	/**
+	 * Execute the deferred updates, then the queries, in one request : the response only keeps the results of the queries.
+	 */
+	private Neo4jResponse executeQueries(List<Neo4jStatement> deferred, List<Neo4jStatement> queries, int timeout, boolean stream) throws SQLException {
+		List<Neo4jStatement> statements = queries;
+		if (!deferred.isEmpty()) {
+			statements = new ArrayList<>(deferred);
+			statements.addAll(queries);
+		}
+
 		// Prepare the headers query
 		HttpPost request = new HttpPost(currentTransactionUrl);
+		if (timeout > 0) {
+			int millis = (int) TimeUnit.SECONDS.toMillis(timeout);
+			request.setConfig(RequestConfig.custom().setConnectionRequestTimeout(millis).setConnectTimeout(millis).setSocketTimeout(millis).build());
+		}
 
-		// Prepare body request
-		StringEntity requestEntity = new StringEntity(Neo4jStatement.toJson(queries, mapper), ContentType.APPLICATION_JSON);
-		request.setEntity(requestEntity);
+		// Prepare body request, serialized while it's sent
+		request.setEntity(this.compress(new Neo4jStatementEntity(statements, mapper)));
 
 		// Make the request
-		return this.executeHttpRequest(request);
+		this.runningRequests.add(request);
+		Neo4jResponse response = null;
+		try {
+			response = this.executeHttpRequest(request, stream, deferred.size());
+			return response;
+		} catch (SQLException e) {
+			try {
+				this.rollbackIfAborted();
+			} catch (SQLException rollbackFailure) {
+				e.addSuppressed(rollbackFailure);
+			}
+			throw e;
+		} finally {
+			// A streamed request keeps running until its last row is read
+			if (response == null || !response.isStreaming()) {
+				this.runningRequests.remove(request);
+			}
+		}
+	}
+
+	/**
+	 * Defer an update until the next request of the transaction, if the write deferral is enabled in manual commit mode.
+	 * Its update count is never known, and its errors are thrown by the next execution or by the commit.
+	 *
+	 * @param query Cypher query object
+	 * @return true if the update is deferred, false if it must be executed now
+	 */
+	public boolean defer(Neo4jStatement query) {
+		if (this.deferWrites && !this.getAutoCommit()) {
+			this.deferredStatements.add(query);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @return the number of updates waiting for the next request of the transaction
+	 */
+	public int getDeferredCount() {
+		return this.deferredStatements.size();
+	}
+
+	/**
+	 * Gzip the body if compression is enabled and the body is longer than the threshold.
+	 */
+	private HttpEntity compress(Neo4jStatementEntity entity) throws SQLException {
+		try {
+			if (this.compressionThreshold >= 0 && entity.isLongerThan(this.compressionThreshold)) {
+				return new GzipCompressingEntity(entity);
+			}
+		} catch (IOException e) {
+			throw new SQLException("Can't convert Cypher statement(s) into JSON", e);
+		}
+		return entity;
 	}
 
 	/**
@@ -169,9 +421,35 @@ public class CypherExecutor {
 	 * @throws SQLException sqlexception
 	 */
 	public Neo4jResponse executeQuery(Neo4jStatement query) throws SQLException {
+		return this.executeQuery(query, 0);
+	}
+
+	/**
+	 * Execute a cypher query, failing if the server doesn't answer in time.
+	 *
+	 * @param query   Cypher query object
+	 * @param timeout The maximum time, in seconds, to connect and to wait for the response (0 for no limit)
+	 * @return the response for the query
+	 * @throws SQLException sqlexception
+	 */
+	public Neo4jResponse executeQuery(Neo4jStatement query, int timeout) throws SQLException {
+		return this.executeQuery(query, timeout, false);
+	}
+
+	/**
+	 * Execute a cypher query, failing if the server doesn't answer in time.
+	 * When streamed, the rows are read from the server as they are asked for.
+	 *
+	 * @param query   Cypher query object
+	 * @param timeout The maximum time, in seconds, to connect and to wait for the response (0 for no limit)
+	 * @param stream  Do we stream the rows ?
+	 * @return the response for the query
+	 * @throws SQLException sqlexception
+	 */
+	public Neo4jResponse executeQuery(Neo4jStatement query, int timeout, boolean stream) throws SQLException {
 		List<Neo4jStatement> queries = new ArrayList<>();
 		queries.add(query);
-		return this.executeQueries(queries);
+		return this.executeQueries(queries, timeout, stream);
 	}
 
 	/**
@@ -180,9 +458,15 @@ public class CypherExecutor {
 	 * @throws SQLException sqlexception
 	 */
 	public void commit() throws SQLException {
-		if (this.getOpenTransactionId() > 0) {
+		this.rollbackIfAborted();
+		if (this.getOpenTransactionId() > 0 || !this.deferredStatements.isEmpty()) {
+			// The deferred updates are sent with the commit, without a transaction yet the commit endpoint runs them in its own
 			HttpPost request = new HttpPost(currentTransactionUrl + "/commit");
-			Neo4jResponse response = this.executeHttpRequest(request);
+			if (!this.deferredStatements.isEmpty()) {
+				request.setEntity(this.compress(new Neo4jStatementEntity(new ArrayList<>(this.deferredStatements), mapper)));
+				this.deferredStatements.clear();
+			}
+			Neo4jResponse response = this.executeHttpRequest(request, false, 0);
 			if (response.hasErrors()) {
 				throw new SQLException(response.displayErrors());
 			}
@@ -196,10 +480,12 @@ public class CypherExecutor {
 	 * @throws SQLException if there is no transaction to rollback
 	 */
 	public void rollback() throws SQLException {
+		this.aborted = false;
+		this.deferredStatements.clear();
 		if (this.getOpenTransactionId() > 0) {
 			// Prepare the request
 			HttpDelete request = new HttpDelete(currentTransactionUrl);
-			Neo4jResponse response = this.executeHttpRequest(request);
+			Neo4jResponse response = this.executeHttpRequest(request, false, 0);
 			if (response.getCode() != 200 & response.hasErrors()) {
 				throw new SQLException(response.displayErrors());
 			}
@@ -207,6 +493,34 @@ public class CypherExecutor {
 		}
 	}
 
+	/**
+	 * Abort the running query requests, can be called from another thread.
+	 * The opened transaction, if any, isn't touched here: it's rolled back by the executing thread,
+	 * when its request fails or on its next call, so the transaction state is only changed by that thread.
+	 */
+	public void abort() {
+		this.aborted = true;
+		for (HttpRequestBase request : this.runningRequests) {
+			request.abort();
+		}
+		Neo4jResponse response = this.openResponse;
+		if (response != null) {
+			response.abort();
+		}
+	}
+
+	/**
+	 * Rollback the transaction of an aborted execution, in manual commit mode.
+	 */
+	private void rollbackIfAborted() throws SQLException {
+		if (this.aborted) {
+			this.aborted = false;
+			if (!this.getAutoCommit()) {
+				this.rollback();
+			}
+		}
+	}
+
 	/**
 	 * Getter for AutoCommit.
 	 *
@@ -229,7 +543,7 @@ public class CypherExecutor {
 			if (autoCommit) {
 				// Check if a transaction is currently opened before
 				// If so, we commit it
-				if (getOpenTransactionId() > 0) {
+				if (getOpenTransactionId() > 0 || !this.deferredStatements.isEmpty()) {
 					this.commit();
 				}
 				this.autoCommit = Boolean.TRUE;
@@ -278,11 +592,12 @@ public class CypherExecutor {
 	 */
 
 	public void close() throws SQLException {
-		try {
-			http.close();
-		} catch (IOException e) {
-			throw new SQLException(e);
+		Neo4jResponse response = this.openResponse;
+		if (response != null) {
+			response.abort();
 		}
+		// The pooled connections stay open for the next executors
+		HttpClientCache.getInstance().release(http);
 	}
 
 	/**
@@ -331,18 +646,33 @@ public class CypherExecutor {
 	 * Execute the http client request.
 	 *
 	 * @param request The request to make
+	 * @param stream  Do we stream the rows of the first result ?
+	 * @param skipped Number of results to skip, those of the statements deferred by earlier executions
 	 */
-	private Neo4jResponse executeHttpRequest(HttpRequestBase request) throws SQLException {
+	private Neo4jResponse executeHttpRequest(HttpRequestBase request, boolean stream, int skipped) throws SQLException {
 		Neo4jResponse result;
 
+		// The server reads one request at a time per transaction
+		Neo4jResponse previous = this.openResponse;
+		if (previous != null) {
+			previous.buffer();
+		}
+
 		// Adding default headers to the request
 		for (Header header : this.getDefaultHeaders()) {
 			request.addHeader(header.getName(), header.getValue());
 		}
 
 		// Make the request
-		try (CloseableHttpResponse response = http.execute(request)) {
-			result = new Neo4jResponse(response, mapper);
+		try {
+			if (stream) {
+				result = new Neo4jResponse(http.execute(request), mapper, this, skipped);
+			} else {
+				try (CloseableHttpResponse response = http.execute(request)) {
+					result = new Neo4jResponse(response, mapper);
+				}
+				result.skipResults(skipped);
+			}
 			if(!getAutoCommit()) {
 				if (result.hasErrors()) {
 					// The transaction *was* rolled back server-side. Whether a transaction existed or not before, it should
@@ -358,7 +688,28 @@ public class CypherExecutor {
 			throw new SQLException(e);
 		}
 
+		if (result.isStreaming()) {
+			this.openResponse = result;
+			this.openRequest = request;
+		}
 		return result;
 	}
 
+	/**
+	 * Called by a streamed response once its body has been read.
+	 *
+	 * @param response The streamed response
+	 */
+	void streamFinished(Neo4jResponse response) {
+		if (this.openResponse == response) {
+			this.runningRequests.remove(this.openRequest);
+			this.openResponse = null;
+			this.openRequest = null;
+		}
+		if (!this.getAutoCommit() && response.hasErrors()) {
+			// The errors sent after the rows rolled back the transaction as well
+			this.currentTransactionUrl = this.transactionUrl;
+		}
+	}
+
 }
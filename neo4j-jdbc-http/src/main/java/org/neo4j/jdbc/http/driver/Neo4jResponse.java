@@ -19,14 +19,21 @@
  */
 package org.neo4j.jdbc.http.driver;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -56,6 +63,46 @@ public class Neo4jResponse {
 	 */
 	private List<SQLException> errors;
 
+	/**
+	 * The http response whose body is still read, when the rows are streamed.
+	 */
+	private HttpResponse response;
+
+	/**
+	 * Parser of the body, when the rows are streamed.
+	 */
+	private JsonParser parser;
+
+	/**
+	 * Executor to notify once the streamed body has been read.
+	 */
+	private CypherExecutor executor;
+
+	/**
+	 * Index of the result whose rows are streamed.
+	 */
+	private int streamedIndex;
+
+	/**
+	 * The result whose rows are streamed.
+	 */
+	private Neo4jResult streamedResult;
+
+	/**
+	 * Are the rows of the first result still to read from the body ?
+	 */
+	private boolean streaming;
+
+	/**
+	 * Streamed rows read ahead of the result set.
+	 */
+	private final Deque<Map<?, ?>> bufferedRows = new ArrayDeque<>();
+
+	/**
+	 * Failure of the body reading, thrown once the rows read before it are consumed.
+	 */
+	private volatile SQLException failure;
+
 	/**
 	 * Construct the object directly from the HttpResponse.
 	 *
@@ -90,6 +137,48 @@ public class Neo4jResponse {
 			throw new SQLException("Receive request without status code ...");
 		}
 	}
+
+	/**
+	 * Construct the object from the HttpResponse, streaming the rows of the first result.
+	 * The body is parsed up to the rows, which are then read as they are asked for : the http response stays open
+	 * until the last row, and the statistics and errors that follow it, are read.
+	 *
+	 * @param response Http response
+	 * @param mapper   Jackson object mapper
+	 * @param executor Executor to notify once the body has been read, may be null
+	 * @param skipped  Number of results to skip before the streamed one
+	 * @throws SQLException sqlexception
+	 */
+	Neo4jResponse(HttpResponse response, ObjectMapper mapper, CypherExecutor executor, int skipped) throws SQLException {
+		this.response = response;
+		this.streamedIndex = skipped;
+		this.executor = executor;
+		this.results = new ArrayList<>();
+		this.errors = new ArrayList<>();
+
+		// Parse response headers
+		if (response.getStatusLine() == null) {
+			this.closeStream(true);
+			throw new SQLException("Receive request without status code ...");
+		}
+		saveCodeAndLocation(response);
+
+		// Parsing the body up to the rows
+		HttpEntity json = response.getEntity();
+		try {
+			if (json != null) {
+				this.parser = mapper.getFactory().createParser(json.getContent());
+				this.streaming = this.parser.nextToken() == JsonToken.START_OBJECT && this.parseBody(true);
+			}
+		} catch (Exception e) {
+			this.closeStream(true);
+			throw new SQLException(e);
+		}
+		if (!this.streaming) {
+			this.closeStream(false);
+		}
+		this.skipResults(skipped);
+	}
 	
 	/**
 	 * @return the code
@@ -141,6 +230,14 @@ public class Neo4jResponse {
 		return hasErrors;
 	}
 
+	/**
+	 * Are the rows of the first result still streamed from the server ?
+	 * @return true if the http response is still open
+	 */
+	public boolean isStreaming() {
+		return this.streaming;
+	}
+
 	/**
 	 * Has this response at least one result set ?
 	 * @return true is there're result sets
@@ -185,7 +282,11 @@ public class Neo4jResponse {
 
 	private void parseErrors(Map body) {
 		this.errors = new ArrayList<>();
-		for (Map<String, String> error : (List<Map<String, String>>) body.get("errors")) {
+		this.addErrors((List<Map<String, String>>) body.get("errors"));
+	}
+
+	private void addErrors(List<Map<String, String>> list) {
+		for (Map<String, String> error : list) {
 			String message = "";
 			String errorCode = "";
 			if(error.get("message") != null) {
@@ -208,4 +309,202 @@ public class Neo4jResponse {
 		}
 	}
 
+	/**
+	 * Forget the first results, those of statements sent on behalf of earlier executions.
+	 *
+	 * @param count Number of results to forget
+	 */
+	void skipResults(int count) {
+		if (this.results != null && count > 0) {
+			this.results.subList(0, Math.min(count, this.results.size())).clear();
+		}
+	}
+
+	/**
+	 * Read the next streamed row.
+	 *
+	 * @return the next row, or null after the last one
+	 * @throws SQLException if the body can't be read, or if the server sent errors after the rows
+	 */
+	Map<?, ?> nextRow() throws SQLException {
+		if (this.bufferedRows.isEmpty()) {
+			this.readRows(1, true);
+		}
+		if (!this.bufferedRows.isEmpty()) {
+			return this.bufferedRows.poll();
+		}
+		if (this.failure != null) {
+			throw this.failure;
+		}
+		if (this.hasErrors()) {
+			throw new SQLException(this.displayErrors());
+		}
+		return null;
+	}
+
+	/**
+	 * Read the next streamed row, without consuming it.
+	 *
+	 * @return the next row, or null after the last one
+	 * @throws SQLException if the body can't be read
+	 */
+	Map<?, ?> peekRow() throws SQLException {
+		if (this.bufferedRows.isEmpty()) {
+			this.readRows(1, true);
+		}
+		return this.bufferedRows.peek();
+	}
+
+	/**
+	 * Read the rest of the body, keeping the rows left in memory, to release the http response.
+	 * A failure is thrown by {@link #nextRow()} once the rows read before it are consumed.
+	 */
+	void buffer() {
+		try {
+			this.readRows(Integer.MAX_VALUE, true);
+		} catch (SQLException e) {
+			// Kept as the failure of the rows
+		}
+	}
+
+	/**
+	 * Read the rest of the body, discarding the rows left, to release the http response.
+	 */
+	void skipRows() {
+		this.bufferedRows.clear();
+		try {
+			this.readRows(Integer.MAX_VALUE, false);
+		} catch (SQLException e) {
+			// Kept as the failure of the rows
+		}
+	}
+
+	/**
+	 * Stop reading the body, the rows left are lost.
+	 */
+	void abort() {
+		if (this.streaming) {
+			this.failure = new SQLException("The response has been aborted before its last row");
+			this.finishStream(true);
+		}
+	}
+
+	private void readRows(int count, boolean keep) throws SQLException {
+		try {
+			for (int i = 0; i < count && this.streaming && this.advanceRow(); i++) {
+				if (keep) {
+					this.bufferedRows.add(this.parser.readValueAs(Map.class));
+				} else {
+					this.parser.skipChildren();
+				}
+			}
+		} catch (IOException e) {
+			this.failure = new SQLException(e);
+			this.finishStream(true);
+			throw this.failure;
+		}
+	}
+
+	/**
+	 * Move the parser to the next row, parsing the end of the body after the last one.
+	 *
+	 * @return true if the parser is on a row
+	 */
+	private boolean advanceRow() throws IOException {
+		if (this.parser.nextToken() == JsonToken.START_OBJECT) {
+			return true;
+		}
+
+		// The rows are followed by the statistics, the other results and the errors
+		Map fields = new HashMap();
+		this.parseFields(fields, false);
+		this.streamedResult.complete(fields);
+		this.parseResults(false);
+		this.parseBody(false);
+		this.finishStream(false);
+		return false;
+	}
+
+	/**
+	 * Parse the fields of the body, stopping in front of the rows of the first result if they are streamed.
+	 *
+	 * @return true if the parsing stopped in front of the rows
+	 */
+	private boolean parseBody(boolean stream) throws IOException {
+		while (this.parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = this.parser.getCurrentName();
+			this.parser.nextToken();
+			if ("results".equals(field)) {
+				if (this.parseResults(stream)) {
+					return true;
+				}
+			} else if ("errors".equals(field)) {
+				this.addErrors((List<Map<String, String>>) this.parser.readValueAs(List.class));
+			} else {
+				this.parser.skipChildren();
+			}
+		}
+		return false;
+	}
+
+	private boolean parseResults(boolean stream) throws IOException {
+		while (this.parser.nextToken() == JsonToken.START_OBJECT) {
+			Map fields = new HashMap();
+			if (this.parseFields(fields, stream && this.results.size() == this.streamedIndex)) {
+				this.streamedResult = new Neo4jResult(fields, this);
+				this.results.add(this.streamedResult);
+				return true;
+			}
+			this.results.add(new Neo4jResult(fields));
+		}
+		return false;
+	}
+
+	/**
+	 * Parse the fields of a result, stopping in front of its rows if they are streamed.
+	 *
+	 * @return true if the parsing stopped in front of the rows
+	 */
+	private boolean parseFields(Map fields, boolean stream) throws IOException {
+		while (this.parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = this.parser.getCurrentName();
+			this.parser.nextToken();
+			if (stream && "data".equals(field) && fields.containsKey("columns")) {
+				return true;
+			}
+			fields.put(field, this.parser.readValueAs(Object.class));
+		}
+		return false;
+	}
+
+	private void finishStream(boolean abort) {
+		boolean notify = this.streaming;
+		this.streaming = false;
+		this.closeStream(abort);
+		if (notify && this.executor != null) {
+			this.executor.streamFinished(this);
+		}
+	}
+
+	/**
+	 * Close the body, once read to its end so that the connection is reused, unless aborted.
+	 */
+	private void closeStream(boolean abort) {
+		try {
+			if (abort && this.response instanceof Closeable) {
+				((Closeable) this.response).close();
+			}
+			if (this.parser != null) {
+				this.parser.close();
+			}
+			if (this.response instanceof Closeable) {
+				((Closeable) this.response).close();
+			}
+		} catch (IOException e) {
+			// Nothing left to read
+		}
+		this.parser = null;
+		this.response = null;
+	}
+
 }
@@ -19,6 +19,7 @@
  */
 package org.neo4j.jdbc.http.driver;
 
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
 
@@ -43,6 +44,11 @@ public class Neo4jResult {
 	 */
 	private Map<String, Object> stats;
 
+	/**
+	 * The response that streams the rows, if any.
+	 */
+	private Neo4jResponse response;
+
 	/**
 	 * Constructor.
 	 *
@@ -56,6 +62,28 @@ public class Neo4jResult {
 			this.stats = (Map<String, Object>) map.get("stats");
 		}
 	}
+
+	/**
+	 * Constructor of a result whose rows are streamed by the response.
+	 *
+	 * @param map      JSON Map, without the rows
+	 * @param response The response that streams the rows
+	 */
+	Neo4jResult(Map map, Neo4jResponse response) {
+		this(map);
+		this.response = response;
+	}
+
+	/**
+	 * Complete a streamed result with the fields that follow its rows.
+	 *
+	 * @param map JSON Map of the fields after the rows
+	 */
+	void complete(Map map) {
+		if (map.containsKey("stats")) {
+			this.stats = (Map<String, Object>) map.get("stats");
+		}
+	}
 	
 	/**
 	 * @return the column names in the result
@@ -65,14 +93,50 @@ public class Neo4jResult {
 	}
 	
 	/**
-	 * @return the rows in the result set
+	 * @return the rows in the result set, null if they are streamed
 	 */
 	public List<Map> getRows() {
 		return rows;
 	}
 
 	/**
-	 * @return the statistics for the statement
+	 * @return true if the rows are read from the server as they are asked for, with {@link #nextRow()}
+	 */
+	public boolean isStreamed() {
+		return this.response != null;
+	}
+
+	/**
+	 * Read the next streamed row.
+	 *
+	 * @return the next row, or null after the last one
+	 * @throws SQLException if the rows can't be read, or if the server sent errors after them
+	 */
+	public Map<?, ?> nextRow() throws SQLException {
+		return this.response.nextRow();
+	}
+
+	/**
+	 * Read the next streamed row, without consuming it.
+	 *
+	 * @return the next row, or null after the last one
+	 * @throws SQLException if the rows can't be read
+	 */
+	public Map<?, ?> peekRow() throws SQLException {
+		return this.response.peekRow();
+	}
+
+	/**
+	 * Discard the streamed rows left, releasing the http response.
+	 */
+	public void close() {
+		if (this.response != null) {
+			this.response.skipRows();
+		}
+	}
+
+	/**
+	 * @return the statistics for the statement, known after the last row when they are streamed
 	 */
 	public Map<String, Object> getStats() {
 		return stats;
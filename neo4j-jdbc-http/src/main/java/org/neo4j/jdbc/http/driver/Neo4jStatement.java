@@ -19,9 +19,11 @@
  */
 package org.neo4j.jdbc.http.driver;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.List;
@@ -92,16 +94,34 @@ public class Neo4jStatement {
 	 * @throws SQLException sqlexception
 	 */
 	public static String toJson(List<Neo4jStatement> queries, ObjectMapper mapper) throws SQLException {
-		StringBuilder sb = new StringBuilder();
-		try {
-			sb.append("{\"statements\":");
-			sb.append(mapper.writeValueAsString(queries));
-			sb.append("}");
-
-		} catch (JsonProcessingException e) {
+		StringWriter writer = new StringWriter();
+		try (JsonGenerator generator = mapper.getFactory().createGenerator(writer)) {
+			writeJson(queries, generator);
+		} catch (IOException e) {
 			throw new SQLException("Can't convert Cypher statement(s) into JSON", e);
 		}
-		return sb.toString();
+		return writer.toString();
+	}
+
+	/**
+	 * Write the list of query as a JSON compatible with Neo4j endpoint, one statement after the other.
+	 *
+	 * @param queries   List of cypher queries.
+	 * @param generator Generator of the body of the API call, created by the mapper of the parameters
+	 * @throws IOException if the JSON can't be written
+	 */
+	public static void writeJson(List<Neo4jStatement> queries, JsonGenerator generator) throws IOException {
+		generator.writeStartObject();
+		generator.writeArrayFieldStart("statements");
+		for (Neo4jStatement query : queries) {
+			generator.writeStartObject();
+			generator.writeStringField("statement", query.getStatement());
+			generator.writeObjectField("parameters", query.parameters);
+			generator.writeBooleanField("includeStats", query.includeStats);
+			generator.writeEndObject();
+		}
+		generator.writeEndArray();
+		generator.writeEndObject();
 	}
 
 	/**
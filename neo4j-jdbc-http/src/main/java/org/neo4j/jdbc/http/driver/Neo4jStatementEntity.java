@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 18/10/26
+ */
+package org.neo4j.jdbc.http.driver;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ContentType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * The body of a cypher request, written straight to the connection with chunked transfer encoding.
+ * The statements and their parameters are serialized as they are sent, so the JSON is never held in memory.
+ *
+ * @author AgileLARUS
+ * @since 3.2.0
+ */
+class Neo4jStatementEntity extends AbstractHttpEntity {
+
+	/**
+	 * Cypher queries of the body.
+	 */
+	private final List<Neo4jStatement> queries;
+
+	/**
+	 * Jackson mapper of the parameters, whose factory creates the generators.
+	 */
+	private final ObjectMapper mapper;
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param queries List of cypher query object
+	 * @param mapper  Jackson object mapper
+	 */
+	Neo4jStatementEntity(List<Neo4jStatement> queries, ObjectMapper mapper) {
+		this.queries = queries;
+		this.mapper = mapper;
+		this.setContentType(ContentType.APPLICATION_JSON.toString());
+		this.setChunked(true);
+	}
+
+	/**
+	 * The body can be written again, e.g. when the request is retried with credentials.
+	 */
+	@Override public boolean isRepeatable() {
+		return true;
+	}
+
+	@Override public long getContentLength() {
+		return -1;
+	}
+
+	@Override public boolean isStreaming() {
+		return false;
+	}
+
+	/**
+	 * Only meant for the tools that read an entity instead of writing it, the body is then held in memory.
+	 */
+	@Override public InputStream getContent() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		this.writeTo(out);
+		return new ByteArrayInputStream(out.toByteArray());
+	}
+
+	/**
+	 * Is the body longer than the given size ? Only its beginning is serialized to tell, nothing is kept.
+	 *
+	 * @param size A size in bytes
+	 * @return true if the body has more bytes than the size
+	 * @throws IOException if the JSON can't be written
+	 */
+	boolean isLongerThan(long size) throws IOException {
+		try {
+			this.writeTo(new LimitedOutputStream(size));
+			return false;
+		} catch (LimitReachedException e) {
+			return true;
+		}
+	}
+
+	@Override public void writeTo(OutputStream out) throws IOException {
+		// The http client closes the stream itself, ending the last chunk
+		try (JsonGenerator generator = this.mapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			Neo4jStatement.writeJson(this.queries, generator);
+		}
+	}
+
+	/**
+	 * Discard what's written, failing once more than the limit has been written.
+	 */
+	private static class LimitedOutputStream extends OutputStream {
+		private final long limit;
+		private long count = 0;
+
+		private LimitedOutputStream(long limit) {
+			this.limit = limit;
+		}
+
+		@Override public void write(int b) throws IOException {
+			this.write(new byte[] { (byte) b }, 0, 1);
+		}
+
+		@Override public void write(byte[] b, int off, int len) throws IOException {
+			this.count += len;
+			if (this.count > this.limit) {
+				throw new LimitReachedException();
+			}
+		}
+	}
+
+	private static class LimitReachedException extends IOException {
+		private static final long serialVersionUID = 1L;
+	}
+}
@@ -22,8 +22,13 @@ package org.neo4j.jdbc.http;
 import org.neo4j.jdbc.http.test.Neo4jHttpITUtil;
 import org.junit.Test;
 import org.neo4j.graphdb.Result;
+import org.neo4j.jdbc.BatchProgressListener;
+import org.neo4j.jdbc.Neo4jPreparedStatement;
 
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.Assert.*;
 
@@ -154,5 +159,33 @@ public class HttpNeo4jPreparedStatementIT extends Neo4jHttpITUtil {
 
 		connection.close();
 	}
-}
 
+	@Test public void executeBatchShouldCommitEveryChunks() throws SQLException {
+		Connection connection = DriverManager.getConnection("jdbc:neo4j:" + neo4j.httpURI().toString() + "?batch.size=2,batch.commitEvery=2");
+		String label = "TestExecuteBatchShouldCommitEveryChunks_" + secureMode.toString();
+		PreparedStatement statement = connection.prepareStatement("CREATE (:" + label + " { value:?})");
+		connection.setAutoCommit(false);
+		for (int i = 0; i < 5; i++) {
+			statement.setInt(1, i);
+			statement.addBatch();
+		}
+		final List<Integer> committed = new ArrayList<>();
+		statement.unwrap(Neo4jPreparedStatement.class).setBatchProgressListener(new BatchProgressListener() {
+			@Override public void chunkExecuted(int executedRows, int committedRows, int totalRows) {
+				committed.add(committedRows);
+			}
+		});
+
+		assertArrayEquals(new int[]{1, 1, 1, 1, 1}, statement.executeBatch());
+		assertEquals(Arrays.asList(2, 4, 4), committed);
+
+		Result res = neo4j.getGraphDatabaseService().execute("MATCH (n:" + label + ") RETURN count(n) AS total");
+		assertEquals(4L, res.next().get("total"));
+
+		connection.commit();
+		res = neo4j.getGraphDatabaseService().execute("MATCH (n:" + label + ") RETURN count(n) AS total");
+		assertEquals(5L, res.next().get("total"));
+
+		connection.close();
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 18/10/26
+ */
+package org.neo4j.jdbc.http;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.neo4j.jdbc.http.driver.CypherExecutor;
+import org.neo4j.jdbc.http.driver.Neo4jResponse;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author AgileLARUS
+ * @since 3.2.0
+ */
+public class HttpNeo4jStatementTest {
+
+	private HttpNeo4jConnection connection;
+
+	@Before public void setUp() throws SQLException {
+		Properties properties = new Properties();
+		properties.setProperty(CypherExecutor.DEFER_WRITES_KEY, "true");
+		connection = new HttpNeo4jConnection("azertyuiop", 1234, false, properties, "jdbc:neo4j:http://azertyuiop:1234");
+		connection.setAutoCommit(false);
+	}
+
+	@After public void tearDown() throws SQLException {
+		connection.rollback();
+		connection.close();
+	}
+
+	@Test public void executeUpdateShouldReturnZeroForADeferredUpdate() throws SQLException {
+		Statement statement = connection.createStatement();
+
+		assertEquals(0, statement.executeUpdate("CREATE (n)"));
+		assertEquals(0, statement.getUpdateCount());
+	}
+
+	@Test public void preparedExecuteUpdateShouldReturnZeroForADeferredUpdate() throws SQLException {
+		PreparedStatement statement = connection.prepareStatement("CREATE (n {value: ?})");
+		statement.setInt(1, 1);
+
+		assertEquals(0, statement.executeUpdate());
+		assertEquals(0, statement.getUpdateCount());
+	}
+
+	@Test public void executeQueryAsyncShouldRunOneExecutionAtATimeOnAConnection() throws Exception {
+		final AtomicInteger running = new AtomicInteger();
+		final AtomicInteger maxRunning = new AtomicInteger();
+		HttpNeo4jConnection shared = new HttpNeo4jConnection("azertyuiop", 1234, false, new Properties(), "jdbc:neo4j:http://azertyuiop:1234") {
+			@Override public Neo4jResponse executeQuery(String query, Map<String, Object> parameters, Boolean stats, boolean stream) throws SQLException {
+				int now = running.incrementAndGet();
+				maxRunning.set(Math.max(maxRunning.get(), now));
+				try {
+					Thread.sleep(100);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				running.decrementAndGet();
+				throw new SQLException("No server");
+			}
+		};
+		try {
+			CompletableFuture<?> first = shared.createStatement().unwrap(HttpNeo4jStatement.class).executeQueryAsync("MATCH (n) RETURN n").toCompletableFuture();
+			CompletableFuture<?> second = shared.createStatement().unwrap(HttpNeo4jStatement.class).executeQueryAsync("MATCH (n) RETURN n").toCompletableFuture();
+			for (CompletableFuture<?> execution : new CompletableFuture<?>[] { first, second }) {
+				try {
+					execution.get();
+					fail("The execution should have failed");
+				} catch (ExecutionException e) {
+					assertTrue(e.getCause() instanceof SQLException);
+				}
+			}
+			assertEquals(1, maxRunning.get());
+		} finally {
+			shared.close();
+		}
+	}
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 18/10/26
+ */
+package org.neo4j.jdbc.http.cache;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author AgileLARUS
+ * @since 3.2.0
+ */
+public class HttpClientCacheTest {
+
+	private static final String HTTP_URL = "http://test:7474";
+
+	private HttpClientCache   cache;
+	private HttpClientFactory builder;
+	private AtomicInteger     built;
+
+	@Before public void setUp() {
+		cache = new HttpClientCache();
+		built = new AtomicInteger();
+		builder = new HttpClientFactory() {
+			@Override public CloseableHttpClient create() {
+				built.incrementAndGet();
+				return mock(CloseableHttpClient.class);
+			}
+		};
+	}
+
+	private HttpClientCacheKey key(String url, String user) {
+		Properties properties = new Properties();
+		if (user != null) {
+			properties.setProperty("user", user);
+			properties.setProperty("password", "test");
+		}
+		properties.setProperty("http.pool.max.total", "10");
+		return new HttpClientCacheKey(url, properties, "http.pool.max.total", "http.keepalive");
+	}
+
+	@Test public void acquireShouldShareTheClientForEqualKeys() {
+		CloseableHttpClient first = cache.acquire(key(HTTP_URL, "neo4j"), builder, 0);
+		CloseableHttpClient second = cache.acquire(key("HTTP://TEST:7474", "neo4j"), builder, 0);
+
+		assertSame(first, second);
+		assertEquals(1, built.get());
+		assertEquals(1, cache.size());
+		assertEquals(2, cache.getReferenceCount(key(HTTP_URL, "neo4j")));
+	}
+
+	@Test public void acquireShouldNotShareTheClientForDifferentCredentials() {
+		CloseableHttpClient first = cache.acquire(key(HTTP_URL, "neo4j"), builder, 0);
+		CloseableHttpClient second = cache.acquire(key(HTTP_URL, "other"), builder, 0);
+
+		assertNotSame(first, second);
+		assertEquals(2, cache.size());
+	}
+
+	@Test public void releaseShouldCloseTheClientWhenNoMoreReferenced() throws IOException {
+		CloseableHttpClient client = cache.acquire(key(HTTP_URL, null), builder, 0);
+		cache.acquire(key(HTTP_URL, null), builder, 0);
+
+		cache.release(client);
+		verify(client, never()).close();
+		assertEquals(1, cache.size());
+
+		cache.release(client);
+		verify(client, times(1)).close();
+		assertEquals(0, cache.size());
+	}
+
+	@Test public void releaseShouldKeepTheClientDuringTheIdleTimeout() throws IOException {
+		CloseableHttpClient client = cache.acquire(key(HTTP_URL, null), builder, 60000);
+		cache.release(client);
+
+		verify(client, never()).close();
+		assertSame(client, cache.acquire(key(HTTP_URL, null), builder, 60000));
+	}
+
+	@Test public void releaseShouldIgnoreUnknownClients() throws IOException {
+		CloseableHttpClient client = mock(CloseableHttpClient.class);
+		cache.release(client);
+		verify(client, never()).close();
+	}
+
+	@Test public void idleClientsShouldBeClosedWithoutFurtherCalls() throws IOException {
+		CloseableHttpClient client = cache.acquire(key(HTTP_URL, null), builder, 50);
+		cache.release(client);
+
+		verify(client, timeout(5000)).close();
+		assertEquals(0, cache.size());
+	}
+
+	@Test public void acquireShouldNotCacheAFailedClient() {
+		HttpClientFactory failing = new HttpClientFactory() {
+			@Override public CloseableHttpClient create() {
+				throw new IllegalStateException("boom");
+			}
+		};
+		try {
+			cache.acquire(key(HTTP_URL, null), failing, 0);
+			fail("The failure of the factory should be propagated");
+		} catch (IllegalStateException e) {
+			assertEquals("boom", e.getMessage());
+		}
+
+		assertEquals(0, cache.size());
+		assertNotNull(cache.acquire(key(HTTP_URL, null), builder, 0));
+	}
+}
@@ -72,6 +72,49 @@ public class CypherExecutorTest extends Neo4jHttpUnitTestUtil {
 		executor.executeQuery(new Neo4jStatement("", null, null));
 	}
 
+	@Test public void deferShouldHoldTheUpdatesOfATransactionUntilRollback() throws Exception {
+		Properties properties = new Properties();
+		properties.setProperty(CypherExecutor.DEFER_WRITES_KEY, "true");
+		CypherExecutor deferring = new CypherExecutor("azertyuiop", 1234, false, properties);
+		try {
+			Neo4jStatement update = new Neo4jStatement("CREATE (n)", null, Boolean.TRUE);
+			Assert.assertFalse(deferring.defer(update));
+
+			deferring.setAutoCommit(false);
+			Assert.assertTrue(deferring.defer(update));
+			Assert.assertTrue(deferring.defer(update));
+			Assert.assertEquals(2, deferring.getDeferredCount());
+
+			deferring.rollback();
+			Assert.assertEquals(0, deferring.getDeferredCount());
+		} finally {
+			deferring.close();
+		}
+	}
+
+	@Test public void abortShouldLeaveTheRollbackToTheExecutingThread() throws Exception {
+		Properties properties = new Properties();
+		properties.setProperty(CypherExecutor.DEFER_WRITES_KEY, "true");
+		CypherExecutor deferring = new CypherExecutor("azertyuiop", 1234, false, properties);
+		try {
+			deferring.setAutoCommit(false);
+			Assert.assertTrue(deferring.defer(new Neo4jStatement("CREATE (n)", null, Boolean.TRUE)));
+
+			deferring.abort();
+			Assert.assertEquals(1, deferring.getDeferredCount());
+
+			deferring.commit();
+			Assert.assertEquals(0, deferring.getDeferredCount());
+		} finally {
+			deferring.close();
+		}
+	}
+
+	@Test public void deferShouldBeDisabledByDefault() throws Exception {
+		executor.setAutoCommit(false);
+		Assert.assertFalse(executor.defer(new Neo4jStatement("CREATE (n)", null, Boolean.TRUE)));
+	}
+
 	@After public void after() throws SQLException {
 		executor.close();
 	}
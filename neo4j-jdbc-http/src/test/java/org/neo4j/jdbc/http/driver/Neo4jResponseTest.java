@@ -19,6 +19,7 @@
  */
 package org.neo4j.jdbc.http.driver;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.neo4j.jdbc.http.test.Neo4jHttpUnitTestUtil;
 import org.apache.http.HttpResponse;
@@ -31,6 +32,7 @@ import org.junit.Test;
 
 import java.io.UnsupportedEncodingException;
 import java.sql.SQLException;
+import java.util.List;
 
 public class Neo4jResponseTest extends Neo4jHttpUnitTestUtil {
 
@@ -54,6 +56,36 @@ public class Neo4jResponseTest extends Neo4jHttpUnitTestUtil {
 		Assert.assertTrue(response.displayErrors().length() > 0);
 	}
 
+	@Test public void streamedResponseShouldReadTheRowsOnDemand() throws SQLException {
+		String body = "{\"results\":[{\"columns\":[\"n\"],\"data\":[{\"row\":[1],\"meta\":[null]},{\"row\":[2],\"meta\":[null]}]," +
+				"\"stats\":{\"contains_updates\":true,\"nodes_created\":1,\"nodes_deleted\":0,\"relationships_created\":0,\"relationship_deleted\":0}}]," +
+				"\"errors\":[]}";
+		ObjectMapper mapper = new ObjectMapper();
+		mapper.configure(DeserializationFeature.USE_LONG_FOR_INTS, true);
+		Neo4jResponse response = new Neo4jResponse(mockHttpResponse(200, body), mapper, null, 0);
+		Neo4jResult result = response.getFirstResult();
+
+		Assert.assertTrue(response.isStreaming());
+		Assert.assertTrue(result.isStreamed());
+		Assert.assertEquals(1, result.getColumns().size());
+		Assert.assertEquals(1L, ((List) result.nextRow().get("row")).get(0));
+		Assert.assertEquals(2L, ((List) result.nextRow().get("row")).get(0));
+		Assert.assertNull(result.nextRow());
+		Assert.assertFalse(response.isStreaming());
+		Assert.assertEquals(1, result.getUpdateCount());
+	}
+
+	@Test(expected = SQLException.class) public void streamedResponseShouldThrowTheErrorsAfterTheRows() throws SQLException {
+		String body = "{\"results\":[{\"columns\":[\"n\"],\"data\":[{\"row\":[1],\"meta\":[null]}]}]," +
+				"\"errors\":[{\"code\":\"Neo.DatabaseError.General.UnknownError\",\"message\":\"Failure after the rows\"}]}";
+		Neo4jResponse response = new Neo4jResponse(mockHttpResponse(200, body), new ObjectMapper(), null, 0);
+		Neo4jResult result = response.getFirstResult();
+
+		Assert.assertFalse(response.hasErrors());
+		Assert.assertNotNull(result.nextRow());
+		result.nextRow();
+	}
+
 	/**
 	 * Create a response object.
 	 *
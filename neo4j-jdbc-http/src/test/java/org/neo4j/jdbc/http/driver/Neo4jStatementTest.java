@@ -23,9 +23,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.neo4j.jdbc.http.test.Neo4jHttpUnitTestUtil;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.util.List;
 import java.util.Map;
 
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
 public class Neo4jStatementTest extends Neo4jHttpUnitTestUtil {
 
 	@Test public void toJsonShouldSucceed() throws Exception {
@@ -39,4 +43,27 @@ public class Neo4jStatementTest extends Neo4jHttpUnitTestUtil {
 		queries = getRandomNeo4jStatementFromCSV("data/queries.csv", 1);
 		assertCSVQueryEqual(queries.get("source"), Neo4jStatement.toJson(queries.get("object"), mapper));
 	}
+
+	@Test public void statementEntityShouldWriteTheJsonInChunks() throws Exception {
+		ObjectMapper mapper = new ObjectMapper();
+		Map<String, List> queries = getRandomNeo4jStatementFromCSV("data/queries.csv", -1);
+		Neo4jStatementEntity entity = new Neo4jStatementEntity(queries.get("object"), mapper);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		entity.writeTo(out);
+
+		assertTrue(entity.isChunked());
+		assertTrue(entity.isRepeatable());
+		assertCSVQueryEqual(queries.get("source"), out.toString("UTF-8"));
+	}
+
+	@Test public void isLongerThanShouldCompareTheSizeOfTheBody() throws Exception {
+		ObjectMapper mapper = new ObjectMapper();
+		Map<String, List> queries = getRandomNeo4jStatementFromCSV("data/queries.csv", -1);
+		Neo4jStatementEntity entity = new Neo4jStatementEntity(queries.get("object"), mapper);
+		int length = Neo4jStatement.toJson(queries.get("object"), mapper).getBytes("UTF-8").length;
+
+		assertTrue(entity.isLongerThan(length - 1));
+		assertFalse(entity.isLongerThan(length));
+	}
 }
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 18/10/26
+ */
+package org.neo4j.jdbc;
+
+/**
+ * Callback notified after every chunk of a batch executed with <code>batch.size</code> or <code>batch.commitEvery</code>.
+ * Register it with {@link Neo4jPreparedStatement#setBatchProgressListener(BatchProgressListener)}.
+ *
+ * @author AgileLARUS
+ * @since 3.2.0
+ */
+public interface BatchProgressListener {
+
+	/**
+	 * Called after a chunk of the batch has been sent.
+	 *
+	 * @param executedRows  The number of rows of the batch executed so far
+	 * @param committedRows The number of rows of the batch committed so far
+	 * @param totalRows     The number of rows of the batch
+	 */
+	void chunkExecuted(int executedRows, int committedRows, int totalRows);
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 18/10/26
+ */
+package org.neo4j.jdbc;
+
+import java.sql.BatchUpdateException;
+
+/**
+ * Failure of a batch executed in chunks.
+ * Beside the update counts of the rows executed before the failure, it tells how many rows have been committed,
+ * so that the batch can be resumed from the first row not committed.
+ *
+ * @author AgileLARUS
+ * @since 3.2.0
+ */
+public class Neo4jBatchUpdateException extends BatchUpdateException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final int committedRows;
+
+	public Neo4jBatchUpdateException(int[] updateCounts, int committedRows, Throwable cause) {
+		super(cause != null ? cause.getMessage() : null, updateCounts, cause);
+		this.committedRows = committedRows;
+	}
+
+	/**
+	 * Get the number of rows committed before the failure.
+	 *
+	 * @return the index of the first row to execute again
+	 */
+	public int getCommittedRows() {
+		return committedRows;
+	}
+}
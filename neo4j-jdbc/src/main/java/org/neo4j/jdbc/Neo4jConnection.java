@@ -55,4 +55,18 @@ public interface Neo4jConnection extends java.sql.Connection {
 	 */
 	int getFlattening();
 
+	/**
+	 * Get the maximum number of rows sent at once by a batch execution (0 if the whole batch is sent at once).
+	 *
+	 * @return int
+	 */
+	int getBatchSize();
+
+	/**
+	 * Get the number of rows after which a batch execution commits the transaction (0 if it never does).
+	 *
+	 * @return int
+	 */
+	int getBatchCommitEvery();
+
 }
@@ -19,8 +19,11 @@
  */
 package org.neo4j.jdbc;
 
+import org.neo4j.jdbc.impl.Neo4jConnectionImpl;
+import org.neo4j.jdbc.utils.CypherClassification;
 import org.neo4j.jdbc.utils.ExceptionBuilder;
-import org.neo4j.jdbc.utils.PreparedStatementBuilder;
+import org.neo4j.jdbc.utils.ParsedStatement;
+import org.neo4j.jdbc.utils.ParsedStatementCache;
 
 import java.io.InputStream;
 import java.io.Reader;
@@ -30,6 +33,8 @@ import java.sql.*;
 import java.sql.Date;
 import java.sql.ResultSet;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
 
 import static java.sql.Types.*;
 
@@ -44,7 +49,9 @@ public abstract class Neo4jPreparedStatement extends Neo4jStatement implements P
 	protected String                    statement;
 	protected HashMap<String, Object>   parameters;
 	protected List<Map<String, Object>> batchParameters;
+	protected CypherClassification      classification;
 	private   int                       parametersNumber;
+	private   BatchProgressListener     batchProgressListener;
 	private static final List<Integer> UNSUPPORTED_TYPES = Collections .unmodifiableList(
 			Arrays.asList(
 					ARRAY,
@@ -71,8 +78,12 @@ public abstract class Neo4jPreparedStatement extends Neo4jStatement implements P
 	 */
 	protected Neo4jPreparedStatement(Neo4jConnection connection, String rawStatement) {
 		super(connection);
-		this.statement = PreparedStatementBuilder.replacePlaceholders(rawStatement);
-		this.parametersNumber = PreparedStatementBuilder.namedParameterCount(statement);
+		ParsedStatementCache cache = connection instanceof Neo4jConnectionImpl ? ((Neo4jConnectionImpl) connection).getStatementCache() : null;
+		ParsedStatement parsed = cache == null ? new ParsedStatement(rawStatement) : cache.get(rawStatement);
+		this.statement = parsed.getStatement();
+		this.parametersNumber = parsed.getParametersNumber();
+		this.classification = parsed.getClassification();
+		this.poolable = true;
 		this.parameters = new HashMap<>(this.parametersNumber);
 		this.batchParameters = new ArrayList<>();
 	}
@@ -224,6 +235,104 @@ public abstract class Neo4jPreparedStatement extends Neo4jStatement implements P
 		this.batchParameters.clear();
 	}
 
+	/**
+	 * Execute the query on the shared worker pool, without blocking the caller.
+	 * The parameters are read when the execution starts.
+	 *
+	 * @return A stage completed with the ResultSet, or exceptionally with the <code>SQLException</code>
+	 */
+	public CompletionStage<ResultSet> executeQueryAsync() {
+		return this.executeAsync(new Callable<ResultSet>() {
+			@Override public ResultSet call() throws SQLException {
+				return executeQuery();
+			}
+		});
+	}
+
+	/**
+	 * Execute the update on the shared worker pool, without blocking the caller.
+	 * The parameters are read when the execution starts.
+	 *
+	 * @return A stage completed with the update count, or exceptionally with the <code>SQLException</code>
+	 */
+	public CompletionStage<Integer> executeUpdateAsync() {
+		return this.executeAsync(new Callable<Integer>() {
+			@Override public Integer call() throws SQLException {
+				return executeUpdate();
+			}
+		});
+	}
+
+	public BatchProgressListener getBatchProgressListener() {
+		return batchProgressListener;
+	}
+
+	public void setBatchProgressListener(BatchProgressListener batchProgressListener) {
+		this.batchProgressListener = batchProgressListener;
+	}
+
+	/**
+	 * Execute the batch in chunks of <code>batch.size</code> rows (the whole batch if not set).
+	 * When the connection isn't in auto-commit, the transaction is committed as soon as <code>batch.commitEvery</code> rows
+	 * have been executed since the last commit, so that neither the server transaction nor the client grow with the batch.
+	 *
+	 * @return The update counts
+	 * @throws SQLException a <code>Neo4jBatchUpdateException</code> with the update counts and the committed rows if a chunk fails
+	 */
+	protected int[] executeBatchInChunks() throws SQLException {
+		int size = this.batchParameters.size();
+		int chunkSize = this.connection.getBatchSize() > 0 ? this.connection.getBatchSize() : Math.max(size, 1);
+		int commitEvery = this.connection.getBatchCommitEvery();
+		boolean autoCommit = this.connection.getAutoCommit();
+
+		int[] result = new int[size];
+		int executed = 0;
+		int committed = 0;
+
+		while (executed < size) {
+			int end = Math.min(executed + chunkSize, size);
+			try {
+				int[] counts = this.executeBatchChunk(this.batchParameters.subList(executed, end));
+				System.arraycopy(counts, 0, result, executed, counts.length);
+				executed = end;
+				if (autoCommit) {
+					committed = executed;
+				} else if (commitEvery > 0 && executed - committed >= commitEvery) {
+					this.connection.commit();
+					committed = executed;
+				}
+			} catch (BatchUpdateException e) {
+				int[] counts = e.getUpdateCounts() == null ? new int[0] : e.getUpdateCounts();
+				int[] partial = Arrays.copyOf(result, executed + counts.length);
+				System.arraycopy(counts, 0, partial, executed, counts.length);
+				if (autoCommit) {
+					// the rows of the chunk that succeeded have been committed on their own
+					committed = executed + counts.length;
+				}
+				throw new Neo4jBatchUpdateException(partial, committed, e.getCause() != null ? e.getCause() : e);
+			} catch (SQLException e) {
+				throw new Neo4jBatchUpdateException(Arrays.copyOf(result, executed), committed, e);
+			}
+			if (this.batchProgressListener != null) {
+				this.batchProgressListener.chunkExecuted(executed, committed, size);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Execute one chunk of the batch, in the current transaction or auto-committed.
+	 *
+	 * In auto-commit, the update counts of a failure must be those of the rows committed before it:
+	 * none if the chunk runs in a single transaction, rolled back by the failure.
+	 *
+	 * @param rows The parameters of the rows of the chunk
+	 * @return The update counts of the rows
+	 * @throws SQLException a <code>BatchUpdateException</code> with the update counts of the rows executed before a failure
+	 */
+	protected abstract int[] executeBatchChunk(List<Map<String, Object>> rows) throws SQLException;
+
 	/*---------------------------------*/
 	/*       Not implemented yet       */
 	/*---------------------------------*/
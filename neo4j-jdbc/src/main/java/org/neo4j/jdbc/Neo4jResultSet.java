@@ -52,6 +52,7 @@ public abstract class Neo4jResultSet implements ResultSet, Loggable {
 	protected int     type;
 	protected int     concurrency;
 	protected int     holdability;
+	protected int     fetchSize        = DEFAULT_FETCH_SIZE;
 
 	protected Statement statement;
 
@@ -127,11 +128,12 @@ public abstract class Neo4jResultSet implements ResultSet, Loggable {
 		if (rows < 0) {
 			throw new SQLException("Fetch size must be >= 0");
 		}
+		this.fetchSize = rows == 0 ? DEFAULT_FETCH_SIZE : rows;
 	}
 
 	@Override public int getFetchSize() throws SQLException {
 		this.checkClosed();
-		return DEFAULT_FETCH_SIZE;
+		return this.fetchSize;
 	}
 
 	protected abstract boolean innerNext() throws SQLException;
@@ -19,13 +19,25 @@
  */
 package org.neo4j.jdbc;
 
+import org.neo4j.jdbc.impl.Neo4jConnectionImpl;
+import org.neo4j.jdbc.utils.AsyncExecutor;
+import org.neo4j.jdbc.utils.CypherClassification;
 import org.neo4j.jdbc.utils.ExceptionBuilder;
+import org.neo4j.jdbc.utils.ParsedStatementCache;
+import org.neo4j.jdbc.utils.TimeLimitedCodeBlock;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
 import java.sql.SQLWarning;
 import java.sql.Statement;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * @author AgileLARUS
@@ -33,6 +45,8 @@ import java.util.List;
  */
 public abstract class Neo4jStatement implements Statement, Loggable {
 
+	private static final Logger LOGGER = Logger.getLogger(Neo4jStatement.class.getName());
+
 	protected Neo4jConnection connection;
 	protected ResultSet       currentResultSet;
 	protected int             currentUpdateCount;
@@ -40,8 +54,14 @@ public abstract class Neo4jStatement implements Statement, Loggable {
 	protected boolean         debug;
 	protected int             debugLevel;
 	protected int[]           resultSetParams;
+	protected boolean         poolable;
 	private   int             maxRows;
 	private   int             queryTimeout;
+	private   int             fetchSize;
+
+	private volatile boolean executing;
+	private volatile boolean cancelled;
+	private volatile boolean timedOut;
 
 	/**
 	 * Default constructor with JDBC connection.
@@ -71,6 +91,63 @@ public abstract class Neo4jStatement implements Statement, Loggable {
 		}
 	}
 
+	/*-----------------------------*/
+	/*       Async execution       */
+	/*-----------------------------*/
+
+	/**
+	 * Execute a query on the shared worker pool, without blocking the caller.
+	 *
+	 * @param sql The query
+	 * @return A stage completed with the ResultSet, or exceptionally with the <code>SQLException</code>
+	 */
+	public CompletionStage<ResultSet> executeQueryAsync(final String sql) {
+		return this.executeAsync(new Callable<ResultSet>() {
+			@Override public ResultSet call() throws SQLException {
+				return executeQuery(sql);
+			}
+		});
+	}
+
+	/**
+	 * Execute an update on the shared worker pool, without blocking the caller.
+	 *
+	 * @param sql The query
+	 * @return A stage completed with the update count, or exceptionally with the <code>SQLException</code>
+	 */
+	public CompletionStage<Integer> executeUpdateAsync(final String sql) {
+		return this.executeAsync(new Callable<Integer>() {
+			@Override public Integer call() throws SQLException {
+				return executeUpdate(sql);
+			}
+		});
+	}
+
+	/**
+	 * Run an execution on the shared worker pool.
+	 * The asynchronous executions of a statement run one at a time, and outside auto-commit
+	 * one at a time on the whole connection, as they share its transaction.
+	 *
+	 * @param execution The execution
+	 * @param <T>       The type of its result
+	 * @return A stage completed with the result of the execution
+	 */
+	protected <T> CompletionStage<T> executeAsync(final Callable<T> execution) {
+		return AsyncExecutor.supply(new Callable<T>() {
+			@Override public T call() throws Exception {
+				synchronized (Neo4jStatement.this) {
+					Neo4jConnection conn = getConnection();
+					if (conn.getAutoCommit()) {
+						return execution.call();
+					}
+					synchronized (conn) {
+						return execution.call();
+					}
+				}
+			}
+		});
+	}
+
 	/*------------------------------------*/
 	/*       Default implementation       */
 	/*------------------------------------*/
@@ -152,6 +229,7 @@ public abstract class Neo4jStatement implements Statement, Loggable {
 		if (rows != Integer.MIN_VALUE && (this.getMaxRows() > 0 && rows > this.getMaxRows())) {
 			throw new UnsupportedOperationException("Not implemented yet. => maxRow :" + getMaxRows() + " rows :" + rows);
 		}
+		this.fetchSize = Math.max(0, rows);
 	}
 
 	/**
@@ -180,8 +258,6 @@ public abstract class Neo4jStatement implements Statement, Loggable {
 	}
 
 	/**
-	 * Added just for value memorization
-	 *
 	 * @return the current query timeout limit in seconds; zero means there is no limit
 	 * @throws SQLException if a database error occurs
 	 */
@@ -190,15 +266,123 @@ public abstract class Neo4jStatement implements Statement, Loggable {
 	}
 
 	/**
-	 * Added just for value memorization
+	 * When the limit is exceeded the execution is cancelled and throws a <code>SQLTimeoutException</code>.
 	 *
 	 * @param seconds the new query timeout limit in seconds; zero means there is no limit
 	 * @throws SQLException if a database error occurs
 	 */
 	@Override public void setQueryTimeout(int seconds) throws SQLException {
+		if (seconds < 0) {
+			throw new SQLException("Timeout can't be less than zero");
+		}
 		this.queryTimeout = seconds;
 	}
 
+	/**
+	 * Cancel the running execution of this statement, if any. Can be called from another thread.
+	 *
+	 * @throws SQLException if the statement is closed
+	 */
+	@Override public void cancel() throws SQLException {
+		this.checkClosed();
+		if (this.executing) {
+			this.cancelled = true;
+			this.cancelExecution();
+		}
+	}
+
+	/**
+	 * Interrupt the running execution, called from another thread by <code>cancel</code> or when the query timeout is exceeded.
+	 *
+	 * @throws SQLException if the execution can't be interrupted
+	 */
+	protected abstract void cancelExecution() throws SQLException;
+
+	/**
+	 * Mark the beginning of an execution, arming the query timeout.
+	 *
+	 * @return the timeout to give to <code>endExecution</code>, null if there is none
+	 */
+	protected ScheduledFuture<?> beginExecution() {
+		this.cancelled = false;
+		this.timedOut = false;
+		this.executing = true;
+		if (this.queryTimeout <= 0) {
+			return null;
+		}
+		return TimeLimitedCodeBlock.schedule(new Runnable() {
+			@Override public void run() {
+				if (executing) {
+					timedOut = true;
+					try {
+						cancelExecution();
+					} catch (Exception e) {
+						LOGGER.log(Level.FINE, "Unable to cancel the timed out execution", e);
+					}
+				}
+			}
+		}, this.queryTimeout, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Mark the successful end of an execution, disarming the query timeout.
+	 *
+	 * @param timeout The timeout returned by <code>beginExecution</code>
+	 * @throws SQLTimeoutException if the execution has been cancelled by the timeout, even if it completed
+	 */
+	protected void endExecution(ScheduledFuture<?> timeout) throws SQLException {
+		this.disarm(timeout);
+		if (this.timedOut) {
+			throw new SQLTimeoutException("The query has been cancelled after the query timeout of " + this.queryTimeout + " seconds");
+		}
+		if (this.connection instanceof Neo4jConnectionImpl) {
+			((Neo4jConnectionImpl) this.connection).markAlive();
+		}
+	}
+
+	/**
+	 * Mark the failed end of an execution, disarming the query timeout and telling apart the failures
+	 * caused by a cancellation or by the query timeout.
+	 *
+	 * @param timeout The timeout returned by <code>beginExecution</code>
+	 * @param e       The failure
+	 * @return the exception to throw
+	 */
+	protected SQLException executionFailure(ScheduledFuture<?> timeout, Exception e) {
+		this.disarm(timeout);
+		if (this.timedOut) {
+			return new SQLTimeoutException("The query has been cancelled after the query timeout of " + this.queryTimeout + " seconds", e);
+		}
+		if (this.cancelled) {
+			return new SQLException("The query has been cancelled", e);
+		}
+		if (e instanceof SQLException) {
+			return (SQLException) e;
+		}
+		if (e instanceof RuntimeException) {
+			throw (RuntimeException) e;
+		}
+		return new SQLException(e);
+	}
+
+	private void disarm(ScheduledFuture<?> timeout) {
+		this.executing = false;
+		if (timeout != null) {
+			timeout.cancel(false);
+		}
+	}
+
+	/**
+	 * Classify a statement, using the cache of the connection if any.
+	 *
+	 * @param cypher The Cypher statement
+	 * @return what the statement does
+	 */
+	protected CypherClassification classify(String cypher) {
+		ParsedStatementCache cache = this.connection instanceof Neo4jConnectionImpl ? ((Neo4jConnectionImpl) this.connection).getStatementCache() : null;
+		return cache == null ? CypherClassification.classify(cypher) : cache.classify(cypher);
+	}
+
 	@Override public void addBatch(String sql) throws SQLException {
 		this.checkClosed();
 		this.batchStatements.add(sql);
@@ -295,7 +479,8 @@ public abstract class Neo4jStatement implements Statement, Loggable {
 	}
 
 	@Override public int getFetchSize() throws SQLException {
-		throw ExceptionBuilder.buildUnsupportedOperationException();
+		this.checkClosed();
+		return this.fetchSize;
 	}
 
 	@Override public boolean getMoreResults(int current) throws SQLException {
@@ -306,16 +491,20 @@ public abstract class Neo4jStatement implements Statement, Loggable {
 		throw ExceptionBuilder.buildUnsupportedOperationException();
 	}
 
-	@Override public void cancel() throws SQLException {
-		throw ExceptionBuilder.buildUnsupportedOperationException();
-	}
-
 	@Override public void setPoolable(boolean poolable) throws SQLException {
-		throw ExceptionBuilder.buildUnsupportedOperationException();
+		this.checkClosed();
+		this.poolable = poolable;
 	}
 
+	/**
+	 * Prepared statements are poolable by default, statements are not.
+	 *
+	 * @return the poolable hint
+	 * @throws SQLException if the statement is closed
+	 */
 	@Override public boolean isPoolable() throws SQLException {
-		throw ExceptionBuilder.buildUnsupportedOperationException();
+		this.checkClosed();
+		return this.poolable;
 	}
 
 	@Override public int[] executeBatch() throws SQLException {
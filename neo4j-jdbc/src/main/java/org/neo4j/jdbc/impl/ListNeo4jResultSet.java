@@ -50,6 +50,9 @@ public class ListNeo4jResultSet extends Neo4jResultSet {
 
 	public static ResultSet newInstance(boolean debug, List<List<Object>> list, List<String> keys) {
 		ResultSet rs = new ListNeo4jResultSet(list, keys);
+		if (!debug) {
+			return rs;
+		}
 		return (ResultSet) Proxy
 				.newProxyInstance(ListNeo4jResultSet.class.getClassLoader(), new Class[] { ResultSet.class }, new Neo4jInvocationHandler(rs, debug));
 	}
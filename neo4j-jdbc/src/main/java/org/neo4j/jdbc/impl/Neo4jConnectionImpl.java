@@ -22,13 +22,16 @@ package org.neo4j.jdbc.impl;
 import org.neo4j.jdbc.Neo4jArray;
 import org.neo4j.jdbc.Neo4jConnection;
 import org.neo4j.jdbc.Neo4jResultSet;
+import org.neo4j.jdbc.utils.CypherClassification;
 import org.neo4j.jdbc.utils.ExceptionBuilder;
+import org.neo4j.jdbc.utils.ParsedStatementCache;
 
 import java.sql.*;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Gianmarco Laggia @ Larus B.A.
@@ -55,6 +58,16 @@ public abstract class Neo4jConnectionImpl implements Neo4jConnection {
 	 */
 	private int holdability;
 
+	/**
+	 * When the server last answered on this connection, 0 if never
+	 */
+	private volatile long lastAliveNanos;
+
+	/**
+	 * The parsed prepared statements, null if the cache is disabled
+	 */
+	private final ParsedStatementCache statementCache;
+
 	protected static final String FASTEST_STATEMENT = "RETURN 1";
 
 	/**
@@ -68,6 +81,10 @@ public abstract class Neo4jConnectionImpl implements Neo4jConnection {
 		this.url = url;
 		this.properties = properties;
 		this.holdability = defaultHoldability;
+
+		String cacheSize = properties == null ? null : properties.getProperty("statement.cache.size");
+		int statementCacheSize = cacheSize == null ? ParsedStatementCache.DEFAULT_SIZE : Integer.parseInt(cacheSize);
+		this.statementCache = statementCacheSize > 0 ? new ParsedStatementCache(statementCacheSize) : null;
 	}
 
 	public static boolean hasDebug(Properties properties) {
@@ -111,6 +128,64 @@ public abstract class Neo4jConnectionImpl implements Neo4jConnection {
 		return flatten == null ? 0 : Integer.parseInt(flatten);
 	}
 
+	/**
+	 * Get the maximum number of rows sent at once by a batch execution (0 if the whole batch is sent at once).
+	 *
+	 * @return int
+	 */
+	public int getBatchSize() {
+		String batchSize = properties.getProperty("batch.size");
+		return batchSize == null ? 0 : Integer.parseInt(batchSize);
+	}
+
+	/**
+	 * Get the number of rows after which a batch execution commits the transaction (0 if it never does).
+	 *
+	 * @return int
+	 */
+	public int getBatchCommitEvery() {
+		String commitEvery = properties.getProperty("batch.commitevery");
+		return commitEvery == null ? 0 : Integer.parseInt(commitEvery);
+	}
+
+	/**
+	 * Get the cache of the parsed prepared statements of this connection, sized by the <code>statement.cache.size</code> property.
+	 *
+	 * @return the cache, null if disabled
+	 */
+	public ParsedStatementCache getStatementCache() {
+		return this.statementCache;
+	}
+
+	/**
+	 * Get the time, in milliseconds, during which a connection the server answered on is considered valid
+	 * without a validation round trip (0 if the validation always runs).
+	 *
+	 * @return long
+	 */
+	public long getValidationWindow() {
+		String window = properties == null ? null : properties.getProperty("validation.window");
+		return window == null ? 0 : Long.parseLong(window);
+	}
+
+	/**
+	 * Record that the server just answered on this connection.
+	 */
+	public void markAlive() {
+		this.lastAliveNanos = System.nanoTime();
+	}
+
+	/**
+	 * Has the server answered on this connection within the validation window ?
+	 *
+	 * @return true if <code>isValid</code> can skip the validation round trip
+	 */
+	protected boolean isRecentlyAlive() {
+		long window = this.getValidationWindow();
+		long lastAlive = this.lastAliveNanos;
+		return window > 0 && lastAlive != 0 && System.nanoTime() - lastAlive < TimeUnit.MILLISECONDS.toNanos(window);
+	}
+
 	/*---------------------------------------*/
 	/*       Some useful check method        */
 	/*---------------------------------------*/
@@ -152,14 +227,23 @@ public abstract class Neo4jConnectionImpl implements Neo4jConnection {
 	}
 
 	/**
-	 * Detect some cypher keyword to know if this query mutated the graph.
-	 * /!\ This not enough now due to procedure procedure.
+	 * Classify a statement, using the cache of the connection if enabled.
+	 *
+	 * @param query Cypher query
+	 * @return what the query does
+	 */
+	public CypherClassification classify(String query) {
+		return this.statementCache == null ? CypherClassification.classify(query) : this.statementCache.classify(query);
+	}
+
+	/**
+	 * Does this query surely write the graph or the schema ?
 	 *
 	 * @param query Cypher query
-	 * @return
+	 * @return true if the query writes
 	 */
 	private boolean isMutating(String query) {
-		return query.matches("(?is).*\\b(create|relate|delete|set)\\b.*");
+		return this.classify(query).isMutating();
 	}
 
 	/**
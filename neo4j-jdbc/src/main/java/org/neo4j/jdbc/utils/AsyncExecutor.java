@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 18/10/26
+ */
+package org.neo4j.jdbc.utils;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The worker pool shared by the asynchronous executions of all the connections.
+ * Its size is the <code>neo4j.jdbc.async.threads</code> system property, twice the processors (at least 4) by default.
+ *
+ * @author AgileLARUS
+ * @since 3.2.0
+ */
+public class AsyncExecutor {
+
+	private static final int THREADS = Integer.getInteger("neo4j.jdbc.async.threads", Math.max(4, 2 * Runtime.getRuntime().availableProcessors()));
+
+	private static final ExecutorService EXECUTOR;
+
+	static {
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(THREADS, THREADS, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger();
+
+			@Override public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "neo4j-jdbc-async-" + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		executor.allowCoreThreadTimeOut(true);
+		EXECUTOR = executor;
+	}
+
+	private AsyncExecutor() {}
+
+	/**
+	 * Run a task on the shared pool.
+	 *
+	 * @param task The task to run
+	 * @param <T>  The type of the result
+	 * @return A future completed with the result of the task, or exceptionally with what it has thrown
+	 */
+	public static <T> CompletableFuture<T> supply(final Callable<T> task) {
+		final CompletableFuture<T> future = new CompletableFuture<>();
+		EXECUTOR.execute(new Runnable() {
+			@Override public void run() {
+				try {
+					future.complete(task.call());
+				} catch (Exception e) {
+					future.completeExceptionally(e);
+				}
+			}
+		});
+		return future;
+	}
+
+	/**
+	 * @param cause The failure
+	 * @param <T>   The type of the result
+	 * @return A future already completed exceptionally
+	 */
+	public static <T> CompletableFuture<T> failed(Throwable cause) {
+		CompletableFuture<T> future = new CompletableFuture<>();
+		future.completeExceptionally(cause);
+		return future;
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 18/10/26
+ */
+package org.neo4j.jdbc.utils;
+
+/**
+ * What a Cypher statement does, found from its clauses by <code>CypherTokenizer</code>:
+ * words in strings, comments, property keys, labels or map keys are not taken for clauses.
+ * <br>
+ * i.e. <code>MATCH (n {set: 'CREATE'}) RETURN n.delete</code> is a read returning rows.
+ *
+ * @author AgileLARUS
+ * @since 3.2.0
+ */
+public class CypherClassification {
+
+	/**
+	 * The kinds of statements, from the one that can be sent anywhere to the ones that must reach the leader of a cluster.
+	 */
+	public enum Kind {
+		/** Only reads the graph */
+		READ,
+		/** Calls a procedure, which may write */
+		PROCEDURE,
+		/** Writes the graph (CREATE, MERGE, SET, REMOVE, DELETE) */
+		WRITE,
+		/** Creates or drops an index or a constraint */
+		SCHEMA
+	}
+
+	private final Kind    kind;
+	private final boolean returningRows;
+
+	private CypherClassification(Kind kind, boolean returningRows) {
+		this.kind = kind;
+		this.returningRows = returningRows;
+	}
+
+	/**
+	 * Classify a statement in a single pass over its tokens.
+	 *
+	 * @param statement The Cypher statement
+	 * @return its classification
+	 */
+	public static CypherClassification classify(String statement) {
+		Kind kind = Kind.READ;
+		boolean returningRows = false;
+
+		CypherTokenizer tokens = new CypherTokenizer(statement);
+		// a clause word is only known once the following token tells it's not a map key
+		Kind pending = null;
+		boolean pendingReturn = false;
+		boolean create = false;
+		boolean afterDot = false;
+		while (tokens.next()) {
+			if (tokens.getType() == CypherTokenizer.TokenType.COMMENT) {
+				continue;
+			}
+			boolean colon = tokens.getType() == CypherTokenizer.TokenType.SYMBOL && statement.charAt(tokens.getStart()) == ':';
+			if (!colon) {
+				kind = max(kind, pending);
+				returningRows |= pendingReturn;
+			}
+			pending = null;
+			pendingReturn = false;
+
+			if (tokens.getType() == CypherTokenizer.TokenType.WORD && !afterDot) {
+				if (create && (tokens.isWord("INDEX") || tokens.isWord("CONSTRAINT"))) {
+					pending = Kind.SCHEMA;
+				} else if (tokens.isWord("DROP")) {
+					pending = Kind.SCHEMA;
+				} else if (tokens.isWord("CREATE") || tokens.isWord("MERGE") || tokens.isWord("SET") || tokens.isWord("REMOVE") || tokens.isWord("DELETE")) {
+					pending = Kind.WRITE;
+				} else if (tokens.isWord("CALL")) {
+					pending = Kind.PROCEDURE;
+					pendingReturn = true;
+				} else if (tokens.isWord("RETURN")) {
+					pendingReturn = true;
+				}
+				create = tokens.isWord("CREATE");
+			} else {
+				create = false;
+			}
+			afterDot = tokens.getType() == CypherTokenizer.TokenType.SYMBOL && (colon || statement.charAt(tokens.getStart()) == '.' || statement.charAt(tokens.getStart()) == '$');
+		}
+		kind = max(kind, pending);
+		returningRows |= pendingReturn;
+
+		return new CypherClassification(kind, returningRows);
+	}
+
+	private static Kind max(Kind kind, Kind other) {
+		return other != null && other.ordinal() > kind.ordinal() ? other : kind;
+	}
+
+	/**
+	 * @return the kind of the statement
+	 */
+	public Kind getKind() {
+		return this.kind;
+	}
+
+	/**
+	 * @return true if the statement only reads the graph
+	 */
+	public boolean isReadOnly() {
+		return this.kind == Kind.READ;
+	}
+
+	/**
+	 * @return true if the statement surely writes the graph or the schema, a procedure call may also write
+	 */
+	public boolean isMutating() {
+		return this.kind == Kind.WRITE || this.kind == Kind.SCHEMA;
+	}
+
+	/**
+	 * @return true if the statement has a <code>RETURN</code> clause or calls a procedure
+	 */
+	public boolean isReturningRows() {
+		return this.returningRows;
+	}
+}
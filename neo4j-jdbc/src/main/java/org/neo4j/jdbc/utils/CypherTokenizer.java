@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 18/10/26
+ */
+package org.neo4j.jdbc.utils;
+
+/**
+ * A single pass lexer for Cypher statements, telling apart the placeholders, the numbered parameters and the words
+ * from what is inside strings, quoted names and comments.
+ * It works as a cursor over the statement: <code>next</code> moves to the following token, whose type and bounds are then available,
+ * so that no object is created per token.
+ * <br>
+ * i.e. <code>MATCH (n) WHERE n.name = ? // 'comment'</code> gives the words MATCH, n, WHERE, n, name, the placeholder and the comment.
+ *
+ * @author AgileLARUS
+ * @since 3.2.0
+ */
+public class CypherTokenizer {
+
+	/**
+	 * The types of the tokens, white spaces are skipped.
+	 */
+	public enum TokenType {
+		/** A run of letters, digits and underscores, like a keyword, an identifier or a number */
+		WORD,
+		/** A single or double quoted string */
+		STRING,
+		/** A name quoted by backticks */
+		QUOTED_NAME,
+		/** A line or block comment */
+		COMMENT,
+		/** A JDBC <code>?</code> placeholder */
+		PLACEHOLDER,
+		/** A numbered parameter, like <code>{1}</code> */
+		PARAMETER,
+		/** Any other character */
+		SYMBOL
+	}
+
+	private final String statement;
+	private final int    length;
+
+	private int       position;
+	private TokenType type;
+	private int       start;
+	private int       end;
+	private int       parameterIndex;
+
+	/**
+	 * @param statement The statement to tokenize
+	 */
+	public CypherTokenizer(String statement) {
+		this.statement = statement;
+		this.length = statement.length();
+	}
+
+	/**
+	 * Move to the next token.
+	 *
+	 * @return false if the end of the statement has been reached
+	 */
+	public boolean next() {
+		while (this.position < this.length && Character.isWhitespace(this.statement.charAt(this.position))) {
+			this.position++;
+		}
+		if (this.position >= this.length) {
+			this.type = null;
+			return false;
+		}
+
+		this.start = this.position;
+		char c = this.statement.charAt(this.position);
+		if (isWordPart(c)) {
+			this.type = TokenType.WORD;
+			this.position++;
+			while (this.position < this.length && isWordPart(this.statement.charAt(this.position))) {
+				this.position++;
+			}
+		} else if (c == '\'' || c == '"') {
+			this.type = TokenType.STRING;
+			this.skipString(c);
+		} else if (c == '`') {
+			this.type = TokenType.QUOTED_NAME;
+			this.skipQuotedName();
+		} else if (c == '/' && this.charAt(this.position + 1) == '/') {
+			this.type = TokenType.COMMENT;
+			int eol = this.statement.indexOf('\n', this.position);
+			this.position = eol < 0 ? this.length : eol;
+		} else if (c == '/' && this.charAt(this.position + 1) == '*') {
+			this.type = TokenType.COMMENT;
+			int close = this.statement.indexOf("*/", this.position + 2);
+			this.position = close < 0 ? this.length : close + 2;
+		} else if (c == '?') {
+			this.type = TokenType.PLACEHOLDER;
+			this.position++;
+		} else if (c == '{' && this.skipParameter()) {
+			this.type = TokenType.PARAMETER;
+		} else {
+			this.type = TokenType.SYMBOL;
+			this.position++;
+		}
+		this.end = this.position;
+		return true;
+	}
+
+	/**
+	 * @return the type of the current token, null at the end of the statement
+	 */
+	public TokenType getType() {
+		return this.type;
+	}
+
+	/**
+	 * @return the index in the statement of the first character of the current token
+	 */
+	public int getStart() {
+		return this.start;
+	}
+
+	/**
+	 * @return the index in the statement following the last character of the current token
+	 */
+	public int getEnd() {
+		return this.end;
+	}
+
+	/**
+	 * @return the number of the current <code>PARAMETER</code> token
+	 */
+	public int getParameterIndex() {
+		return this.parameterIndex;
+	}
+
+	/**
+	 * @return the text of the current token
+	 */
+	public String getText() {
+		return this.statement.substring(this.start, this.end);
+	}
+
+	/**
+	 * Is the current token the given word, ignoring the case ?
+	 *
+	 * @param word The word to compare to
+	 * @return true if the current token is a <code>WORD</code> equal to <code>word</code>
+	 */
+	public boolean isWord(String word) {
+		return this.type == TokenType.WORD && this.end - this.start == word.length() && this.statement.regionMatches(true, this.start, word, 0, word.length());
+	}
+
+	private static boolean isWordPart(char c) {
+		return c == '_' || Character.isLetterOrDigit(c);
+	}
+
+	private char charAt(int index) {
+		return index < this.length ? this.statement.charAt(index) : 0;
+	}
+
+	private void skipString(char quote) {
+		this.position++;
+		while (this.position < this.length) {
+			char c = this.statement.charAt(this.position++);
+			if (c == '\\') {
+				this.position++;
+			} else if (c == quote) {
+				break;
+			}
+		}
+		this.position = Math.min(this.position, this.length);
+	}
+
+	private void skipQuotedName() {
+		this.position++;
+		while (this.position < this.length) {
+			if (this.statement.charAt(this.position++) == '`') {
+				if (this.charAt(this.position) != '`') {
+					break;
+				}
+				this.position++;
+			}
+		}
+	}
+
+	/**
+	 * Skip a numbered parameter like <code>{1}</code>, <code>{ 1 }</code> or <code>{`1`}</code>.
+	 *
+	 * @return false, without moving, if the curly bracket doesn't open a numbered parameter
+	 */
+	private boolean skipParameter() {
+		int i = this.skipWhitespaces(this.position + 1);
+		if (this.charAt(i) == '`') {
+			i = this.skipWhitespaces(i + 1);
+		}
+		int index = 0;
+		int digits = 0;
+		while (i < this.length && this.statement.charAt(i) >= '0' && this.statement.charAt(i) <= '9') {
+			index = index * 10 + (this.statement.charAt(i) - '0');
+			digits++;
+			i++;
+		}
+		if (digits == 0 || digits > 9) {
+			return false;
+		}
+		i = this.skipWhitespaces(i);
+		if (this.charAt(i) == '`') {
+			i = this.skipWhitespaces(i + 1);
+		}
+		if (this.charAt(i) != '}') {
+			return false;
+		}
+		this.parameterIndex = index;
+		this.position = i + 1;
+		return true;
+	}
+
+	private int skipWhitespaces(int index) {
+		int i = index;
+		while (i < this.length && Character.isWhitespace(this.statement.charAt(i))) {
+			i++;
+		}
+		return i;
+	}
+}
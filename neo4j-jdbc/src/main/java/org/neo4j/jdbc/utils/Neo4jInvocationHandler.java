@@ -22,11 +22,12 @@ package org.neo4j.jdbc.utils;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.logging.Logger;
 
 /**
+ * Logs every call made on a JDBC object, only used when debug is enabled:
+ * otherwise the objects are handed out unwrapped.
+ *
  * @author Gianmarco Laggia @ Larus B.A.
  * @since 3.2.0
  */
@@ -34,24 +35,18 @@ public class Neo4jInvocationHandler implements InvocationHandler {
 
 	private static final Logger LOGGER = Logger.getLogger(Neo4jInvocationHandler.class.getName());
 
-	private final Map<String, Method> methods = new HashMap<>();
-
 	private Object  target;
 	private boolean debug;
 
 	public Neo4jInvocationHandler(Object target, boolean debug) {
 		this.target = target;
 		this.debug = debug;
-
-		for (Method method : target.getClass().getMethods()) {
-			String key = getUniqueKeyFromMethod(method);
-			this.methods.put(key, method);
-		}
 	}
 
 	@Override public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
 		try {
-			Object result = methods.get(getUniqueKeyFromMethod(method)).invoke(target, args);
+			// the proxied interfaces are implemented by the target, their methods can be invoked on it directly
+			Object result = method.invoke(target, args);
 
 			if (debug) {
 				LOGGER.info("[" + target.getClass().getCanonicalName() + "] " + method.getName());
@@ -62,12 +57,4 @@ public class Neo4jInvocationHandler implements InvocationHandler {
 			throw e.getCause();
 		}
 	}
-
-	private String getUniqueKeyFromMethod(Method method) {
-		String key = method.getName() + "_";
-		for(Class type : method.getParameterTypes()) {
-			key += type.getCanonicalName() + "_";
-		}
-		return key;
-	}
 }
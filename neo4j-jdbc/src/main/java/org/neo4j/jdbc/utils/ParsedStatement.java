@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 18/10/26
+ */
+package org.neo4j.jdbc.utils;
+
+/**
+ * A raw prepared statement digested once: its JDBC placeholders are replaced with neo4j parameters, its parameters are counted
+ * and it is classified.
+ *
+ * @author AgileLARUS
+ * @since 3.2.0
+ */
+public class ParsedStatement {
+
+	private final String               statement;
+	private final int                  parametersNumber;
+	private final CypherClassification classification;
+
+	/**
+	 * @param rawStatement The statement with JDBC placeholders
+	 */
+	public ParsedStatement(String rawStatement) {
+		this.statement = PreparedStatementBuilder.replacePlaceholders(rawStatement);
+		this.parametersNumber = PreparedStatementBuilder.namedParameterCount(this.statement);
+		this.classification = CypherClassification.classify(this.statement);
+	}
+
+	/**
+	 * @return the statement with neo4j curly brackets notation for parameters
+	 */
+	public String getStatement() {
+		return this.statement;
+	}
+
+	/**
+	 * @return the highest parameter number of the statement
+	 */
+	public int getParametersNumber() {
+		return this.parametersNumber;
+	}
+
+	/**
+	 * @return what the statement does
+	 */
+	public CypherClassification getClassification() {
+		return this.classification;
+	}
+}
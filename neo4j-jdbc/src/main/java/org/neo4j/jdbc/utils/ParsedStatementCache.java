@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 18/10/26
+ */
+package org.neo4j.jdbc.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of the parsed prepared statements of a connection, keyed by their raw text,
+ * and of the classifications of its other statements.
+ * The least recently used statement is evicted when the cache is full.
+ *
+ * @author AgileLARUS
+ * @since 3.2.0
+ */
+public class ParsedStatementCache {
+
+	public static final int DEFAULT_SIZE = 100;
+
+	private final Map<String, ParsedStatement>      statements;
+	private final Map<String, CypherClassification> classifications;
+
+	private long hits;
+	private long misses;
+
+	/**
+	 * @param maxSize The maximum number of statements kept
+	 */
+	public ParsedStatementCache(int maxSize) {
+		this.statements = newLruMap(maxSize);
+		this.classifications = newLruMap(maxSize);
+	}
+
+	private static <T> Map<String, T> newLruMap(final int maxSize) {
+		return new LinkedHashMap<String, T>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override protected boolean removeEldestEntry(Map.Entry<String, T> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	/**
+	 * Get the parsed statement, parsing it if not cached.
+	 *
+	 * @param rawStatement The statement with JDBC placeholders
+	 * @return the parsed statement
+	 */
+	public synchronized ParsedStatement get(String rawStatement) {
+		ParsedStatement parsed = this.statements.get(rawStatement);
+		if (parsed != null) {
+			this.hits++;
+			return parsed;
+		}
+		this.misses++;
+		parsed = new ParsedStatement(rawStatement);
+		this.statements.put(rawStatement, parsed);
+		return parsed;
+	}
+
+	/**
+	 * Get the classification of a statement, classifying it if not cached.
+	 *
+	 * @param statement The Cypher statement
+	 * @return its classification
+	 */
+	public synchronized CypherClassification classify(String statement) {
+		CypherClassification classification = this.classifications.get(statement);
+		if (classification != null) {
+			this.hits++;
+			return classification;
+		}
+		this.misses++;
+		classification = CypherClassification.classify(statement);
+		this.classifications.put(statement, classification);
+		return classification;
+	}
+
+	/**
+	 * @return the number of statements found in the cache
+	 */
+	public synchronized long getHitCount() {
+		return this.hits;
+	}
+
+	/**
+	 * @return the number of statements parsed because not in the cache
+	 */
+	public synchronized long getMissCount() {
+		return this.misses;
+	}
+
+	/**
+	 * @return the number of statements in the cache
+	 */
+	public synchronized int size() {
+		return this.statements.size();
+	}
+}
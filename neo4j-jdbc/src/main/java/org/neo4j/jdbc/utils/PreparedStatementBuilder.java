@@ -19,9 +19,6 @@
  */
 package org.neo4j.jdbc.utils;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 /**
  * This class contains static methods used to process a raw statement and create a valid string to be used as preparedStatement in neo4j
  *
@@ -41,18 +38,22 @@ public class PreparedStatementBuilder {
 	 * @return The string with the placeholders replaced.
 	 */
 	public static String replacePlaceholders(String raw) {
+		StringBuilder digested = null;
 		int index = 1;
-		String digested = raw;
-
-		String regex = "\\?(?=[^\"]*(?:\"[^\"]*\"[^\"]*)*$)";
-		Matcher matcher = Pattern.compile(regex).matcher(digested);
+		int copied = 0;
 
-		while (matcher.find()) {
-			digested = digested.replaceFirst(regex, "{" + index + "}");
-			index++;
+		CypherTokenizer tokens = new CypherTokenizer(raw);
+		while (tokens.next()) {
+			if (tokens.getType() == CypherTokenizer.TokenType.PLACEHOLDER) {
+				if (digested == null) {
+					digested = new StringBuilder(raw.length() + 16);
+				}
+				digested.append(raw, copied, tokens.getStart()).append('{').append(index++).append('}');
+				copied = tokens.getEnd();
+			}
 		}
 
-		return digested;
+		return digested == null ? raw : digested.append(raw, copied, raw.length()).toString();
 	}
 
 	/**
@@ -63,12 +64,58 @@ public class PreparedStatementBuilder {
 	 */
 	public static int namedParameterCount(String raw) {
 		int max = 0;
-		String regex = "\\{\\s*`?\\s*(\\d+)\\s*`?\\s*\\}(?=[^\"]*(\"[^\"]*\"[^\"]*)*$)";
-		Matcher matcher = Pattern.compile(regex).matcher(raw);
-		while (matcher.find()) {
-			max = Math.max(Integer.parseInt(matcher.group(1)),max);
+		CypherTokenizer tokens = new CypherTokenizer(raw);
+		while (tokens.next()) {
+			if (tokens.getType() == CypherTokenizer.TokenType.PARAMETER) {
+				max = Math.max(tokens.getParameterIndex(), max);
+			}
 		}
 		return max;
 	}
 
+	/**
+	 * This method return a String that is the statement rewritten to be executed once for every element of a list parameter,
+	 * with all numbered parameters replaced by the properties of the list element.
+	 * <br>
+	 * i.e. CREATE (n {name: {1}}) is transformed in UNWIND {rows} AS row CREATE (n {name: row.`1`})
+	 *
+	 * @param statement The statement with neo4j curly brackets notation for parameters
+	 * @param rows      The name of the list parameter
+	 * @param row       The name of the variable bound to every element of the list
+	 * @return The rewritten statement
+	 */
+	public static String unwindStatement(String statement, String rows, String row) {
+		StringBuilder digested = new StringBuilder(statement.length() + 32).append("UNWIND {").append(rows).append("} AS ").append(row).append(' ');
+		int copied = 0;
+
+		CypherTokenizer tokens = new CypherTokenizer(statement);
+		while (tokens.next()) {
+			if (tokens.getType() == CypherTokenizer.TokenType.PARAMETER) {
+				digested.append(statement, copied, tokens.getStart()).append(row).append(".`").append(tokens.getParameterIndex()).append('`');
+				copied = tokens.getEnd();
+			}
+		}
+		return digested.append(statement, copied, statement.length()).toString();
+	}
+
+	/**
+	 * Given a statement it tells if it can be prefixed by an <code>UNWIND</code> (no <code>UNION</code> nor <code>USING PERIODIC COMMIT</code>)
+	 *
+	 * @param statement The string of the statement
+	 * @return true if the statement can be rewritten with <code>unwindStatement</code>
+	 */
+	public static boolean isUnwindable(String statement) {
+		boolean periodic = false;
+		CypherTokenizer tokens = new CypherTokenizer(statement);
+		while (tokens.next()) {
+			if (tokens.isWord("UNION") || (periodic && tokens.isWord("COMMIT"))) {
+				return false;
+			}
+			if (tokens.getType() != CypherTokenizer.TokenType.COMMENT) {
+				periodic = tokens.isWord("PERIODIC");
+			}
+		}
+		return true;
+	}
+
 }
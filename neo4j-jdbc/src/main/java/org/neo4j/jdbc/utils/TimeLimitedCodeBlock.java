@@ -20,6 +20,7 @@
 package org.neo4j.jdbc.utils;
 
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author AgileLARUS
@@ -28,11 +29,50 @@ import java.util.concurrent.*;
  */
 public class TimeLimitedCodeBlock {
 
+	private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+		@Override public Thread newThread(Runnable r) {
+			Thread thread = new Thread(r, "neo4j-jdbc-timer");
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+
+	private static final ExecutorService WORKERS = newWorkers();
+
 	private TimeLimitedCodeBlock () {}
 
+	/**
+	 * A cached pool: a run stuck on a hung socket holds its own thread only, and never delays the runs queued behind it.
+	 * Idle threads are reclaimed after a minute.
+	 */
+	private static ExecutorService newWorkers() {
+		return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(), new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger();
+
+			@Override public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "neo4j-jdbc-timeout-" + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	/**
+	 * Run a short task, like cancelling a query, after a delay on the shared timer thread.
+	 *
+	 * @param task     The task to run
+	 * @param delay    The delay before running it
+	 * @param timeUnit The <code>TimeUnit</code> unit for the delay
+	 * @return The future to cancel the task
+	 */
+	public static ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit timeUnit) {
+		return TIMER.schedule(task, delay, timeUnit);
+	}
+
 	/**
 	 * This method is used to run a specific <code>Runnable</code> for at most a <code>timeout</code> period of time.
-	 * If a <code>timeout</code> of 0 is set then no timeout will be applied.
+	 * If a <code>timeout</code> of 0 is set then no timeout will be applied and the runnable runs in the calling thread,
+	 * otherwise it runs on a pool of daemon threads shared by all the connections, and the timeout starts when it starts running.
 	 *
 	 * @param runnable The runnable to run
 	 * @param timeout The maximum time a run should last
@@ -40,15 +80,24 @@ public class TimeLimitedCodeBlock {
 	 * @throws Neo4jJdbcRuntimeException Any exception thrown by the runnable wrapped.
 	 */
 	public static void runWithTimeout(final Runnable runnable, long timeout, TimeUnit timeUnit) {
-		ExecutorService executor = Executors.newSingleThreadExecutor();
-		Future future = executor.submit(runnable);
-		executor.shutdown();
-		try {
-			if (timeout == 0) {
-				future.get();
-			} else {
-				future.get(timeout, timeUnit);
+		if (timeout == 0) {
+			try {
+				runnable.run();
+			} catch (Exception e) {
+				throw new Neo4jJdbcRuntimeException(e);
+			}
+			return;
+		}
+		final CountDownLatch started = new CountDownLatch(1);
+		Future future = WORKERS.submit(new Runnable() {
+			@Override public void run() {
+				started.countDown();
+				runnable.run();
 			}
+		});
+		try {
+			started.await();
+			future.get(timeout, timeUnit);
 		}
 		catch (Exception e) {
 			future.cancel(true);
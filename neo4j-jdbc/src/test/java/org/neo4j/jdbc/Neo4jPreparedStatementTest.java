@@ -22,12 +22,20 @@ package org.neo4j.jdbc;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.mockito.Matchers;
 import org.mockito.Mockito;
 
+import java.sql.BatchUpdateException;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * @author AgileLARUS
@@ -93,4 +101,62 @@ public class Neo4jPreparedStatementTest {
 
 		stmt.addBatch("");
 	}
+
+	/*------------------------------*/
+	/*      executeBatchInChunks    */
+	/*------------------------------*/
+
+	private Neo4jPreparedStatement batchStatement(boolean autoCommit, int rows) throws SQLException {
+		Neo4jPreparedStatement stmt = Mockito.mock(Neo4jPreparedStatement.class, Mockito.CALLS_REAL_METHODS);
+		stmt.connection = mock(Neo4jConnection.class);
+		when(stmt.connection.getBatchSize()).thenReturn(3);
+		when(stmt.connection.getAutoCommit()).thenReturn(autoCommit);
+		stmt.batchParameters = new ArrayList<>();
+		for (int i = 0; i < rows; i++) {
+			stmt.batchParameters.add(Collections.<String, Object>singletonMap("i", i));
+		}
+		return stmt;
+	}
+
+	@Test public void executeBatchInChunksShouldCountTheRowsCommittedBeforeAFailureInAutoCommit() throws SQLException {
+		Neo4jPreparedStatement stmt = batchStatement(true, 6);
+		// the second row of the second chunk fails, its first row being committed on its own
+		doReturn(new int[] { 1, 1, 1 }).doThrow(new BatchUpdateException(new int[] { 1 }, new SQLException("failure"))).when(stmt)
+				.executeBatchChunk(Matchers.<List<Map<String, Object>>>any());
+
+		try {
+			stmt.executeBatchInChunks();
+			fail("The batch should fail");
+		} catch (Neo4jBatchUpdateException e) {
+			assertEquals(4, e.getCommittedRows());
+			assertArrayEquals(new int[] { 1, 1, 1, 1 }, e.getUpdateCounts());
+		}
+	}
+
+	@Test public void executeBatchInChunksShouldNotCountTheRowsOfAFailedAtomicChunkInAutoCommit() throws SQLException {
+		Neo4jPreparedStatement stmt = batchStatement(true, 6);
+		doReturn(new int[] { 1, 1, 1 }).doThrow(new BatchUpdateException(new int[0], new SQLException("failure"))).when(stmt)
+				.executeBatchChunk(Matchers.<List<Map<String, Object>>>any());
+
+		try {
+			stmt.executeBatchInChunks();
+			fail("The batch should fail");
+		} catch (Neo4jBatchUpdateException e) {
+			assertEquals(3, e.getCommittedRows());
+		}
+	}
+
+	@Test public void executeBatchInChunksShouldNotCountTheUncommittedRowsInATransaction() throws SQLException {
+		Neo4jPreparedStatement stmt = batchStatement(false, 6);
+		doReturn(new int[] { 1, 1, 1 }).doThrow(new BatchUpdateException(new int[] { 1 }, new SQLException("failure"))).when(stmt)
+				.executeBatchChunk(Matchers.<List<Map<String, Object>>>any());
+
+		try {
+			stmt.executeBatchInChunks();
+			fail("The batch should fail");
+		} catch (Neo4jBatchUpdateException e) {
+			assertEquals(0, e.getCommittedRows());
+			assertEquals(4, e.getUpdateCounts().length);
+		}
+	}
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 18/10/26
+ */
+package org.neo4j.jdbc.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.neo4j.jdbc.utils.CypherClassification.classify;
+
+/**
+ * @author AgileLARUS
+ * @since 3.2.0
+ */
+public class CypherClassificationTest {
+
+	@Test public void classifyShouldFindReads() {
+		CypherClassification classification = classify("MATCH (n:User) WHERE n.name = {1} RETURN n");
+
+		assertEquals(CypherClassification.Kind.READ, classification.getKind());
+		assertTrue(classification.isReadOnly());
+		assertTrue(classification.isReturningRows());
+	}
+
+	@Test public void classifyShouldFindWrites() {
+		assertEquals(CypherClassification.Kind.WRITE, classify("MERGE (n:User {id: {1}})").getKind());
+		assertEquals(CypherClassification.Kind.WRITE, classify("MATCH (n) REMOVE n:User").getKind());
+		assertEquals(CypherClassification.Kind.WRITE, classify("MATCH (n) SET n.name = 'test'").getKind());
+		assertEquals(CypherClassification.Kind.WRITE, classify("MATCH (n) DETACH DELETE n").getKind());
+		assertFalse(classify("CREATE (n:User)").isReturningRows());
+		assertTrue(classify("CREATE (n:User) RETURN n").isReturningRows());
+	}
+
+	@Test public void classifyShouldFindSchemaChanges() {
+		assertEquals(CypherClassification.Kind.SCHEMA, classify("CREATE INDEX ON :User(name)").getKind());
+		assertEquals(CypherClassification.Kind.SCHEMA, classify("DROP CONSTRAINT ON (n:User) ASSERT n.id IS UNIQUE").getKind());
+		assertTrue(classify("CREATE INDEX ON :User(name)").isMutating());
+	}
+
+	@Test public void classifyShouldFindProcedureCalls() {
+		CypherClassification classification = classify("CALL db.labels()");
+
+		assertEquals(CypherClassification.Kind.PROCEDURE, classification.getKind());
+		assertFalse(classification.isReadOnly());
+		assertFalse(classification.isMutating());
+		assertTrue(classification.isReturningRows());
+	}
+
+	@Test public void classifyShouldIgnoreKeywordsInStringsCommentsAndNames() {
+		assertTrue(classify("MATCH (n {set: 'CREATE'}) // DELETE n\nRETURN n.delete").isReadOnly());
+		assertTrue(classify("MATCH (n:Set)-[:CREATE]->(m) RETURN n.`return`").isReadOnly());
+		assertFalse(classify("MATCH (n) WHERE n.text = 'return' SET n.x = 1").isReturningRows());
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 18/10/26
+ */
+package org.neo4j.jdbc.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.neo4j.jdbc.utils.CypherTokenizer.TokenType.*;
+
+/**
+ * @author AgileLARUS
+ * @since 3.2.0
+ */
+public class CypherTokenizerTest {
+
+	private static List<CypherTokenizer.TokenType> types(String statement) {
+		List<CypherTokenizer.TokenType> types = new ArrayList<>();
+		CypherTokenizer tokens = new CypherTokenizer(statement);
+		while (tokens.next()) {
+			types.add(tokens.getType());
+		}
+		return types;
+	}
+
+	@Test public void nextShouldReturnFalseOnEmptyStatement() {
+		assertFalse(new CypherTokenizer("  \n ").next());
+	}
+
+	@Test public void nextShouldSplitWordsAndSymbols() {
+		CypherTokenizer tokens = new CypherTokenizer("MATCH (n) RETURN n.name");
+
+		assertTrue(tokens.next());
+		assertTrue(tokens.isWord("match"));
+		assertTrue(tokens.next());
+		assertEquals(SYMBOL, tokens.getType());
+		assertEquals("(", tokens.getText());
+		assertTrue(tokens.next());
+		assertEquals("n", tokens.getText());
+		assertTrue(tokens.next());
+		assertTrue(tokens.next());
+		assertTrue(tokens.isWord("RETURN"));
+		assertFalse(tokens.isWord("RETURNS"));
+	}
+
+	@Test public void nextShouldSkipStringsQuotedNamesAndComments() {
+		assertEquals(
+				Arrays.asList(WORD, STRING, STRING, QUOTED_NAME, COMMENT, COMMENT, PLACEHOLDER),
+				types("RETURN 'it\\'s ?' \"a {1}\" `a`` ?` // line ?\n /* block ? */ ?"));
+	}
+
+	@Test public void nextShouldReadNumberedParameters() {
+		CypherTokenizer tokens = new CypherTokenizer("{1} { `12` } {name}");
+
+		assertTrue(tokens.next());
+		assertEquals(PARAMETER, tokens.getType());
+		assertEquals(1, tokens.getParameterIndex());
+		assertTrue(tokens.next());
+		assertEquals(PARAMETER, tokens.getType());
+		assertEquals(12, tokens.getParameterIndex());
+		assertEquals("{ `12` }", tokens.getText());
+		assertTrue(tokens.next());
+		assertEquals(SYMBOL, tokens.getType());
+		assertEquals("{", tokens.getText());
+	}
+
+	@Test public void nextShouldEndUnterminatedTokensAtTheEndOfTheStatement() {
+		CypherTokenizer tokens = new CypherTokenizer("RETURN 'open ?");
+
+		assertTrue(tokens.next());
+		assertTrue(tokens.next());
+		assertEquals(STRING, tokens.getType());
+		assertEquals(14, tokens.getEnd());
+		assertFalse(tokens.next());
+	}
+}
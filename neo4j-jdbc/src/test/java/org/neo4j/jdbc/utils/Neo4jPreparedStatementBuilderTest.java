@@ -23,6 +23,8 @@ import org.junit.Test;
 
 import static org.neo4j.jdbc.utils.PreparedStatementBuilder.replacePlaceholders;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author AgileLARUS
@@ -64,6 +66,11 @@ public class Neo4jPreparedStatementBuilderTest {
 		assertEquals("MATCH statement RETURN same WHERE thisIs = \"a string ?\"\nAND thereIsAPlaceholder = {1}\nAND another = {2}", replacePlaceholders(raw));
 	}
 
+	@Test public void replacePlaceholderShouldNotReplaceQuestionMarksInSingleQuotedStringsQuotedNamesAndComments() {
+		String raw = "MATCH (n) WHERE n.name = 'why ?' AND n.`odd?` = ? // really ?\n/* sure ? */ RETURN ?";
+		assertEquals("MATCH (n) WHERE n.name = 'why ?' AND n.`odd?` = {1} // really ?\n/* sure ? */ RETURN {2}", replacePlaceholders(raw));
+	}
+
 	@Test public void placeholdersCountShouldCountCorrectlyIfNoPlaceholdersArePresent() {
 		String raw = "MATCH n RETURN n";
 		assertEquals(0, PreparedStatementBuilder.namedParameterCount(raw));
@@ -83,4 +90,26 @@ public class Neo4jPreparedStatementBuilderTest {
 		String raw = "MATCH n RETURN n WHERE param = {2} AND paramString = \"string{3}\"\n" + "AND param2 = {1}";
 		assertEquals(2, PreparedStatementBuilder.namedParameterCount(raw));
 	}
+
+	@Test public void placeholdersCountShouldNotCountParametersInComments() {
+		String raw = "MATCH n WHERE param = {1} // AND other = {2}";
+		assertEquals(1, PreparedStatementBuilder.namedParameterCount(raw));
+	}
+
+	@Test public void unwindStatementShouldReplacePlaceholdersWithRowProperties() {
+		String raw = "CREATE (n:User {name: {1}, age: {2}})";
+		assertEquals("UNWIND {rows} AS row CREATE (n:User {name: row.`1`, age: row.`2`})", PreparedStatementBuilder.unwindStatement(raw, "rows", "row"));
+	}
+
+	@Test public void unwindStatementShouldNotReplacePlaceholdersInStrings() {
+		String raw = "MATCH (n) WHERE n.name = {1} AND n.code = \"string{2}\" SET n.updated = true";
+		assertEquals("UNWIND {rows} AS row MATCH (n) WHERE n.name = row.`1` AND n.code = \"string{2}\" SET n.updated = true",
+				PreparedStatementBuilder.unwindStatement(raw, "rows", "row"));
+	}
+
+	@Test public void isUnwindableShouldIgnoreKeywordsInStrings() {
+		assertTrue(PreparedStatementBuilder.isUnwindable("CREATE (n {name: 'union'})"));
+		assertFalse(PreparedStatementBuilder.isUnwindable("MATCH (n) RETURN n UNION MATCH (m) RETURN m"));
+		assertFalse(PreparedStatementBuilder.isUnwindable("USING PERIODIC COMMIT LOAD CSV FROM {1} AS line CREATE (n)"));
+	}
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 18/10/26
+ */
+package org.neo4j.jdbc.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * @author AgileLARUS
+ * @since 3.2.0
+ */
+public class ParsedStatementCacheTest {
+
+	@Test public void getShouldParseTheStatement() {
+		ParsedStatement parsed = new ParsedStatementCache(10).get("MATCH (n) WHERE n.name = ? AND n.age = ? RETURN n");
+
+		assertEquals("MATCH (n) WHERE n.name = {1} AND n.age = {2} RETURN n", parsed.getStatement());
+		assertEquals(2, parsed.getParametersNumber());
+	}
+
+	@Test public void getShouldReturnTheCachedStatement() {
+		ParsedStatementCache cache = new ParsedStatementCache(10);
+
+		ParsedStatement parsed = cache.get("MATCH (n) WHERE n.name = ? RETURN n");
+
+		assertSame(parsed, cache.get("MATCH (n) WHERE n.name = ? RETURN n"));
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+	}
+
+	@Test public void getShouldEvictTheLeastRecentlyUsedStatement() {
+		ParsedStatementCache cache = new ParsedStatementCache(2);
+
+		ParsedStatement first = cache.get("RETURN 1");
+		ParsedStatement second = cache.get("RETURN 2");
+		cache.get("RETURN 1");
+		cache.get("RETURN 3");
+
+		assertEquals(2, cache.size());
+		assertSame(first, cache.get("RETURN 1"));
+		assertNotSame(second, cache.get("RETURN 2"));
+		assertEquals(2, cache.getHitCount());
+		assertEquals(4, cache.getMissCount());
+	}
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 18/10/26
+ */
+package org.neo4j.jdbc.utils;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author AgileLARUS
+ * @since 3.2.0
+ */
+public class TimeLimitedCodeBlockTest {
+
+	@Test public void hungRunsShouldNotDelayTheNextOnes() {
+		final CountDownLatch hung = new CountDownLatch(1);
+		Runnable ignoringInterrupts = new Runnable() {
+			@Override public void run() {
+				boolean released = false;
+				while (!released) {
+					try {
+						released = hung.await(10, TimeUnit.SECONDS);
+					} catch (InterruptedException e) {
+						// like a read blocked on a dead socket
+					}
+				}
+			}
+		};
+		try {
+			for (int i = 0; i < Runtime.getRuntime().availableProcessors() * 2 + 2; i++) {
+				try {
+					TimeLimitedCodeBlock.runWithTimeout(ignoringInterrupts, 10, TimeUnit.MILLISECONDS);
+					fail();
+				} catch (Neo4jJdbcRuntimeException e) {
+					// timed out
+				}
+			}
+
+			final AtomicBoolean ran = new AtomicBoolean();
+			TimeLimitedCodeBlock.runWithTimeout(new Runnable() {
+				@Override public void run() {
+					ran.set(true);
+				}
+			}, 1, TimeUnit.SECONDS);
+			assertTrue(ran.get());
+		} finally {
+			hung.countDown();
+		}
+	}
+}